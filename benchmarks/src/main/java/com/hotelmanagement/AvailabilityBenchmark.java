@@ -0,0 +1,65 @@
+package com.hotelmanagement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The free-room lookup behind ReservationDialog.loadAvailableRooms: the NOT EXISTS query
+// against the in-memory interval index, plus what it costs to (re)load that index
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AvailabilityBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private final int hotelId = 1;
+    private final LocalDate checkIn = LocalDate.now().plusDays(30);
+    private final LocalDate checkOut = checkIn.plusDays(3);
+    private RoomAvailabilityIndex index;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.use(rows);
+        index = RoomAvailabilityIndex.getInstance();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Database.shutdown();
+    }
+
+    @Benchmark
+    public List<Integer> databaseQuery() throws SQLException {
+        return RoomAvailabilityIndex.freeRoomsFromDatabase(hotelId, checkIn, checkOut, null);
+    }
+
+    @Benchmark
+    public List<Integer> indexQuery() throws SQLException {
+        return index.freeRooms(hotelId, checkIn, checkOut, null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RoomAvailabilityIndex indexLoad() throws SQLException {
+        return RoomAvailabilityIndex.reload();
+    }
+}
@@ -0,0 +1,272 @@
+package com.hotelmanagement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency check for BookingService: many threads book a few hot rooms and many cold
+// ones over the same short window of future dates, then the reservations table is searched
+// for overlapping stays in one room. mode=naive runs the old check-then-insert flow instead,
+// to show the check actually catches double bookings. Also times bookings of distinct rooms
+// against bookings that all hit one room, which is what the lock striping is for.
+//   java -cp benchmarks/target/benchmarks.jar com.hotelmanagement.BookingStress threads=32 attempts=200
+// Rows added by a run are deleted again, so the benchmark database keeps its seeded size.
+public final class BookingStress {
+
+    // Far enough ahead that no seeded reservation is in the way
+    private static final int FIRST_DAY_OFFSET = 400;
+    private static final int WINDOW_DAYS = 30;
+    private static final int MAX_NIGHTS = 4;
+    // H2's MySQL mode can hand the same AUTO_INCREMENT value to two concurrent transactions;
+    // MySQL cannot, so those inserts are retried rather than counted as failures
+    private static final String DUPLICATE_KEY = "23505";
+
+    private final int threads;
+    private final int attempts;
+    private final boolean naive;
+    private final LocalDate firstDay = LocalDate.now().plusDays(FIRST_DAY_OFFSET);
+    private final List<Integer> rooms = new ArrayList<>();
+    private int minCustomer;
+    private int maxCustomer;
+
+    private BookingStress(int threads, int attempts, boolean naive) {
+        this.threads = threads;
+        this.attempts = attempts;
+        this.naive = naive;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                System.err.println("Expected key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        BenchmarkDatabase.use(Integer.parseInt(options.getOrDefault("rows", "1000")));
+        BookingStress stress = new BookingStress(
+                Integer.parseInt(options.getOrDefault("threads", "32")),
+                Integer.parseInt(options.getOrDefault("attempts", "200")),
+                "naive".equals(options.getOrDefault("mode", "service")));
+        int hot = Integer.parseInt(options.getOrDefault("hot", "2"));
+
+        int overlaps;
+        try {
+            stress.loadRooms();
+            overlaps = stress.contended(hot);
+            if (!stress.naive) {
+                stress.throughput();
+            }
+        } finally {
+            Database.shutdown();
+        }
+        System.exit(overlaps == 0 ? 0 : 1);
+    }
+
+    // Half the attempts go to the hot rooms, half to random others; returns the overlaps found
+    private int contended(int hot) throws Exception {
+        int before = maxReservationId();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+
+        long elapsed = run(thread -> {
+            Random rnd = new Random(thread);
+            for (int i = 0; i < attempts; i++) {
+                int room = rnd.nextBoolean()
+                        ? rooms.get(rnd.nextInt(hot))
+                        : rooms.get(hot + rnd.nextInt(rooms.size() - hot));
+                LocalDate checkIn = firstDay.plusDays(rnd.nextInt(WINDOW_DAYS));
+                LocalDate checkOut = checkIn.plusDays(1 + rnd.nextInt(MAX_NIGHTS));
+                int customer = minCustomer + rnd.nextInt(maxCustomer - minCustomer + 1);
+                while (true) {
+                    try {
+                        if (attempt(customer, room, checkIn, checkOut)) {
+                            booked.incrementAndGet();
+                        } else {
+                            conflicts.incrementAndGet();
+                        }
+                        break;
+                    } catch (SQLException e) {
+                        if (DUPLICATE_KEY.equals(e.getSQLState())) {
+                            retries.incrementAndGet();
+                            continue;
+                        }
+                        failures.incrementAndGet();
+                        e.printStackTrace();
+                        break;
+                    }
+                }
+            }
+        });
+
+        int added = countAfter(before);
+        int overlaps = countOverlaps(before);
+        System.out.printf("%s: %d threads x %d attempts in %d ms: %d booked, %d refused, %d failed, "
+                        + "%d id clashes retried, %d rows added, %d overlapping pairs%n",
+                naive ? "naive check-then-insert" : "BookingService", threads, attempts, elapsed / 1_000_000,
+                booked.get(), conflicts.get(), failures.get(), retries.get(), added, overlaps);
+        deleteAfter(before);
+        return overlaps;
+    }
+
+    // Same number of bookings either way; only the rooms differ
+    private void throughput() throws Exception {
+        int before = maxReservationId();
+        int perThread = Math.min(attempts, WINDOW_DAYS);
+        long distinct = run(thread -> {
+            int room = rooms.get(thread % rooms.size());
+            for (int i = 0; i < perThread; i++) {
+                bookNight(room, thread / rooms.size() * perThread + i);
+            }
+        });
+        deleteAfter(before);
+        long shared = run(thread -> {
+            int room = rooms.get(0);
+            for (int i = 0; i < perThread; i++) {
+                bookNight(room, thread * perThread + i);
+            }
+        });
+        deleteAfter(before);
+        int bookings = threads * perThread;
+        System.out.printf("%d one-night bookings: %.0f/s across distinct rooms, %.0f/s all in one room%n",
+                bookings, bookings / (distinct / 1e9), bookings / (shared / 1e9));
+    }
+
+    private boolean attempt(int customer, int room, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        if (naive) {
+            // The old flow: availability read first, insert later, nothing held in between
+            boolean free;
+            try (Connection conn = Database.getConnection()) {
+                free = ReservationRepository.findOverlap(conn, room, checkIn, checkOut, 0, rs -> rs.getInt(1)) == null;
+            }
+            if (!free) {
+                return false;
+            }
+            try (Connection conn = Database.getConnection()) {
+                ReservationRepository.insert(conn, customer, room, checkIn, checkOut);
+            }
+            return true;
+        }
+        try {
+            BookingService.book(customer, room, checkIn, checkOut);
+            return true;
+        } catch (BookingService.ConflictException e) {
+            return false;
+        }
+    }
+
+    private void bookNight(int room, int night) {
+        LocalDate checkIn = firstDay.plusDays(night);
+        while (true) {
+            try {
+                BookingService.book(minCustomer, room, checkIn, checkIn.plusDays(1));
+                return;
+            } catch (SQLException e) {
+                if (!DUPLICATE_KEY.equals(e.getSQLState())) {
+                    e.printStackTrace();
+                    return;
+                }
+            }
+        }
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    // Starts every thread at once and returns the wall time in nanoseconds
+    private long run(Worker worker) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(thread);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }, "booking-" + t);
+            th.start();
+            workers.add(th);
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread th : workers) {
+            th.join();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private void loadRooms() throws SQLException {
+        try (Connection conn = Database.getConnection(); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT number FROM rooms ORDER BY number")) {
+                while (rs.next()) {
+                    rooms.add(rs.getInt(1));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT MIN(id), MAX(id) FROM customers")) {
+                rs.next();
+                minCustomer = rs.getInt(1);
+                maxCustomer = rs.getInt(2);
+            }
+        }
+    }
+
+    private static int maxReservationId() throws SQLException {
+        try (Connection conn = Database.getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM reservations")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static int countAfter(int afterId) throws SQLException {
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM reservations WHERE id > ?")) {
+            pstmt.setInt(1, afterId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    // Pairs of stays in one room sharing at least a night, where one of the two is new
+    private static int countOverlaps(int afterId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM reservations a JOIN reservations b "
+                + "ON a.room_number = b.room_number AND a.id < b.id "
+                + "AND a.check_in < b.check_out AND b.check_in < a.check_out "
+                + "WHERE b.id > ?";
+        try (Connection conn = Database.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, afterId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void deleteAfter(int afterId) throws SQLException {
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement("DELETE FROM reservations WHERE id > ?")) {
+            pstmt.setInt(1, afterId);
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.hotelmanagement;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Fills the Dashboard schema with a synthetic hotel chain at any scale, for reproducing
+// slowness that only shows up with production-sized tables. Run it from the shaded jar:
+//
+//   java -cp benchmarks/target/benchmarks.jar com.hotelmanagement.DataGenerator \
+//       hotels=500 rooms=100000 customers=5000000 reservations=50000000
+//
+// Without url= it writes an embedded H2 database (MySQL mode) under target/generated-db, so it
+// runs offline; url=jdbc:mysql://localhost:3306/hotel_test user=... password=... targets a
+// local MySQL instead. The tables are created from scratch; existing data is only
+// replaced when replace=true is given.
+public final class DataGenerator {
+
+    static final String[] TABLES = {
+            "CREATE TABLE hotels (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                    + "description VARCHAR(500), address VARCHAR(255), rating DOUBLE, "
+                    + "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))",
+            "CREATE TABLE rooms (number INT PRIMARY KEY, type VARCHAR(50) NOT NULL, "
+                    + "available BOOLEAN NOT NULL DEFAULT TRUE, hotel_id INT, "
+                    + "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))",
+            "CREATE TABLE customers (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(100), phone VARCHAR(30), address VARCHAR(255), date_of_birth DATE, "
+                    + "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))",
+            "CREATE TABLE reservations (id INT AUTO_INCREMENT PRIMARY KEY, customer_id INT NOT NULL, "
+                    + "room_number INT NOT NULL, check_in DATE NOT NULL, check_out DATE NOT NULL, status VARCHAR(20), "
+                    + "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))",
+            "CREATE TABLE write_journal (desk VARCHAR(64) NOT NULL, seq BIGINT NOT NULL, generated_id INT NULL, "
+                    + "PRIMARY KEY (desk, seq))",
+            "CREATE TABLE availability_sweep (id INT NOT NULL PRIMARY KEY, swept_on DATE NOT NULL)",
+    };
+    // Built after the load; maintaining them row by row would slow every insert. They include
+    // the indexes the app's migrations/ scripts add, since the app only checks for those.
+    static final String[] INDEXES = {
+            "CREATE INDEX idx_hotels_updated_at ON hotels (updated_at)",
+            "CREATE INDEX idx_rooms_updated_at ON rooms (updated_at)",
+            "CREATE INDEX idx_customers_updated_at ON customers (updated_at)",
+            "CREATE INDEX idx_reservations_updated_at ON reservations (updated_at)",
+            "CREATE INDEX idx_rooms_hotel_id ON rooms (hotel_id)",
+            "CREATE INDEX idx_reservations_room ON reservations (room_number, check_in)",
+            "CREATE INDEX idx_reservations_customer ON reservations (customer_id)",
+            "CREATE INDEX idx_reservations_check_in_id ON reservations (check_in DESC, id DESC)",
+            "CREATE INDEX idx_customers_name_id ON customers (name, id)",
+    };
+
+    // Rows per multi-row INSERT, and rows per transaction
+    private static final int ROWS_PER_STATEMENT = 1_000;
+    private static final int ROWS_PER_COMMIT = 50_000;
+
+    // Nights per stay and how often each is booked: mostly short stays, a tail of long ones
+    private static final int[] STAY_NIGHTS = { 1, 2, 3, 4, 5, 6, 7, 10, 14, 21 };
+    private static final int[] STAY_WEIGHT = { 24, 26, 16, 10, 7, 4, 7, 3, 2, 1 };
+    // Empty nights between two stays in a room, scaled per month: busy summers and Decembers.
+    // The mean is the fullest rooms get; with few stays per room the gaps widen to fill the window.
+    private static final double MIN_MEAN_GAP_NIGHTS = 1.5;
+    private static final double[] MONTH_GAP_FACTOR = { 1.6, 1.5, 1.2, 1.0, 0.9, 0.6, 0.4, 0.4, 0.8, 1.0, 1.4, 0.7 };
+    // A fifth of the customers make most of the bookings
+    private static final double REPEAT_GUEST_SHARE = 0.6;
+    private static final double REGULAR_CUSTOMERS = 0.2;
+    // Stays cover at least this much history, up to bookings this far ahead
+    private static final int MIN_HISTORY_DAYS = 2 * 365;
+    private static final int FUTURE_DAYS = 180;
+
+    private final Scale scale;
+    private final Random rnd;
+    private final LocalDate today;
+
+    public DataGenerator(Scale scale, long seed) {
+        this(scale, seed, LocalDate.now());
+    }
+
+    DataGenerator(Scale scale, long seed, LocalDate today) {
+        this.scale = scale;
+        this.rnd = new Random(seed);
+        this.today = today;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                System.err.println("Expected key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        int reservations = intOption(options, "reservations", 1_000_000);
+        Scale defaults = Scale.of(reservations);
+        Scale scale = new Scale(
+                intOption(options, "hotels", defaults.hotels),
+                intOption(options, "rooms", defaults.rooms),
+                intOption(options, "customers", defaults.customers),
+                reservations);
+        String url = options.getOrDefault("url", "jdbc:h2:file:"
+                + new File("target/generated-db/hotel").getAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean replace = Boolean.parseBoolean(options.getOrDefault("replace", "false"));
+
+        try (Connection conn = DriverManager.getConnection(url,
+                options.getOrDefault("user", url.startsWith("jdbc:h2:") ? "sa" : "root"),
+                options.getOrDefault("password", ""))) {
+            if (hasTables(conn)) {
+                if (!replace) {
+                    System.err.println("The hotel tables already exist at " + url + "; pass replace=true to drop them");
+                    System.exit(1);
+                }
+                dropTables(conn);
+            }
+            long started = System.nanoTime();
+            new DataGenerator(scale, seed).generate(conn);
+            System.out.printf("Generated %s in %.1f s%n", scale, (System.nanoTime() - started) / 1e9);
+        }
+    }
+
+    // Creates the tables in an empty database, loads them and builds the indexes
+    public void generate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : TABLES) {
+                stmt.executeUpdate(sql);
+            }
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            insertHotels(conn);
+            insertRooms(conn);
+            insertCustomers(conn);
+            insertReservations(conn);
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        try (Statement stmt = conn.createStatement()) {
+            System.out.println("Building indexes...");
+            for (String sql : INDEXES) {
+                stmt.executeUpdate(sql);
+            }
+        }
+    }
+
+    private void insertHotels(Connection conn) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(conn, "hotels", "name", "description", "address", "rating")) {
+            for (int i = 1; i <= scale.hotels; i++) {
+                insert.add(SyntheticNames.hotelName(rnd, i), SyntheticNames.description(rnd),
+                        SyntheticNames.address(rnd), 1 + rnd.nextInt(9) * 0.5);
+            }
+        }
+    }
+
+    // Hotels get uneven sizes, as in a real chain: a few large properties and many small ones
+    private void insertRooms(Connection conn) throws SQLException {
+        double[] weight = new double[scale.hotels];
+        double total = 0;
+        for (int h = 0; h < scale.hotels; h++) {
+            weight[h] = 0.3 + rnd.nextDouble() * rnd.nextDouble() * 3;
+            total += weight[h];
+        }
+        try (MultiRowInsert insert = new MultiRowInsert(conn, "rooms", "number", "type", "available", "hotel_id")) {
+            int number = 0;
+            double share = 0;
+            for (int h = 0; h < scale.hotels; h++) {
+                share += weight[h] / total;
+                int last = h == scale.hotels - 1 ? scale.rooms : (int) Math.round(share * scale.rooms);
+                // Every hotel gets at least one room
+                last = Math.max(number + 1, Math.min(last, scale.rooms - (scale.hotels - h - 1)));
+                while (number < last) {
+                    number++;
+                    insert.add(number, SyntheticNames.roomType(rnd), rnd.nextInt(10) != 0, h + 1);
+                }
+            }
+        }
+    }
+
+    private void insertCustomers(Connection conn) throws SQLException {
+        LocalDate oldest = LocalDate.of(1940, 1, 1);
+        try (MultiRowInsert insert = new MultiRowInsert(conn, "customers",
+                "name", "email", "phone", "address", "date_of_birth")) {
+            for (int i = 1; i <= scale.customers; i++) {
+                String name = SyntheticNames.personName(rnd);
+                insert.add(name, SyntheticNames.email(name, i), SyntheticNames.phone(rnd),
+                        SyntheticNames.address(rnd), Date.valueOf(oldest.plusDays(rnd.nextInt(62 * 365))));
+            }
+        }
+    }
+
+    // Every room gets its share of the reservations as back-to-back stays with seasonal gaps,
+    // so stays never overlap within a room but overlap freely across rooms. Rooms are advanced
+    // in check-in order, so ids grow with check_in like bookings made over time, and the
+    // timelines end about FUTURE_DAYS ahead of today.
+    private void insertReservations(Connection conn) throws SQLException {
+        int perRoom = scale.reservations / scale.rooms;
+        int extra = scale.reservations % scale.rooms;
+        double meanStay = meanStayNights();
+        double span = Math.max((perRoom + 1) * (meanStay + MIN_MEAN_GAP_NIGHTS), MIN_HISTORY_DAYS + FUTURE_DAYS);
+        double meanGap = span / (perRoom + 1) - meanStay;
+        double meanCycle = meanStay + meanGap;
+        long firstDay = today.toEpochDay() + FUTURE_DAYS - Math.round(span);
+
+        int[] remaining = new int[scale.rooms];
+        // Next free night of each room in the high bits, the room index in the low bits
+        PriorityQueue<Long> nextFree = new PriorityQueue<>(scale.rooms);
+        for (int room = 0; room < scale.rooms; room++) {
+            remaining[room] = perRoom + (room < extra ? 1 : 0);
+            if (remaining[room] > 0) {
+                nextFree.add(((firstDay + rnd.nextInt((int) Math.ceil(meanCycle * 2))) << 32) | room);
+            }
+        }
+
+        long todayDay = today.toEpochDay();
+        try (MultiRowInsert insert = new MultiRowInsert(conn, "reservations",
+                "customer_id", "room_number", "check_in", "check_out", "status")) {
+            while (!nextFree.isEmpty()) {
+                long head = nextFree.poll();
+                int room = (int) head;
+                long free = head >>> 32;
+                long checkIn = free + gapNights(meanGap, LocalDate.ofEpochDay(free).getMonthValue());
+                long checkOut = checkIn + stayNights();
+                insert.add(customerId(), room + 1, Date.valueOf(LocalDate.ofEpochDay(checkIn)),
+                        Date.valueOf(LocalDate.ofEpochDay(checkOut)), checkIn < todayDay ? "ARRIVED" : null);
+                if (--remaining[room] > 0) {
+                    nextFree.add((checkOut << 32) | room);
+                }
+            }
+        }
+    }
+
+    private int stayNights() {
+        int total = 0;
+        for (int w : STAY_WEIGHT) {
+            total += w;
+        }
+        int pick = rnd.nextInt(total);
+        for (int i = 0; i < STAY_WEIGHT.length; i++) {
+            pick -= STAY_WEIGHT[i];
+            if (pick < 0) {
+                return STAY_NIGHTS[i];
+            }
+        }
+        return STAY_NIGHTS[0];
+    }
+
+    private static double meanStayNights() {
+        double nights = 0;
+        int total = 0;
+        for (int i = 0; i < STAY_NIGHTS.length; i++) {
+            nights += STAY_NIGHTS[i] * STAY_WEIGHT[i];
+            total += STAY_WEIGHT[i];
+        }
+        return nights / total;
+    }
+
+    // Geometric, so most stays follow closely and a few rooms sit empty for a while
+    private int gapNights(double meanGap, int month) {
+        double mean = meanGap * MONTH_GAP_FACTOR[month - 1];
+        double p = 1 / (mean + 1);
+        return (int) (Math.log(1 - rnd.nextDouble()) / Math.log(1 - p));
+    }
+
+    private int customerId() {
+        int regulars = Math.max(1, (int) (scale.customers * REGULAR_CUSTOMERS));
+        if (rnd.nextDouble() < REPEAT_GUEST_SHARE) {
+            return 1 + rnd.nextInt(regulars);
+        }
+        return 1 + rnd.nextInt(scale.customers);
+    }
+
+    private static int intOption(Map<String, String> options, String key, int fallback) {
+        String value = options.get(key);
+        return value == null ? fallback : Integer.parseInt(value.replace("_", ""));
+    }
+
+    private static boolean hasTables(Connection conn) throws SQLException {
+        for (String table : new String[] { "hotels", "rooms", "customers", "reservations" }) {
+            try (ResultSet rs = conn.getMetaData().getTables(null, null, table, null)) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void dropTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DROP TABLE IF EXISTS availability_sweep, write_journal, reservations, customers, rooms, hotels");
+        }
+    }
+
+    // INSERT ... VALUES (...), (...), ... with a fixed number of rows per statement. One
+    // round trip and one parse per thousand rows is what makes tens of millions feasible
+    // over JDBC without LOAD DATA, which needs local-infile enabled on both ends.
+    private static final class MultiRowInsert implements AutoCloseable {
+        private final Connection conn;
+        private final String table;
+        private final String[] columns;
+        private final PreparedStatement full;
+        private final Object[][] pending = new Object[ROWS_PER_STATEMENT][];
+        private int buffered;
+        private long written;
+
+        MultiRowInsert(Connection conn, String table, String... columns) throws SQLException {
+            this.conn = conn;
+            this.table = table;
+            this.columns = columns;
+            this.full = conn.prepareStatement(sql(ROWS_PER_STATEMENT));
+        }
+
+        void add(Object... values) throws SQLException {
+            pending[buffered++] = values;
+            if (buffered == ROWS_PER_STATEMENT) {
+                flush(full);
+            }
+        }
+
+        private void flush(PreparedStatement pstmt) throws SQLException {
+            int i = 1;
+            for (int row = 0; row < buffered; row++) {
+                for (Object value : pending[row]) {
+                    pstmt.setObject(i++, value);
+                }
+            }
+            pstmt.executeUpdate();
+            long before = written;
+            written += buffered;
+            buffered = 0;
+            if (written / ROWS_PER_COMMIT != before / ROWS_PER_COMMIT) {
+                conn.commit();
+            }
+            if (written / 1_000_000 != before / 1_000_000) {
+                System.out.println(table + ": " + written + " rows");
+            }
+        }
+
+        private String sql(int rows) {
+            StringBuilder row = new StringBuilder("(");
+            for (int c = 0; c < columns.length; c++) {
+                row.append(c == 0 ? "?" : ", ?");
+            }
+            row.append(')');
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int r = 0; r < rows; r++) {
+                sql.append(r == 0 ? "" : ", ").append(row);
+            }
+            return sql.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (buffered > 0) {
+                    try (PreparedStatement tail = conn.prepareStatement(sql(buffered))) {
+                        flush(tail);
+                    }
+                }
+                conn.commit();
+            } finally {
+                full.close();
+            }
+        }
+    }
+
+    // Table sizes; by default derived from the reservation count
+    public static final class Scale {
+        final int hotels;
+        final int rooms;
+        final int customers;
+        final int reservations;
+
+        public Scale(int hotels, int rooms, int customers, int reservations) {
+            if (hotels < 1 || rooms < hotels || customers < 1 || reservations < 0) {
+                throw new IllegalArgumentException("Need at least one hotel and customer, and a room per hotel");
+            }
+            this.hotels = hotels;
+            this.rooms = rooms;
+            this.customers = customers;
+            this.reservations = reservations;
+        }
+
+        public static Scale of(int reservations) {
+            int rooms = Math.max(20, reservations / 50);
+            return new Scale(Math.max(2, rooms / 100), rooms, Math.max(10, reservations / 2), reservations);
+        }
+
+        @Override
+        public String toString() {
+            return hotels + " hotels, " + rooms + " rooms, " + customers + " customers, "
+                    + reservations + " reservations";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Customer;
+import com.hotelmanagement.Dashboard.Hotel;
+import com.hotelmanagement.Dashboard.Room;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// Tab search over in-memory rows: the per-keystroke linear scan the tabs used to run
+// (the xxxFilter predicates, rebuilding the visible list) against the trigram index.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    // Two letters (scan fallback), a selective trigram query, and a long one
+    @Param({ "an", "ann", "jules.mar" })
+    public String query;
+
+    private ObservableList<Hotel> hotels;
+    private ObservableList<Room> rooms;
+    private ObservableList<Customer> customers;
+    private TrigramIndex<Hotel> hotelIndex;
+    private TrigramIndex<Room> roomIndex;
+    private TrigramIndex<Customer> customerIndex;
+    private final ObservableList<Hotel> visibleHotels = FXCollections.observableArrayList();
+    private final ObservableList<Room> visibleRooms = FXCollections.observableArrayList();
+    private final ObservableList<Customer> visibleCustomers = FXCollections.observableArrayList();
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        List<Hotel> hotelRows = new ArrayList<>(rows);
+        List<Room> roomRows = new ArrayList<>(rows);
+        List<Customer> customerRows = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            hotelRows.add(new Hotel(i, SyntheticNames.hotelName(rnd, i), SyntheticNames.description(rnd),
+                    SyntheticNames.address(rnd), 4.0));
+            roomRows.add(new Room(i, SyntheticNames.roomType(rnd), true, 1 + i % 100));
+            String name = SyntheticNames.personName(rnd);
+            customerRows.add(new Customer(i, name, SyntheticNames.email(name, i), SyntheticNames.phone(rnd),
+                    SyntheticNames.address(rnd), Date.valueOf("1980-01-01")));
+        }
+        hotels = FXCollections.observableArrayList(hotelRows);
+        rooms = FXCollections.observableArrayList(roomRows);
+        customers = FXCollections.observableArrayList(customerRows);
+
+        hotelIndex = new TrigramIndex<>("hotels", hotels,
+                hotel -> new String[] { hotel.getName(), hotel.getAddress(), hotel.getDescription() });
+        roomIndex = new TrigramIndex<>("rooms", rooms,
+                room -> new String[] { String.valueOf(room.getNumber()), room.getType() });
+        customerIndex = new TrigramIndex<>("customers", customers,
+                customer -> new String[] { customer.getName(), customer.getEmail() });
+    }
+
+    @Benchmark
+    public int hotelsScan() {
+        return scan(hotels, visibleHotels, Dashboard.hotelFilter(query));
+    }
+
+    @Benchmark
+    public Object hotelsIndex() {
+        return hotelIndex.diff(query, hotels);
+    }
+
+    @Benchmark
+    public int roomsScan() {
+        return scan(rooms, visibleRooms, Dashboard.roomFilter(query));
+    }
+
+    @Benchmark
+    public Object roomsIndex() {
+        return roomIndex.diff(query, rooms);
+    }
+
+    @Benchmark
+    public int customersScan() {
+        return scan(customers, visibleCustomers, Dashboard.customerFilter(query));
+    }
+
+    @Benchmark
+    public Object customersIndex() {
+        return customerIndex.diff(query, customers);
+    }
+
+    // What filterHotels/filterRooms/filterCustomers did on every keystroke
+    private static <T> int scan(List<T> data, ObservableList<T> filteredData, Predicate<T> filter) {
+        filteredData.clear();
+        for (T row : data) {
+            if (filter.test(row)) {
+                filteredData.add(row);
+            }
+        }
+        return filteredData.size();
+    }
+}
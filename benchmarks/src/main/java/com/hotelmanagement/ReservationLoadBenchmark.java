@@ -0,0 +1,80 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.ReservationRepository.PageKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The Reservations tab query and result-set mapping: reading the whole four-way join the way
+// the tab used to, against the keyset pages it reads now
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReservationLoadBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private PageKey middle;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.use(rows);
+        ReservationRepository.preparePaging();
+        try (Connection conn = Database.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT check_in, id FROM reservations "
+                        + "ORDER BY check_in DESC, id DESC LIMIT 1 OFFSET " + rows / 2)) {
+            rs.next();
+            middle = new PageKey(rs.getDate(1).toLocalDate(), rs.getInt(2));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Database.shutdown();
+    }
+
+    // Every reservation joined and mapped, as the tab loaded them before paging
+    @Benchmark
+    public List<Dashboard.Reservation> loadAll() throws SQLException {
+        return ReservationRepository.findBetween(PageKey.NEWEST, PageKey.OLDEST, "", Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Dashboard.Reservation> firstPage() throws SQLException {
+        return ReservationRepository.findOlder(PageKey.NEWEST, "", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Dashboard.Reservation> middlePage() throws SQLException {
+        return ReservationRepository.findOlder(middle, "", PAGE_SIZE);
+    }
+
+    // The Reservations search box, now answered by the paged query
+    @Benchmark
+    public List<Dashboard.Reservation> searchFirstPage() throws SQLException {
+        return ReservationRepository.findOlder(PageKey.NEWEST, "ann", PAGE_SIZE);
+    }
+}
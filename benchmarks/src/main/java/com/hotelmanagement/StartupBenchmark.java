@@ -0,0 +1,143 @@
+package com.hotelmanagement;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Time to first frame of the login page and of the Dashboard, over fresh JVMs running
+// StartupTraining against the benchmark database. Each round starts one JVM per setup:
+// every tab built up front (as before tabs were built on first use), tabs built on first
+// use, and tabs built on first use with the CDS archive from mvn -Pappcds package. The
+// AppCDS runs use -Xshare:on, so they fail rather than quietly run without the archive.
+//   mvn -Pappcds package
+//   java -cp benchmarks/target/benchmarks.jar com.hotelmanagement.StartupBenchmark runs=10
+// Needs a display. Medians are reported, since the first runs also warm the OS file cache.
+public final class StartupBenchmark {
+
+    private static final Pattern FIRST_FRAME = Pattern.compile("First frame of (\\w+) after (\\d+) ms");
+    private static final long RUN_TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                System.err.println("Expected key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        Path jar = Paths.get(options.getOrDefault("jar", "hotelmanagement/target/hotelmanagement-1.0-SNAPSHOT.jar"));
+        Path archive = Paths.get(options.getOrDefault("archive", "hotelmanagement/target/hotelmanagement.jsa"));
+        if (!Files.exists(jar)) {
+            System.err.println("No " + jar + "; build it with mvn -Pappcds package");
+            System.exit(2);
+        }
+        BenchmarkDatabase.use(Integer.parseInt(options.getOrDefault("rows", "1000")));
+
+        Map<String, List<String>> setups = new LinkedHashMap<>();
+        setups.put("eager tabs", List.of("-Dhotel.tabs.eager=true"));
+        setups.put("lazy tabs", List.of());
+        if (Files.exists(archive)) {
+            setups.put("lazy tabs + AppCDS", List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:on"));
+        } else {
+            System.err.println("No " + archive + "; skipping the AppCDS runs");
+        }
+
+        // The archive was dumped with java -jar, which leaves no room for the H2 driver; a class
+        // path that starts with the same jar, with the benchmarks jar after it, still matches it
+        String classPath = jar.toAbsolutePath() + File.pathSeparator
+                + Paths.get(StartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path scratch = Files.createTempDirectory("startup-bench");
+        Map<String, Map<String, List<Long>>> results = new LinkedHashMap<>();
+        try {
+            for (int run = 0; run < runs; run++) {
+                for (Map.Entry<String, List<String>> setup : setups.entrySet()) {
+                    Map<String, Long> frames = launch(classPath, setup.getValue(), scratch);
+                    Map<String, List<Long>> times = results.computeIfAbsent(setup.getKey(), k -> new LinkedHashMap<>());
+                    frames.forEach((screen, ms) -> times.computeIfAbsent(screen, k -> new ArrayList<>()).add(ms));
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(scratch)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+
+        for (Map.Entry<String, Map<String, List<Long>>> setup : results.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("%-20s", setup.getKey()));
+            for (String screen : List.of("login", "dashboard")) {
+                List<Long> times = setup.getValue().get(screen);
+                Collections.sort(times);
+                line.append(String.format("  %s: median %d ms, min %d ms (%d runs)", screen,
+                        times.get(times.size() / 2), times.get(0), times.size()));
+            }
+            System.out.println(line);
+        }
+    }
+
+    // One StartupTraining run; the first-frame times it logged, by screen
+    private static Map<String, Long> launch(String classPath, List<String> flags, Path scratch)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(flags);
+        for (String property : List.of("hotel.db.url", "hotel.db.user", "hotel.db.password")) {
+            command.add("-D" + property + "=" + System.getProperty(property));
+        }
+        // Kept across runs, so every run after the first starts from saved snapshots like a desk does
+        command.add("-Dhotel.journal.dir=" + scratch);
+        command.add("-Dhotel.cache.dir=" + scratch.resolve("snapshots"));
+        command.add("-Dhotel.startup.training=true");
+        command.add("-cp");
+        command.add(classPath);
+        command.add("com.hotelmanagement.Launcher");
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Long> frames = new ConcurrentHashMap<>();
+        // Read on another thread, so a run that hangs cannot hold up the timeout
+        Thread reader = new Thread(() -> {
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    Matcher m = FIRST_FRAME.matcher(line);
+                    if (m.find()) {
+                        frames.put(m.group(1), Long.parseLong(m.group(2)));
+                    }
+                }
+            } catch (IOException e) {
+                // The process was killed
+            }
+        });
+        reader.start();
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Startup run did not exit within " + RUN_TIMEOUT_SECONDS + " s");
+        }
+        reader.join();
+        if (!frames.containsKey("dashboard")) {
+            throw new IllegalStateException("Startup run exited with " + process.exitValue()
+                    + " before the Dashboard's first frame");
+        }
+        return frames;
+    }
+}
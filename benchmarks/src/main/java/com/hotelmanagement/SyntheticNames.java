@@ -0,0 +1,54 @@
+package com.hotelmanagement;
+
+import java.util.Random;
+
+// Plausible-looking strings for synthetic rows; deterministic for a seeded Random
+final class SyntheticNames {
+
+    private static final String[] FIRST = { "Anna", "Ben", "Carla", "Dmitri", "Eve", "Fatima", "Gus", "Hana",
+            "Ivan", "Jules", "Karim", "Lena", "Marco", "Nora", "Omar", "Paula", "Quinn", "Rosa", "Sami", "Tara",
+            "Ugo", "Vera", "Wen", "Yara", "Zoe" };
+    private static final String[] LAST = { "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit",
+            "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "Rossi", "Müller",
+            "Schmidt", "Nowak", "Kowalski", "Haddad", "Benali", "Silva", "Costa", "Novak" };
+    private static final String[] CITIES = { "Paris", "Lyon", "Algiers", "Oran", "Tunis", "Madrid", "Lisbon", "Rome",
+            "Berlin", "Vienna" };
+    private static final String[] STREETS = { "Main St", "Rue de la Paix", "Harbour Rd", "Station Ave", "Park Lane",
+            "Market Sq", "Hill Rd", "River Walk" };
+    private static final String[] HOTEL_WORDS = { "Grand", "Royal", "Palace", "Garden", "Seaside", "Central", "Plaza",
+            "Park", "Harbour", "Boutique" };
+    private static final String[] ROOM_TYPES = { "Single", "Double", "Twin", "Suite", "Deluxe", "Family" };
+
+    private SyntheticNames() {
+    }
+
+    static String personName(Random rnd) {
+        return FIRST[rnd.nextInt(FIRST.length)] + " " + LAST[rnd.nextInt(LAST.length)];
+    }
+
+    static String email(String name, int id) {
+        return name.toLowerCase().replace(' ', '.') + id + "@example.com";
+    }
+
+    static String phone(Random rnd) {
+        return String.format("+33 6 %02d %02d %02d %02d", rnd.nextInt(100), rnd.nextInt(100), rnd.nextInt(100),
+                rnd.nextInt(100));
+    }
+
+    static String address(Random rnd) {
+        return (1 + rnd.nextInt(200)) + " " + STREETS[rnd.nextInt(STREETS.length)] + ", "
+                + CITIES[rnd.nextInt(CITIES.length)];
+    }
+
+    static String hotelName(Random rnd, int id) {
+        return HOTEL_WORDS[rnd.nextInt(HOTEL_WORDS.length)] + " " + CITIES[rnd.nextInt(CITIES.length)] + " " + id;
+    }
+
+    static String description(Random rnd) {
+        return HOTEL_WORDS[rnd.nextInt(HOTEL_WORDS.length)] + " hotel near " + CITIES[rnd.nextInt(CITIES.length)];
+    }
+
+    static String roomType(Random rnd) {
+        return ROOM_TYPES[rnd.nextInt(ROOM_TYPES.length)];
+    }
+}
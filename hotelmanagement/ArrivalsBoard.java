@@ -0,0 +1,238 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Reservation;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Today's and tomorrow's arrivals and departures for the front desk. The ids come from the
+// day maps of RoomAvailabilityIndex and only those rows are read from the database, both days
+// in one round trip, so switching between the days does not query anything. Arrival status
+// is read from the index, which markReservationArrived keeps current. The Dashboard refreshes
+// the board whenever the index changes, including when the daily sweep moves it to a new day.
+public class ArrivalsBoard {
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEEE, MMM d");
+    private static final Comparator<Reservation> BY_ROOM = Comparator.comparingInt(Reservation::getRoomNumber);
+
+    private final AsyncLoader loader;
+    private final ToggleButton todayButton = new ToggleButton("Today");
+    private final ToggleButton tomorrowButton = new ToggleButton("Tomorrow");
+    private final TableView<Reservation> arrivalsTable = new TableView<>();
+    private final TableView<Reservation> departuresTable = new TableView<>();
+    private final Label arrivalsLabel = new Label("Arrivals");
+    private final Label departuresLabel = new Label("Departures");
+    private final Label statusLabel = new Label();
+    private final Button markArrivedButton = new Button("Mark as Arrived");
+    private final BorderPane pane = new BorderPane();
+    private Movements movements;
+
+    // markArrived is the Reservations tab's own handler, which confirms and queues the write
+    public ArrivalsBoard(AsyncLoader loader, Consumer<Reservation> markArrived) {
+        this.loader = loader;
+
+        ToggleGroup days = new ToggleGroup();
+        todayButton.setToggleGroup(days);
+        tomorrowButton.setToggleGroup(days);
+        todayButton.setSelected(true);
+        // Keeps one day selected; clicking the selected button would otherwise clear it
+        days.selectedToggleProperty().addListener((obs, old, value) -> {
+            if (value == null) {
+                old.setSelected(true);
+            } else {
+                show();
+            }
+        });
+
+        List<TableColumn<Reservation, ?>> arrivalColumns = commonColumns();
+        arrivalColumns.add(column("Check-out", "checkOut", 100));
+        arrivalColumns.add(statusColumn());
+        arrivalsTable.getColumns().addAll(arrivalColumns);
+        arrivalsTable.setPlaceholder(new Label("No arrivals"));
+        arrivalsTable.setStyle("-fx-font-size: 13px;");
+        List<TableColumn<Reservation, ?>> departureColumns = commonColumns();
+        departureColumns.add(column("Check-in", "checkIn", 100));
+        departuresTable.getColumns().addAll(departureColumns);
+        departuresTable.setPlaceholder(new Label("No departures"));
+        departuresTable.setStyle("-fx-font-size: 13px;");
+
+        markArrivedButton.setStyle(
+                "-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 6 16; -fx-cursor: hand;");
+        markArrivedButton.setOnAction(e -> markSelected(markArrived));
+        MenuItem markArrivedItem = new MenuItem("Mark as Arrived");
+        markArrivedItem.setOnAction(e -> markSelected(markArrived));
+        ContextMenu contextMenu = new ContextMenu(markArrivedItem);
+        contextMenu.setOnShowing(e -> markArrivedItem.setDisable(!canMarkSelected()));
+        arrivalsTable.setContextMenu(contextMenu);
+        arrivalsTable.getSelectionModel().selectedItemProperty().addListener((obs, old, value) -> updateButton());
+
+        arrivalsLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        departuresLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        HBox arrivalsHeader = new HBox(15, arrivalsLabel, markArrivedButton);
+        VBox arrivals = new VBox(8, arrivalsHeader, arrivalsTable);
+        VBox departures = new VBox(8, new HBox(departuresLabel), departuresTable);
+        VBox.setVgrow(arrivalsTable, Priority.ALWAYS);
+        VBox.setVgrow(departuresTable, Priority.ALWAYS);
+        HBox.setHgrow(arrivals, Priority.ALWAYS);
+        HBox.setHgrow(departures, Priority.ALWAYS);
+        HBox columns = new HBox(15, arrivals, departures);
+        columns.setPadding(new Insets(10));
+
+        HBox top = new HBox(10, todayButton, tomorrowButton, statusLabel);
+        top.setPadding(new Insets(10, 10, 0, 10));
+        top.setStyle("-fx-alignment: center-left;");
+
+        pane.setTop(top);
+        pane.setCenter(columns);
+        updateButton();
+    }
+
+    public Node getNode() {
+        return pane;
+    }
+
+    // Reads both days' ids from the index and their rows from the database, then shows the
+    // selected day. A refresh still in flight is superseded by the new one.
+    public void refresh() {
+        LocalDate today = LocalDate.now();
+        statusLabel.setText("Loading arrivals and departures...");
+        loader.submit("arrivalsBoard", () -> Movements.load(today), loaded -> {
+            movements = loaded;
+            show();
+        }, error -> statusLabel.setText("Could not load arrivals and departures: " + error.getMessage()));
+    }
+
+    private void show() {
+        if (movements == null) {
+            return;
+        }
+        LocalDate day = tomorrowButton.isSelected() ? movements.today.plusDays(1) : movements.today;
+        List<Reservation> arriving = movements.arrivals.get(day);
+        List<Reservation> leaving = movements.departures.get(day);
+        arrivalsTable.setItems(FXCollections.observableArrayList(arriving));
+        departuresTable.setItems(FXCollections.observableArrayList(leaving));
+
+        int arrived = 0;
+        for (Reservation reservation : arriving) {
+            if (movements.index.hasArrived(reservation.getId())) {
+                arrived++;
+            }
+        }
+        arrivalsLabel.setText("Arrivals (" + arriving.size() + ", " + arrived + " arrived)");
+        departuresLabel.setText("Departures (" + leaving.size() + ")");
+        statusLabel.setText(day.format(DAY_FORMAT));
+        updateButton();
+    }
+
+    private void markSelected(Consumer<Reservation> markArrived) {
+        if (canMarkSelected()) {
+            markArrived.accept(arrivalsTable.getSelectionModel().getSelectedItem());
+        }
+    }
+
+    // Only today's guests can arrive, and only once
+    private boolean canMarkSelected() {
+        Reservation selected = arrivalsTable.getSelectionModel().getSelectedItem();
+        return selected != null && movements != null && !tomorrowButton.isSelected()
+                && !movements.index.hasArrived(selected.getId());
+    }
+
+    private void updateButton() {
+        markArrivedButton.setDisable(!canMarkSelected());
+    }
+
+    // Built as a typed list, since addAll over the columns themselves is an unchecked varargs call
+    private static List<TableColumn<Reservation, ?>> commonColumns() {
+        List<TableColumn<Reservation, ?>> columns = new ArrayList<>();
+        columns.add(column("Room", "roomNumber", 70));
+        columns.add(column("Guest", "customerName", 160));
+        columns.add(column("Hotel", "hotelName", 140));
+        columns.add(column("Type", "roomType", 90));
+        return columns;
+    }
+
+    private static <T> TableColumn<Reservation, T> column(String title, String property, double width) {
+        TableColumn<Reservation, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private TableColumn<Reservation, String> statusColumn() {
+        TableColumn<Reservation, String> column = new TableColumn<>("Status");
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(movements != null
+                && movements.index.hasArrived(cell.getValue().getId()) ? "Arrived" : "Expected"));
+        column.setPrefWidth(90);
+        return column;
+    }
+
+    // Both days' rows by day, sorted by room, and the index they were read from
+    private static final class Movements {
+        final LocalDate today;
+        final RoomAvailabilityIndex index;
+        final Map<LocalDate, List<Reservation>> arrivals = new HashMap<>();
+        final Map<LocalDate, List<Reservation>> departures = new HashMap<>();
+
+        private Movements(LocalDate today, RoomAvailabilityIndex index) {
+            this.today = today;
+            this.index = index;
+        }
+
+        static Movements load(LocalDate today) throws Exception {
+            Movements movements = new Movements(today, RoomAvailabilityIndex.getInstance());
+            List<LocalDate> days = List.of(today, today.plusDays(1));
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (LocalDate day : days) {
+                ids.addAll(movements.index.arrivals(day));
+                ids.addAll(movements.index.departures(day));
+            }
+            Map<Integer, Reservation> byId = new HashMap<>();
+            for (Reservation reservation : ReservationRepository.findByIds(ids)) {
+                byId.put(reservation.getId(), reservation);
+            }
+            for (LocalDate day : days) {
+                movements.arrivals.put(day, rows(movements.index.arrivals(day), byId));
+                movements.departures.put(day, rows(movements.index.departures(day), byId));
+            }
+            return movements;
+        }
+
+        // Ids deleted since the index was read are left out
+        private static List<Reservation> rows(List<Integer> ids, Map<Integer, Reservation> byId) {
+            List<Reservation> rows = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                Reservation reservation = byId.get(id);
+                if (reservation != null) {
+                    rows.add(reservation);
+                }
+            }
+            rows.sort(BY_ROOM);
+            return rows;
+        }
+    }
+}
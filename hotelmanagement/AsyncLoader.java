@@ -0,0 +1,157 @@
+package com.hotelmanagement;
+
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Runs database loads on background threads and hands the results back on the
+// JavaFX Application Thread. Loads are keyed: submitting a new load for a key
+// cancels the one still in flight, so a stale result can never overwrite a newer one.
+// Each load's duration is recorded in Metrics as "load.<key>".
+public class AsyncLoader {
+
+    private static final int THREADS = 4;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "db-loader-" + THREAD_COUNT.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ExecutorService executor;
+    // Only touched from the FX thread
+    private final Map<String, Task<?>> running = new HashMap<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    public AsyncLoader() {
+        this(EXECUTOR);
+    }
+
+    // For work that must not queue behind table loads on the shared executor
+    public AsyncLoader(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <T> Task<T> submit(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        stop(key);
+
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return Metrics.time("load." + key, work);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (running.get(key) == task) {
+                running.remove(key);
+                onSuccess.accept(task.getValue());
+                finished(key, null);
+            }
+        });
+        task.setOnFailed(e -> {
+            if (running.get(key) == task) {
+                running.remove(key);
+                onFailure.accept(task.getException());
+                finished(key, task.getException());
+            }
+        });
+
+        running.put(key, task);
+        executor.execute(task);
+        return task;
+    }
+
+    public void cancel(String key) {
+        if (stop(key)) {
+            finished(key, null);
+        }
+    }
+
+    // Superseding a load goes through here rather than cancel(), so no one is told the key is done
+    private boolean stop(String key) {
+        Task<?> previous = running.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        return previous != null;
+    }
+
+    public void cancelAll() {
+        for (Task<?> task : running.values()) {
+            task.cancel(true);
+        }
+        running.clear();
+        waiters.clear();
+    }
+
+    public boolean isLoading(String key) {
+        return running.containsKey(key);
+    }
+
+    // Calls onSuccess once none of the keys is loading, or onFailure with the first error one
+    // of their loads hit meanwhile. A load that submits a follow-up under its key, or is
+    // superseded by a newer one, is waited for through to the last.
+    public void whenDone(Collection<String> keys, Runnable onSuccess, Consumer<Throwable> onFailure) {
+        waiters.add(new Waiter(keys, onSuccess, onFailure));
+        finished(null, null);
+    }
+
+    // Runs after a load's own callback, so a follow-up it submitted already counts as loading
+    private void finished(String key, Throwable error) {
+        List<Waiter> done = new ArrayList<>();
+        for (Waiter waiter : waiters) {
+            if (error != null && waiter.error == null && waiter.keys.contains(key)) {
+                waiter.error = error;
+            }
+            if (!waiter.isWaiting()) {
+                done.add(waiter);
+            }
+        }
+        waiters.removeAll(done);
+        for (Waiter waiter : done) {
+            if (waiter.error == null) {
+                waiter.onSuccess.run();
+            } else {
+                waiter.onFailure.accept(waiter.error);
+            }
+        }
+    }
+
+    // Shared background executor, for work that is not a keyed table load
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    private final class Waiter {
+        private final Set<String> keys;
+        private final Runnable onSuccess;
+        private final Consumer<Throwable> onFailure;
+        private Throwable error;
+
+        Waiter(Collection<String> keys, Runnable onSuccess, Consumer<Throwable> onFailure) {
+            this.keys = new HashSet<>(keys);
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        boolean isWaiting() {
+            for (String key : keys) {
+                if (running.containsKey(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
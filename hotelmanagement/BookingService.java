@@ -0,0 +1,226 @@
+package com.hotelmanagement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Creates and re-dates reservations so that two stays can never overlap in one room, however
+// many desks book at once. Work on a room is serialised twice: a striped in-process lock keeps
+// this application's threads from queueing inside the database (and from holding pooled
+// connections while they wait), and SELECT ... FOR UPDATE on the room row does the same
+// against other processes. The overlap check and the write then run in one transaction while
+// both are held, so the check cannot go stale before the write commits. Rooms on different
+// stripes never wait for each other. Bulk imports book a chunk at a time under the same
+// locks, taken in ascending order so two chunks cannot deadlock.
+public final class BookingService {
+
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+    private static volatile boolean prepared = false;
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private BookingService() {
+    }
+
+    private interface RoomWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // Returns the new reservation id, or -1 if the driver did not report one
+    public static int book(int customerId, int roomNumber, LocalDate checkIn, LocalDate checkOut)
+            throws SQLException {
+        checkDates(checkIn, checkOut);
+        int id = inRoomTransaction(roomNumber, conn -> {
+            checkFree(conn, roomNumber, checkIn, checkOut, 0);
+            return ReservationRepository.insert(conn, customerId, roomNumber, checkIn, checkOut);
+        });
+        if (id != -1) {
+            RoomAvailabilityIndex.reservationSaved(id, roomNumber, checkIn, checkOut);
+        } else {
+            RoomAvailabilityIndex.refresh();
+        }
+        return id;
+    }
+
+    // Moves an existing reservation of this room to new dates
+    public static void reschedule(int reservationId, int roomNumber, LocalDate checkIn, LocalDate checkOut)
+            throws SQLException {
+        checkDates(checkIn, checkOut);
+        inRoomTransaction(roomNumber, conn -> {
+            checkFree(conn, roomNumber, checkIn, checkOut, reservationId);
+            ReservationRepository.updateDates(conn, reservationId, checkIn, checkOut);
+            return null;
+        });
+        RoomAvailabilityIndex.reservationSaved(reservationId, roomNumber, checkIn, checkOut);
+    }
+
+    // Books the rows that are still free in one transaction and returns the rest with their
+    // conflict. The rows must not overlap each other; ReservationImporter checks that first.
+    public static BatchResult bookBatch(List<ReservationImporter.ImportRow> rows) throws SQLException {
+        prepare();
+        TreeSet<Integer> rooms = new TreeSet<>();
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (ReservationImporter.ImportRow row : rows) {
+            checkDates(row.getCheckIn(), row.getCheckOut());
+            rooms.add(row.getRoomNumber());
+            stripes.add(Math.floorMod(row.getRoomNumber(), STRIPES));
+        }
+        List<ReentrantLock> held = new ArrayList<>();
+        BatchResult result = new BatchResult();
+        boolean conflicts = false;
+        int[] ids;
+        try {
+            for (int stripe : stripes) {
+                LOCKS[stripe].lock();
+                held.add(LOCKS[stripe]);
+            }
+            try (Connection conn = Database.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    Set<Integer> missing = new HashSet<>();
+                    for (int room : rooms) {
+                        if (!RoomRepository.lockForBooking(conn, room)) {
+                            missing.add(room);
+                        }
+                    }
+                    for (ReservationImporter.ImportRow row : rows) {
+                        if (missing.contains(row.getRoomNumber())) {
+                            result.rejected.put(row, new SQLException("Room " + row.getRoomNumber() + " does not exist"));
+                            continue;
+                        }
+                        try {
+                            checkFree(conn, row.getRoomNumber(), row.getCheckIn(), row.getCheckOut(), 0);
+                            result.booked.add(row);
+                        } catch (ConflictException e) {
+                            result.rejected.put(row, e);
+                            conflicts = true;
+                        }
+                    }
+                    ids = result.booked.isEmpty() ? new int[0]
+                            : ReservationRepository.insertBatch(conn, result.booked);
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+        } finally {
+            for (ReentrantLock lock : held) {
+                lock.unlock();
+            }
+        }
+        // insertBatch returns null when the driver reports fewer keys than rows
+        if (ids != null) {
+            for (int i = 0; i < ids.length; i++) {
+                ReservationImporter.ImportRow row = result.booked.get(i);
+                RoomAvailabilityIndex.reservationSaved(ids[i], row.getRoomNumber(), row.getCheckIn(), row.getCheckOut());
+            }
+        }
+        // One reload for the whole chunk: every conflict is a booking the index missed
+        if (conflicts || ids == null) {
+            RoomAvailabilityIndex.refresh();
+        }
+        return result;
+    }
+
+    private static <T> T inRoomTransaction(int roomNumber, RoomWork<T> work) throws SQLException {
+        prepare();
+        ReentrantLock lock = LOCKS[Math.floorMod(roomNumber, STRIPES)];
+        lock.lock();
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!RoomRepository.lockForBooking(conn, roomNumber)) {
+                    throw new SQLException("Room " + roomNumber + " does not exist");
+                }
+                T result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (ConflictException e) {
+                conn.rollback();
+                // The dialog offered this room, so the index missed a booking made elsewhere
+                RoomAvailabilityIndex.refresh();
+                throw e;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Runs under the room lock, so nothing can book the room between this check and the write
+    private static void checkFree(Connection conn, int roomNumber, LocalDate checkIn, LocalDate checkOut,
+            int ignoreId) throws SQLException {
+        ConflictException conflict = ReservationRepository.findOverlap(conn, roomNumber, checkIn, checkOut, ignoreId,
+                rs -> new ConflictException(roomNumber, rs.getInt(1), rs.getDate(2).toLocalDate(),
+                        rs.getDate(3).toLocalDate()));
+        if (conflict != null) {
+            throw conflict;
+        }
+    }
+
+    private static void checkDates(LocalDate checkIn, LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out must be after check-in");
+        }
+    }
+
+    private static void prepare() throws SQLException {
+        if (!prepared) {
+            ReservationRepository.prepareBooking();
+            prepared = true;
+        }
+    }
+
+    public static final class BatchResult {
+        private final List<ReservationImporter.ImportRow> booked = new ArrayList<>();
+        private final Map<ReservationImporter.ImportRow, SQLException> rejected = new LinkedHashMap<>();
+
+        public List<ReservationImporter.ImportRow> getBooked() {
+            return booked;
+        }
+
+        // Rows left out, in the order given, with why
+        public Map<ReservationImporter.ImportRow, SQLException> getRejected() {
+            return rejected;
+        }
+    }
+
+    // The room is already taken for part of the requested stay
+    public static class ConflictException extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        private final int roomNumber;
+        private final int reservationId;
+
+        ConflictException(int roomNumber, int reservationId, LocalDate checkIn, LocalDate checkOut) {
+            super("Room " + roomNumber + " is already booked from " + checkIn + " to " + checkOut
+                    + " (reservation " + reservationId + ")");
+            this.roomNumber = roomNumber;
+            this.reservationId = reservationId;
+        }
+
+        public int getRoomNumber() {
+            return roomNumber;
+        }
+
+        public int getReservationId() {
+            return reservationId;
+        }
+    }
+}
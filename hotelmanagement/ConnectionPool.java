@@ -0,0 +1,763 @@
+package com.hotelmanagement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded JDBC connection pool. Connections handed out are proxies: close() returns
+// the physical connection to the pool instead of closing the MySQL session.
+// Each physical connection also keeps its prepared statements, keyed by SQL, so a
+// statement is prepared on the server once and reused by every later borrower.
+// Anything a borrower leaves open is closed when the connection is returned.
+// Borrows and statement executions are timed into Metrics on the way through, and
+// reported to Flight Recorder when they happen on the FX thread.
+public class ConnectionPool {
+
+    private static final Metrics.QueryStats BORROW_METRICS = Metrics.get("pool.borrow");
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+
+    // Connections used within this window are handed out again without a ping
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // Prepared statements kept per physical connection
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown = false;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementPrepares = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+            long borrowTimeoutMillis, long idleTimeoutMillis, long maxLifetimeMillis) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 4);
+        housekeeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        FlightEvents.FxThreadJdbc fx = FlightEvents.beginFxThreadJdbc(BORROW_METRICS.getName());
+        try {
+            return borrow(start);
+        } finally {
+            if (fx != null) {
+                FlightEvents.endFxThreadJdbc(fx, 0);
+            }
+        }
+    }
+
+    private Connection borrow(long start) throws SQLException {
+        boolean acquired;
+        waiters.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+
+        if (!acquired) {
+            timeouts.increment();
+            BORROW_METRICS.error();
+            throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                    + " ms waiting for a database connection (" + maxSize + " in use)");
+        }
+
+        try {
+            PooledConnection pooled = takeValidConnection();
+            active.incrementAndGet();
+            recordBorrow(System.nanoTime() - start);
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeValidConnection() throws SQLException {
+        PooledConnection pooled;
+        // LIFO: the most recently returned connection is the one least likely to be stale
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (pooled.isExpired(now) || !pooled.validate(now)) {
+                pooled.closePhysical();
+                evicted.increment();
+                continue;
+            }
+            return pooled;
+        }
+        return openConnection();
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        created.increment();
+        open.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void recordBorrow(long nanos) {
+        borrows.increment();
+        borrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+        BORROW_METRICS.record(nanos, 0);
+    }
+
+    private void release(PooledConnection pooled, boolean broken) {
+        active.decrementAndGet();
+        try {
+            if (broken || shutdown || pooled.isExpired(System.currentTimeMillis()) || !pooled.reset()) {
+                pooled.closePhysical();
+                evicted.increment();
+            } else {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Closes connections that sat idle too long or outlived maxLifetime, keeping minIdle warm
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        int keep = minIdle;
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            boolean stale = now - pooled.lastUsed > idleTimeoutMillis && idle.size() > keep;
+            if ((stale || pooled.isExpired(now)) && idle.remove(pooled)) {
+                pooled.closePhysical();
+                evicted.increment();
+            }
+        }
+    }
+
+    public PoolStats getStats() {
+        long count = borrows.sum();
+        return new PoolStats(active.get(), idle.size(), waiters.get(), open.get(), maxSize,
+                count, count == 0 ? 0 : borrowNanos.sum() / count, maxBorrowNanos.get(),
+                timeouts.sum(), created.sum(), evicted.sum(), statementHits.sum(), statementPrepares.sum());
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    private class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsed = createdAt;
+
+        // Only used by the thread currently holding the lease
+        private final Map<String, CachedStatement> statements =
+                new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                        if (size() > STATEMENT_CACHE_SIZE && !eldest.getValue().inUse) {
+                            closeQuietly(eldest.getValue().statement);
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt > maxLifetimeMillis;
+        }
+
+        boolean validate(long now) {
+            if (now - lastUsed < VALIDATION_BYPASS_MILLIS) {
+                return true;
+            }
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Undo anything a borrower left behind so the next borrower gets a clean session
+        boolean reset() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            open.decrementAndGet();
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Connection is being discarded anyway
+            }
+        }
+
+        Connection lease() {
+            Lease lease = new Lease(this);
+            lease.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, lease);
+            return lease.proxy;
+        }
+
+        CachedStatement checkOut(String sql, int autoGeneratedKeys) throws SQLException {
+            String key = autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse) {
+                statementHits.increment();
+            } else {
+                statementPrepares.increment();
+                PreparedStatement statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                        ? physical.prepareStatement(sql)
+                        : physical.prepareStatement(sql, autoGeneratedKeys);
+                if (cached != null) {
+                    // Same SQL already open in this lease (nested use); hand out a one-off statement
+                    return new CachedStatement(statement, false);
+                }
+                cached = new CachedStatement(statement, true);
+                statements.put(key, cached);
+            }
+            cached.inUse = true;
+            return cached;
+        }
+    }
+
+    private static class CachedStatement {
+        final PreparedStatement statement;
+        final boolean pooled;
+        boolean inUse;
+
+        CachedStatement(PreparedStatement statement, boolean pooled) {
+            this.statement = statement;
+            this.pooled = pooled;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // Already failing or already closed
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private Connection proxy;
+        private boolean closed = false;
+        private boolean broken = false;
+        // Statements handed out during this lease that the borrower has not closed yet
+        private final List<StatementLease> openStatements = new ArrayList<>();
+        private final List<Statement> plainStatements = new ArrayList<>();
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeLeftovers();
+                        release(pooled, broken);
+                    }
+                    return null;
+                case "prepareStatement":
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    Class<?>[] types = method.getParameterTypes();
+                    if (types.length == 1 || (types.length == 2 && types[1] == int.class)) {
+                        int keys = types.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        return leaseStatement((String) args[0], pooled.checkOut((String) args[0], keys));
+                    }
+                    return track(invokePhysical(method, args), PreparedStatement.class, (String) args[0]);
+                case "createStatement":
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    return track(invokePhysical(method, args), Statement.class, null);
+                case "prepareCall":
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    return track(invokePhysical(method, args), CallableStatement.class, (String) args[0]);
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "unwrap":
+                case "isWrapperFor":
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    // Never unwrap past the lease: a borrower holding the physical connection
+                    // could keep using it after it went back to the pool
+                    Class<?> iface = (Class<?>) args[0];
+                    if (method.getName().equals("isWrapperFor")) {
+                        return iface.isInstance(proxy);
+                    }
+                    if (!iface.isInstance(proxy)) {
+                        throw new SQLException("A pooled connection cannot be unwrapped to " + iface.getName());
+                    }
+                    return proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+            }
+
+            return invokePhysical(method, args);
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            return invokeChecked(pooled.physical, method, args);
+        }
+
+        Object invokeChecked(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState class 08 = connection exception; never hand this session out again
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+
+        // Uncached statements are closed with the lease; sql is null for a createStatement(),
+        // whose SQL only arrives with each execute call
+        private Object track(Object statement, Class<?> type, String sql) {
+            plainStatements.add((Statement) statement);
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    new TimedStatement(this, (Statement) statement, sql == null ? null : Metrics.forSql(sql)));
+        }
+
+        private PreparedStatement leaseStatement(String sql, CachedStatement cached) {
+            StatementLease handler = new StatementLease(this, cached, Metrics.forSql(sql));
+            openStatements.add(handler);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, handler);
+        }
+
+        private void closeLeftovers() {
+            for (StatementLease statement : new ArrayList<>(openStatements)) {
+                statement.release();
+            }
+            openStatements.clear();
+            for (Statement statement : plainStatements) {
+                closeQuietly(statement);
+            }
+            plainStatements.clear();
+        }
+    }
+
+    // A borrowed prepared statement. close() closes its result sets and parks the
+    // statement back in the connection's cache instead of deallocating it on the server.
+    private static class StatementLease implements InvocationHandler {
+        private final Lease lease;
+        private final CachedStatement cached;
+        private final Metrics.QueryStats metrics;
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private boolean closed = false;
+        private boolean tuned = false;
+
+        StatementLease(Lease lease, CachedStatement cached, Metrics.QueryStats metrics) {
+            this.lease = lease;
+            this.cached = cached;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        release();
+                        lease.openStatements.remove(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return lease.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + cached.statement + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                case "setFetchDirection":
+                    tuned = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            if (method.getName().startsWith("execute")) {
+                return timedExecute(lease, cached.statement, method, args, metrics, resultSets);
+            }
+            Object result = lease.invokeChecked(cached.statement, method, args);
+            if (result instanceof ResultSet) {
+                resultSets.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        void release() {
+            closed = true;
+            for (ResultSet rs : resultSets) {
+                closeQuietly(rs);
+            }
+            resultSets.clear();
+            if (!cached.pooled) {
+                closeQuietly(cached.statement);
+                return;
+            }
+            try {
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+                if (tuned) {
+                    cached.statement.setFetchSize(0);
+                    cached.statement.setMaxRows(0);
+                    cached.statement.setQueryTimeout(0);
+                    cached.statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+                }
+                cached.inUse = false;
+            } catch (SQLException e) {
+                // Leave it marked in use so it is never handed out again; it dies with the connection
+                closeQuietly(cached.statement);
+            }
+        }
+    }
+
+    // Runs one execute* call, recording its latency and update count, or failure. A returned
+    // result set is wrapped to count the rows read; open tracks the physical one for cleanup.
+    private static Object timedExecute(Lease lease, Statement statement, Method method, Object[] args,
+            Metrics.QueryStats metrics, List<ResultSet> open) throws Throwable {
+        long start = System.nanoTime();
+        // Only non-null on the FX thread with a recording running; a query's event lasts until its rows are read
+        FlightEvents.FxThreadJdbc fx = FlightEvents.beginFxThreadJdbc(metrics.getName());
+        Object result;
+        try {
+            result = lease.invokeChecked(statement, method, args);
+        } catch (Throwable t) {
+            metrics.error();
+            if (fx != null) {
+                FlightEvents.endFxThreadJdbc(fx, 0);
+            }
+            throw t;
+        }
+        metrics.record(System.nanoTime() - start, updateCount(result));
+        if (result instanceof ResultSet) {
+            ResultSet rs = (ResultSet) result;
+            if (open != null) {
+                open.add(rs);
+            }
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                    new CountingResultSet(rs, metrics, fx));
+        }
+        if (fx != null) {
+            FlightEvents.endFxThreadJdbc(fx, updateCount(result));
+        }
+        return result;
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long total = 0;
+        if (result instanceof int[]) {
+            for (int n : (int[]) result) {
+                total += Math.max(0, n);
+            }
+        } else if (result instanceof long[]) {
+            for (long n : (long[]) result) {
+                total += Math.max(0, n);
+            }
+        }
+        return total;
+    }
+
+    // A statement the cache does not keep; only its execute calls are intercepted, for timing
+    private static class TimedStatement implements InvocationHandler {
+        private final Lease lease;
+        private final Statement statement;
+        // Null when the SQL comes with each execute call
+        private final Metrics.QueryStats metrics;
+
+        TimedStatement(Lease lease, Statement statement, Metrics.QueryStats metrics) {
+            this.lease = lease;
+            this.statement = statement;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return lease.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Timed[" + statement + "]";
+                default:
+                    break;
+            }
+            if (method.getName().startsWith("execute")) {
+                Metrics.QueryStats target = metrics != null ? metrics
+                        : Metrics.forSql(args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : null);
+                return timedExecute(lease, statement, method, args, target, null);
+            }
+            return lease.invokeChecked(statement, method, args);
+        }
+    }
+
+    // Counts next() calls that found a row and adds them to the query's row count once the
+    // result set is exhausted or closed
+    private static class CountingResultSet implements InvocationHandler {
+        private final ResultSet rs;
+        private final Metrics.QueryStats metrics;
+        private final FlightEvents.FxThreadJdbc fx;
+        private long rows;
+        private boolean reported;
+
+        CountingResultSet(ResultSet rs, Metrics.QueryStats metrics, FlightEvents.FxThreadJdbc fx) {
+            this.rs = rs;
+            this.metrics = metrics;
+            this.fx = fx;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    boolean more = rs.next();
+                    if (more) {
+                        rows++;
+                    } else {
+                        report();
+                    }
+                    return more;
+                }
+                case "close":
+                    report();
+                    rs.close();
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                metrics.addRows(rows);
+                if (fx != null) {
+                    FlightEvents.endFxThreadJdbc(fx, rows);
+                }
+            }
+        }
+    }
+
+    public static class PoolStats {
+        private final int active;
+        private final int idle;
+        private final int waiters;
+        private final int open;
+        private final int maxSize;
+        private final long borrows;
+        private final long avgBorrowNanos;
+        private final long maxBorrowNanos;
+        private final long timeouts;
+        private final long created;
+        private final long evicted;
+        private final long statementHits;
+        private final long statementPrepares;
+
+        PoolStats(int active, int idle, int waiters, int open, int maxSize, long borrows,
+                long avgBorrowNanos, long maxBorrowNanos, long timeouts, long created, long evicted,
+                long statementHits, long statementPrepares) {
+            this.active = active;
+            this.idle = idle;
+            this.waiters = waiters;
+            this.open = open;
+            this.maxSize = maxSize;
+            this.borrows = borrows;
+            this.avgBorrowNanos = avgBorrowNanos;
+            this.maxBorrowNanos = maxBorrowNanos;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.evicted = evicted;
+            this.statementHits = statementHits;
+            this.statementPrepares = statementPrepares;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getWaiters() {
+            return waiters;
+        }
+
+        public int getOpen() {
+            return open;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public long getBorrows() {
+            return borrows;
+        }
+
+        public long getAvgBorrowNanos() {
+            return avgBorrowNanos;
+        }
+
+        public long getMaxBorrowNanos() {
+            return maxBorrowNanos;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getEvicted() {
+            return evicted;
+        }
+
+        public long getStatementHits() {
+            return statementHits;
+        }
+
+        public long getStatementPrepares() {
+            return statementPrepares;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d waiters=%d open=%d/%d borrows=%d avgBorrow=%.3fms "
+                    + "maxBorrow=%.3fms timeouts=%d created=%d evicted=%d stmtHits=%d stmtPrepares=%d",
+                    active, idle, waiters, open, maxSize, borrows, avgBorrowNanos / 1e6,
+                    maxBorrowNanos / 1e6, timeouts, created, evicted, statementHits, statementPrepares);
+        }
+    }
+}
@@ -7,9 +7,6 @@ import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -107,22 +104,19 @@ public class CustomerDialog {
     }
 
     private void loadCustomerData(int customerId) {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT * FROM customers WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, customerId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                nameField.setText(rs.getString("name"));
-                emailField.setText(rs.getString("email"));
-                phoneField.setText(rs.getString("phone") != null ? rs.getString("phone") : "");
-                addressArea.setText(rs.getString("address") != null ? rs.getString("address") : "");
+        try {
+            Dashboard.Customer customer = CustomerRepository.findById(customerId);
+
+            if (customer != null) {
+                nameField.setText(customer.getName());
+                emailField.setText(customer.getEmail());
+                phoneField.setText(customer.getPhone());
+                addressArea.setText(customer.getAddress());
                 
                 // ADDED: Load date of birth
-                java.sql.Date dob = rs.getDate("date_of_birth");
-                if (dob != null) {
-                    dateOfBirthPicker.setValue(dob.toLocalDate());
+                String dob = customer.getDateOfBirth();
+                if (!dob.isEmpty()) {
+                    dateOfBirthPicker.setValue(LocalDate.parse(dob));
                 }
             }
         } catch (Exception e) {
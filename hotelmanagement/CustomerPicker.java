@@ -0,0 +1,209 @@
+package com.hotelmanagement;
+
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.ComboBoxListViewSkin;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Typeahead customer field for the reservation dialog. Nothing is read until the user opens
+// the list or types; then one page of customers whose name starts with the typed text is
+// fetched by an indexed prefix query, more pages follow as the list is scrolled, and recent
+// prefixes are answered from a small LRU cache. Items keep the "id - name" form.
+public class CustomerPicker {
+
+    private static final String KEY = "customers";
+    private static final int PAGE_SIZE = 50;
+    private static final int CACHED_PREFIXES = 32;
+    // Fetch the next page once the list is scrolled this close to its end
+    private static final double PREFETCH_MARGIN = 0.1;
+
+    private final ComboBox<String> comboBox = new ComboBox<>();
+    private final AsyncLoader loader = new AsyncLoader();
+    // Access-ordered, so the least recently typed prefix is dropped first
+    private final Map<String, Page> cache = new LinkedHashMap<String, Page>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Page> eldest) {
+            return size() > CACHED_PREFIXES;
+        }
+    };
+
+    private String prefix;
+    private Page page;
+    private Integer selectedId;
+    private String selectedLabel;
+    private boolean attached = false;
+
+    public CustomerPicker() {
+        comboBox.setEditable(true);
+        comboBox.setPromptText("Type a customer name");
+
+        comboBox.getEditor().textProperty().addListener((obs, oldVal, newVal) -> {
+            if (selectedLabel != null && !selectedLabel.equals(newVal)) {
+                selectedId = null;
+                selectedLabel = null;
+            }
+        });
+        SearchPipeline.debounce(comboBox.getEditor(), text -> {
+            if (selectedLabel == null || !selectedLabel.equals(text)) {
+                search(text);
+            }
+        });
+        comboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null && comboBox.getItems().contains(newVal)) {
+                selectedId = Integer.parseInt(newVal.split(" - ")[0]);
+                selectedLabel = newVal;
+            }
+        });
+        comboBox.setOnShowing(e -> {
+            if (page == null) {
+                search(comboBox.getEditor().getText());
+            }
+        });
+        comboBox.setOnShown(e -> attachToList());
+    }
+
+    public ComboBox<String> getNode() {
+        return comboBox;
+    }
+
+    // Id of the customer picked from the list, or null while the text matches no pick
+    public Integer getSelectedId() {
+        return selectedId;
+    }
+
+    public void select(int id, String name) {
+        selectedLabel = label(id, name);
+        selectedId = id;
+        comboBox.setValue(selectedLabel);
+    }
+
+    private void search(String text) {
+        String query = text == null ? "" : text.trim();
+        if (query.equals(prefix) && page != null) {
+            return;
+        }
+        prefix = query;
+        Page cached = cached(query);
+        if (cached != null) {
+            show(cached);
+            return;
+        }
+        loader.submit(KEY, () -> {
+            CustomerRepository.prepareNameSearch();
+            return new Page(CustomerRepository.findNamesByPrefix(query, "", 0, PAGE_SIZE));
+        }, fetched -> {
+            cache.put(query, fetched);
+            show(fetched);
+        }, Throwable::printStackTrace);
+    }
+
+    // A cached page for this prefix, or one cut down from a shorter prefix whose matches were
+    // all read; a longer prefix can only match a subset of those
+    private Page cached(String query) {
+        Page exact = cache.get(query);
+        if (exact != null) {
+            return exact;
+        }
+        for (int length = query.length() - 1; length >= 0; length--) {
+            Page shorter = cache.get(query.substring(0, length));
+            if (shorter != null && shorter.complete) {
+                Page narrowed = shorter.narrowTo(query);
+                cache.put(query, narrowed);
+                return narrowed;
+            }
+        }
+        return null;
+    }
+
+    private void show(Page shown) {
+        page = shown;
+        List<String> labels = new ArrayList<>(shown.names.size());
+        shown.names.forEach((id, name) -> labels.add(label(id, name)));
+        // setAll can clear the editor through the selection model; keep what the user typed
+        String typed = comboBox.getEditor().getText();
+        comboBox.getItems().setAll(labels);
+        comboBox.getEditor().setText(typed);
+        comboBox.getEditor().positionCaret(typed.length());
+        if (comboBox.isFocused() && !comboBox.isShowing() && !labels.isEmpty()) {
+            comboBox.show();
+        }
+    }
+
+    private void loadMore() {
+        Page current = page;
+        if (current == null || current.complete || current.names.isEmpty() || loader.isLoading(KEY)) {
+            return;
+        }
+        String query = prefix;
+        int lastId = current.lastId;
+        String lastName = current.names.get(lastId);
+        loader.submit(KEY, () -> CustomerRepository.findNamesByPrefix(query, lastName, lastId, PAGE_SIZE), more -> {
+            if (page != current) {
+                return;
+            }
+            current.append(more);
+            more.forEach((id, name) -> comboBox.getItems().add(label(id, name)));
+        }, Throwable::printStackTrace);
+    }
+
+    // The popup list only exists once the combo box has been shown
+    private void attachToList() {
+        if (attached || !(comboBox.getSkin() instanceof ComboBoxListViewSkin)) {
+            return;
+        }
+        ListView<?> list = (ListView<?>) ((ComboBoxListViewSkin<?>) comboBox.getSkin()).getPopupContent();
+        VirtualFlow<?> flow = (VirtualFlow<?>) list.lookup(".virtual-flow");
+        if (flow == null) {
+            return;
+        }
+        attached = true;
+        flow.positionProperty().addListener((obs, oldPos, newPos) -> {
+            if (newPos.doubleValue() >= 1 - PREFETCH_MARGIN) {
+                loadMore();
+            }
+        });
+    }
+
+    private static String label(int id, String name) {
+        return id + " - " + name;
+    }
+
+    // Customers read so far for one prefix, in (name, id) order
+    private static class Page {
+        private final Map<Integer, String> names = new LinkedHashMap<>();
+        private int lastId;
+        // Every match has been read
+        private boolean complete;
+
+        Page(Map<Integer, String> first) {
+            append(first);
+        }
+
+        void append(Map<Integer, String> more) {
+            for (Map.Entry<Integer, String> entry : more.entrySet()) {
+                names.put(entry.getKey(), entry.getValue());
+                lastId = entry.getKey();
+            }
+            complete = more.size() < PAGE_SIZE;
+        }
+
+        // Matches the database's case-insensitive collation closely enough for filtering
+        Page narrowTo(String query) {
+            Map<Integer, String> kept = new LinkedHashMap<>();
+            String lower = query.toLowerCase();
+            names.forEach((id, name) -> {
+                if (name.toLowerCase().startsWith(lower)) {
+                    kept.put(id, name);
+                }
+            });
+            Page narrowed = new Page(kept);
+            narrowed.complete = true;
+            return narrowed;
+        }
+    }
+}
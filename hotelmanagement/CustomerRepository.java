@@ -0,0 +1,170 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Customer;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CustomerRepository extends Repository {
+
+    private static final NamedQuery INSERT = new NamedQuery("customers.insert",
+            "INSERT INTO customers (name, email, phone, address, date_of_birth) VALUES (?, ?, ?, ?, ?)");
+    private static final NamedQuery UPDATE = new NamedQuery("customers.update",
+            "UPDATE customers SET name = ?, email = ?, phone = ?, address = ?, date_of_birth = ? WHERE id = ?");
+    private static final NamedQuery DELETE = new NamedQuery("customers.delete",
+            "DELETE FROM customers WHERE id = ?");
+    private static final NamedQuery FIND_BY_ID = new NamedQuery("customers.byId",
+            "SELECT * FROM customers WHERE id = ?");
+    // Prefix LIKE plus a keyset on (name, id) both range-scan idx_customers_name_id
+    private static final NamedQuery NAME_PREFIX_PAGE = new NamedQuery("customers.namePrefixPage",
+            "SELECT id, name FROM customers WHERE name LIKE ? AND (name > ? OR (name = ? AND id > ?)) " +
+                    "ORDER BY name, id LIMIT ?");
+
+    private static final NamedQuery EXPORT = new NamedQuery("customers.export",
+            "SELECT id, name, email, phone, address, date_of_birth FROM customers ORDER BY id");
+
+    private static final int ID_CHUNK_SIZE = 500;
+
+    // Customer keeps phone, address and date of birth as display strings, "" when unset
+    static final SnapshotCache.Codec<Customer> SNAPSHOT_CODEC = new SnapshotCache.Codec<>() {
+        @Override
+        public void write(SnapshotCache.Writer out, Customer customer) throws IOException {
+            out.writeInt(customer.getId());
+            out.writeString(customer.getName());
+            out.writeString(customer.getEmail());
+            out.writeString(customer.getPhone());
+            out.writeString(customer.getAddress());
+            out.writeString(customer.getDateOfBirth());
+        }
+
+        @Override
+        public Customer read(SnapshotCache.Reader in) {
+            int id = in.readInt();
+            String name = in.readString();
+            String email = in.readString();
+            String phone = in.readString();
+            String address = in.readString();
+            String dateOfBirth = in.readString();
+            return new Customer(id, name, email, phone, address,
+                    dateOfBirth.isEmpty() ? null : Date.valueOf(dateOfBirth));
+        }
+    };
+
+    private CustomerRepository() {
+    }
+
+    public static TableSync<Customer> newChangeTracker() {
+        return new TableSync<>("customers", "id",
+                "SELECT c.*, c.updated_at AS changed_at FROM customers c",
+                "c.updated_at >= ?", "ORDER BY c.id", CustomerRepository::map, Customer::getId,
+                SNAPSHOT_CODEC);
+    }
+
+    // Writes run on the caller's connection and transaction; desk edits go through WriteBehindQueue
+
+    public static int insert(Connection conn, String name, String email, String phone, String address,
+            String dateOfBirth) throws SQLException {
+        return insert(conn, INSERT, pstmt -> bindFields(pstmt, name, email, phone, address, dateOfBirth));
+    }
+
+    // False when there is no such customer
+    public static boolean update(Connection conn, int id, String name, String email, String phone, String address,
+            String dateOfBirth) throws SQLException {
+        return update(conn, UPDATE, pstmt -> {
+            bindFields(pstmt, name, email, phone, address, dateOfBirth);
+            pstmt.setInt(6, id);
+        }) > 0;
+    }
+
+    public static void delete(Connection conn, int id) throws SQLException {
+        update(conn, DELETE, pstmt -> pstmt.setInt(1, id));
+    }
+
+    public static Customer findById(int id) throws SQLException {
+        return queryFirst(FIND_BY_ID, pstmt -> pstmt.setInt(1, id), CustomerRepository::map);
+    }
+
+    // Up to limit customers whose name starts with prefix, ordered by name then id, continuing
+    // after (afterName, afterId); pass "" and 0 for the first page
+    public static Map<Integer, String> findNamesByPrefix(String prefix, String afterName, int afterId, int limit)
+            throws SQLException {
+        return queryIdNames(NAME_PREFIX_PAGE, pstmt -> {
+            pstmt.setString(1, escapeLike(prefix) + "%");
+            pstmt.setString(2, afterName);
+            pstmt.setString(3, afterName);
+            pstmt.setInt(4, afterId);
+            pstmt.setInt(5, limit);
+        });
+    }
+
+    // Which of the given ids exist, looked up in chunks of IN lists
+    public static Set<Integer> findExistingIds(Collection<Integer> ids) throws SQLException {
+        List<Integer> all = new ArrayList<>(ids);
+        Set<Integer> existing = new HashSet<>();
+        try (Connection conn = Database.getConnection()) {
+            for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = all.subList(from, Math.min(from + ID_CHUNK_SIZE, all.size()));
+                String sql = "SELECT id FROM customers WHERE id IN ("
+                        + RoomAvailabilityUpdater.placeholders(chunk.size()) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getInt(1));
+                        }
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    public static <T> T streamForExport(int fetchSize, ResultSetReader<T> reader) throws SQLException, IOException {
+        return stream(EXPORT, NO_PARAMS, fetchSize, reader);
+    }
+
+    // The prefix search needs the (name, id) index; checked once, before the first search
+    public static void prepareNameSearch() throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            Schema.checkCustomerNameIndex(conn);
+        }
+    }
+
+    private static void bindFields(PreparedStatement pstmt, String name, String email, String phone,
+            String address, String dateOfBirth) throws SQLException {
+        pstmt.setString(1, name);
+        pstmt.setString(2, email);
+        pstmt.setString(3, phone);
+        pstmt.setString(4, address);
+
+        // Handle date of birth (can be null)
+        if (dateOfBirth != null && !dateOfBirth.isEmpty()) {
+            pstmt.setDate(5, Date.valueOf(dateOfBirth));
+        } else {
+            pstmt.setNull(5, Types.DATE);
+        }
+    }
+
+    static Customer map(ResultSet rs) throws SQLException {
+        return new Customer(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("phone"),
+                rs.getString("address"),
+                rs.getDate("date_of_birth"));
+    }
+}
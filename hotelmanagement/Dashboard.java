@@ -1,19 +1,37 @@
 package com.hotelmanagement;
 
+import com.hotelmanagement.WriteBehindQueue.Mutation;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class Dashboard {
 
@@ -22,6 +40,37 @@ public class Dashboard {
     private Tab roomsTab;
     private Tab reservationsTab;
     private Tab customersTab;
+    private final AsyncLoader loader = new AsyncLoader();
+
+    // Change-tracked loaders, one per table
+    private final TableSync<Hotel> hotelSync = HotelRepository.newChangeTracker();
+    private final TableSync<Room> roomSync = RoomRepository.newChangeTracker();
+    private final TableSync<Customer> customerSync = CustomerRepository.newChangeTracker();
+
+    // Tables showing saved rows because the database could not be read, with the time the
+    // rows were last read from it
+    private final Map<String, Long> offlineTables = new LinkedHashMap<>();
+    private final Label offlineLabel = new Label();
+
+    // -Dhotel.tabs.eager=true builds every tab before the window shows, as before tabs were
+    // built on first use, e.g. to compare startup times
+    private static final boolean EAGER_TABS = Boolean.getBoolean("hotel.tabs.eager");
+
+    // Replaced when the tab is built; a tab not built yet has nothing to refresh
+    private Runnable refreshHotels = () -> {
+    };
+    private Runnable refreshRooms = () -> {
+    };
+    private Runnable refreshHotelFilters = () -> {
+    };
+    private Runnable refreshReservations = () -> {
+    };
+    private Runnable refreshArrivals = () -> {
+    };
+    private Runnable refreshCustomers = () -> {
+    };
+    // Set while a Refresh waits for its loads to report how they went
+    private boolean refreshMessagePending = false;
 
     public void start(Stage stage) {
         stage.setTitle("Hotel Management - Dashboard");
@@ -29,22 +78,12 @@ public class Dashboard {
         // --- Tabs ---
         tabPane = new TabPane();
 
-        hotelsTab = new Tab("Hotels");
-        hotelsTab.setContent(createHotelsTab());
-        hotelsTab.setClosable(false);
-
-        roomsTab = new Tab("Rooms");
-        roomsTab.setContent(createRoomsTab());
-        roomsTab.setClosable(false);
-
-        reservationsTab = new Tab("Reservations");
-        reservationsTab.setContent(createReservationsTab());
-        reservationsTab.setClosable(false);
-
-        customersTab = new Tab("Customers");
-        customersTab.setContent(createCustomersTab());
-        customersTab.setClosable(false);
+        hotelsTab = lazyTab("Hotels", "Dashboard.createHotelsTab", this::createHotelsTab);
+        roomsTab = lazyTab("Rooms", "Dashboard.createRoomsTab", this::createRoomsTab);
+        reservationsTab = lazyTab("Reservations", "Dashboard.createReservationsTab", this::createReservationsTab);
+        customersTab = lazyTab("Customers", "Dashboard.createCustomersTab", this::createCustomersTab);
 
+        // Selects the Hotels tab, which queues its build ahead of the first frame
         tabPane.getTabs().addAll(hotelsTab, roomsTab, reservationsTab, customersTab);
 
         // === ADD REFRESH BUTTON HERE ===
@@ -54,6 +93,12 @@ public class Dashboard {
         refreshButton.setOnAction(e -> refreshAllTabs());
         refreshButton.setTooltip(new Tooltip("Refresh all data in all tabs"));
 
+        Button occupancyButton = new Button("Occupancy Report");
+        occupancyButton.setStyle(
+                "-fx-background-color: #607D8B; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
+        occupancyButton.setOnAction(e -> new OccupancyDialog(stage).show());
+        occupancyButton.setTooltip(new Tooltip("Occupancy, ADR and RevPAR per hotel"));
+
         Button logoutButton = new Button("Logout");
         logoutButton.setStyle(
                 "-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 25; -fx-cursor: hand;");
@@ -74,8 +119,28 @@ public class Dashboard {
         topBar.setStyle(
                 "-fx-padding: 15; -fx-background-color: #ffffff; -fx-border-color: #e0e0e0; -fx-border-width: 0 0 2 0;");
 
+        // Edits waiting in the write-behind queue
+        Label saveStatusLabel = new Label();
+        saveStatusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #757575;");
+        HBox.setMargin(saveStatusLabel, new javafx.geometry.Insets(10, 0, 0, 0));
+        WriteBehindQueue.setPendingListener(count -> {
+            if (count == 0) {
+                saveStatusLabel.setText("");
+            } else if (WriteBehindQueue.isRetrying()) {
+                saveStatusLabel.setText(count + " unsaved change(s), waiting for the database");
+                saveStatusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #E65100;");
+            } else {
+                saveStatusLabel.setText("Saving " + count + " change(s)...");
+                saveStatusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #757575;");
+            }
+        });
+
+        offlineLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #C62828;");
+        HBox.setMargin(offlineLabel, new javafx.geometry.Insets(10, 0, 0, 0));
+
         // MODIFIED: Add refresh button between title and logout
-        topBar.getChildren().addAll(titleLabel, spacer, refreshButton, logoutButton);
+        topBar.getChildren().addAll(titleLabel, spacer, offlineLabel, saveStatusLabel, occupancyButton, refreshButton,
+                logoutButton);
 
         tabPane.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
 
@@ -87,34 +152,195 @@ public class Dashboard {
         Scene scene = new Scene(root, 1100, 700);
         stage.setScene(scene);
         stage.show();
+        StartupTimer.firstFrame(scene, "dashboard");
+
+        preloadAvailability();
+        preloadReferenceData();
+        RoomAvailabilityUpdater.startDailySweep();
+        startWriteBehind();
+    }
+
+    // The tab shows a placeholder until it is first selected; only then is its table built
+    // and its rows loaded. The build is queued so the placeholder can be painted first.
+    private Tab lazyTab(String name, String handler, Supplier<Node> build) {
+        Tab tab = new Tab(name);
+        tab.setClosable(false);
+        if (EAGER_TABS) {
+            tab.setContent(FlightEvents.buildTab(name, handler, build));
+            return tab;
+        }
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setMaxSize(40, 40);
+        VBox placeholder = new VBox(10, progress, new Label("Loading " + name + "..."));
+        placeholder.setAlignment(Pos.CENTER);
+        tab.setContent(placeholder);
+
+        tab.selectedProperty().addListener(new ChangeListener<Boolean>() {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> obs, Boolean wasSelected, Boolean selected) {
+                if (selected) {
+                    tab.selectedProperty().removeListener(this);
+                    Platform.runLater(() -> tab.setContent(FlightEvents.buildTab(name, handler, build)));
+                }
+            }
+        });
+        return tab;
+    }
+
+    // Replays edits a previous session journaled but did not commit, then takes this desk's edits
+    private void startWriteBehind() {
+        try {
+            WriteBehindQueue.start();
+        } catch (IOException e) {
+            showError("Changes cannot be saved: the write journal could not be opened (" + e.getMessage() + ")");
+        }
+    }
+
+    // Warm the availability index in the background so the first reservation dialog does not wait
+    private void preloadAvailability() {
+        AsyncLoader.executor().execute(() -> {
+            try {
+                RoomAvailabilityIndex.getInstance();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // Bookings other desks changed since the index last read them; runs with each reservations refresh
+    private void syncAvailability() {
+        AsyncLoader.executor().execute(() -> {
+            try {
+                RoomAvailabilityIndex.sync();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // Hotel names and room types for the dialogs, loaded before the first one opens
+    private void preloadReferenceData() {
+        AsyncLoader.executor().execute(() -> {
+            try {
+                ReferenceData.getInstance();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // After a hotel write: the dialogs and the Rooms tab filter must show the new names
+    private void hotelsChanged() {
+        ReferenceData.refresh();
+        refreshHotelFilters.run();
     }
 
     // ADDED: Simple refresh all tabs method
     private void refreshAllTabs() {
-        try {
-            // Store current tab selection
-            int selectedIndex = tabPane.getSelectionModel().getSelectedIndex();
+        // Each tab only fetches rows changed since its last load; a refresh still
+        // in flight is superseded by the new one. Reference data is reloaded in the
+        // background; dialogs opened meanwhile get the names they had.
+        ReferenceData.refresh();
+        refreshHotels.run();
+        refreshRooms.run();
+        refreshReservations.run();
+        refreshCustomers.run();
+        // One message per round, however often Refresh is pressed before it is done
+        if (!refreshMessagePending) {
+            refreshMessagePending = true;
+            loader.whenDone(List.of("hotels", "rooms", "reservations", "customers"), () -> {
+                refreshMessagePending = false;
+                showSuccess("All data refreshed successfully!");
+            }, error -> {
+                refreshMessagePending = false;
+                showError("Error refreshing data: " + error.getMessage());
+            });
+        }
+    }
+
+    // Fetches rows off the FX thread and patches them into the table's lists in place,
+    // so the selected row, scroll position and sort order survive a refresh. The first load
+    // shows the rows saved by the last session before asking the database for what changed.
+    private <T> void syncTable(String key, TableSync<T> sync, TableView<T> table, ObservableList<T> data,
+            ObservableList<T> filteredData, Supplier<Predicate<T>> filter) {
+        if (!sync.isLoaded()) {
+            table.setPlaceholder(new Label("Loading " + key + "..."));
+        }
+        if (sync.canLoadSnapshot()) {
+            loader.submit(key, sync::loadSnapshot, snapshot -> {
+                if (snapshot != null) {
+                    applyDelta(sync, snapshot, table, data, filteredData, filter);
+                }
+                syncTable(key, sync, table, data, filteredData, filter);
+            }, error -> {
+                error.printStackTrace();
+                syncTable(key, sync, table, data, filteredData, filter);
+            });
+            return;
+        }
+        loader.submit(key, sync::fetch, delta -> {
+            applyDelta(sync, delta, table, data, filteredData, filter);
+            sync.saveSnapshot(data);
+            setOffline(key, 0);
+            table.setPlaceholder(new Label("No " + key + " found"));
+        }, error -> {
+            error.printStackTrace();
+            if (!sync.isLoaded()) {
+                table.setPlaceholder(new Label("Could not load " + key + ": " + error.getMessage()));
+            } else {
+                setOffline(key, sync.getAsOf());
+            }
+        });
+    }
 
-            // Refresh each tab by recreating its content
-            hotelsTab.setContent(createHotelsTab());
-            roomsTab.setContent(createRoomsTab());
-            reservationsTab.setContent(createReservationsTab());
-            customersTab.setContent(createCustomersTab());
+    private <T> void applyDelta(TableSync<T> sync, TableSync.Delta<T> delta, TableView<T> table,
+            ObservableList<T> data, ObservableList<T> filteredData, Supplier<Predicate<T>> filter) {
+        T selected = table.getSelectionModel().getSelectedItem();
 
-            // Restore tab selection
-            tabPane.getSelectionModel().select(selectedIndex);
+        sync.apply(delta, data, filteredData, filter.get());
 
-            showSuccess("All data refreshed successfully!");
-        } catch (Exception e) {
-            showError("Error refreshing data: " + e.getMessage());
+        if (!table.getSortOrder().isEmpty()) {
+            table.sort();
+        }
+        if (selected != null && table.getSelectionModel().getSelectedItem() != selected) {
+            Object selectedKey = sync.keyOf(selected);
+            for (int i = 0; i < filteredData.size(); i++) {
+                if (sync.keyOf(filteredData.get(i)).equals(selectedKey)) {
+                    table.getSelectionModel().clearAndSelect(i);
+                    break;
+                }
+            }
         }
     }
 
+    // asOf is when the rows the table still shows were last read from the database, or 0
+    // once a load has reached the database again
+    private void setOffline(String key, long asOf) {
+        if (asOf == 0) {
+            offlineTables.remove(key);
+        } else {
+            offlineTables.put(key, asOf);
+        }
+        if (offlineTables.isEmpty()) {
+            offlineLabel.setText("");
+            return;
+        }
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("MMM d, HH:mm");
+        StringBuilder text = new StringBuilder("Database unreachable, showing saved data:");
+        String separator = " ";
+        for (Map.Entry<String, Long> table : offlineTables.entrySet()) {
+            text.append(separator).append(table.getKey()).append(" as of ")
+                    .append(format.format(Instant.ofEpochMilli(table.getValue()).atZone(ZoneId.systemDefault())));
+            separator = ", ";
+        }
+        offlineLabel.setText(text.toString());
+    }
+
     // =================== Hotels ===================
     private BorderPane createHotelsTab() {
         TableView<Hotel> table = new TableView<>();
-        ObservableList<Hotel> data = getHotelsFromDB();
-        ObservableList<Hotel> filteredData = FXCollections.observableArrayList(data);
+        ObservableList<Hotel> data = FXCollections.observableArrayList();
+        ObservableList<Hotel> filteredData = FXCollections.observableArrayList();
 
         TableColumn<Hotel, Integer> colId = new TableColumn<>("ID");
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -155,13 +381,18 @@ public class Dashboard {
                 "-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
         deleteButton.setOnAction(e -> handleDeleteHotel(table, data, filteredData));
 
+        // Same fields as hotelFilter, which still checks rows arriving through a refresh
+        TrigramIndex<Hotel> hotelIndex = new TrigramIndex<>("hotels", data,
+                hotel -> new String[] { hotel.getName(), hotel.getAddress(), hotel.getDescription() });
+
         TextField searchField = new TextField();
         searchField.setPromptText("Search by hotel name or address...");
         searchField.setPrefWidth(250);
         searchField.setStyle("-fx-padding: 10; -fx-font-size: 13px;");
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            filterHotels(newVal, data, filteredData);
-        });
+        new SearchPipeline<>(searchField, filteredData, text -> {
+            List<Hotel> shown = new ArrayList<>(filteredData);
+            return () -> hotelIndex.diff(text, shown);
+        }, diff -> diff.applyTo(filteredData));
 
         HBox controls = new HBox(15, addButton, editButton, deleteButton, searchField);
         controls.setStyle("-fx-padding: 15; -fx-background-color: #f5f5f5;");
@@ -171,6 +402,10 @@ public class Dashboard {
         pane.setCenter(table);
         pane.setStyle("-fx-background-color: white;");
 
+        refreshHotels = () -> syncTable("hotels", hotelSync, table, data, filteredData,
+                () -> hotelFilter(searchField.getText()));
+        refreshHotels.run();
+
         return pane;
     }
 
@@ -181,30 +416,22 @@ public class Dashboard {
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "INSERT INTO hotels (name, description, address, rating) VALUES (?, ?, ?, ?)";
-                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                pstmt.setString(1, dialog.getHotelName());
-                pstmt.setString(2, dialog.getDescription());
-                pstmt.setString(3, dialog.getAddress());
-                pstmt.setDouble(4, dialog.getRating());
-                pstmt.executeUpdate();
-
-                // Get the generated ID
-                ResultSet generatedKeys = pstmt.getGeneratedKeys();
-                int newId = -1;
-                if (generatedKeys.next()) {
-                    newId = generatedKeys.getInt(1);
-                }
-
-                Hotel newHotel = new Hotel(newId, dialog.getHotelName(), dialog.getDescription(),
-                        dialog.getAddress(), dialog.getRating());
+            Mutation insert = Mutation.insertHotel(dialog.getHotelName(), dialog.getDescription(),
+                    dialog.getAddress(), dialog.getRating());
+            // Shown under a provisional id until the insert commits
+            Hotel newHotel = new Hotel(insert.getProvisionalId(), dialog.getHotelName(), dialog.getDescription(),
+                    dialog.getAddress(), dialog.getRating());
+            boolean queued = submit(insert, id -> {
+                replaceRow(data, filteredData, newHotel, new Hotel(id, newHotel.getName(), newHotel.getDescription(),
+                        newHotel.getAddress(), newHotel.getRating()));
+                hotelsChanged();
+            }, "Error adding hotel: ", () -> {
+                data.remove(newHotel);
+                filteredData.remove(newHotel);
+            });
+            if (queued) {
                 data.add(newHotel);
                 filteredData.add(newHotel);
-
-                showSuccess("Hotel added successfully!");
-            } catch (Exception e) {
-                showError("Error adding hotel: " + e.getMessage());
             }
         }
     }
@@ -216,33 +443,24 @@ public class Dashboard {
             showError("Please select a hotel to edit!");
             return;
         }
+        if (selectedHotel.getId() < 0) {
+            showError("This hotel is still being saved. Please try again in a moment.");
+            return;
+        }
 
         Stage stage = (Stage) table.getScene().getWindow();
         HotelDialog dialog = new HotelDialog(stage, selectedHotel.getId());
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "UPDATE hotels SET name = ?, description = ?, address = ?, rating = ? WHERE id = ?";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, dialog.getHotelName());
-                pstmt.setString(2, dialog.getDescription());
-                pstmt.setString(3, dialog.getAddress());
-                pstmt.setDouble(4, dialog.getRating());
-                pstmt.setInt(5, selectedHotel.getId());
-                pstmt.executeUpdate();
-
-                data.remove(selectedHotel);
-                filteredData.remove(selectedHotel);
-                Hotel updatedHotel = new Hotel(selectedHotel.getId(), dialog.getHotelName(),
-                        dialog.getDescription(), dialog.getAddress(),
-                        dialog.getRating());
-                data.add(updatedHotel);
-                filteredData.add(updatedHotel);
-
-                showSuccess("Hotel updated successfully!");
-            } catch (Exception e) {
-                showError("Error updating hotel: " + e.getMessage());
+            Hotel updatedHotel = new Hotel(selectedHotel.getId(), dialog.getHotelName(),
+                    dialog.getDescription(), dialog.getAddress(),
+                    dialog.getRating());
+            boolean queued = submit(Mutation.updateHotel(selectedHotel.getId(), dialog.getHotelName(),
+                    dialog.getDescription(), dialog.getAddress(), dialog.getRating()), key -> hotelsChanged(),
+                    "Error updating hotel: ", () -> replaceRow(data, filteredData, updatedHotel, selectedHotel));
+            if (queued) {
+                replaceRow(data, filteredData, selectedHotel, updatedHotel);
             }
         }
     }
@@ -254,6 +472,10 @@ public class Dashboard {
             showError("Please select a hotel to delete!");
             return;
         }
+        if (selectedHotel.getId() < 0) {
+            showError("This hotel is still being saved. Please try again in a moment.");
+            return;
+        }
 
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Deletion");
@@ -262,72 +484,40 @@ public class Dashboard {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try (Connection conn = Database.getConnection()) {
-                    String sql = "DELETE FROM hotels WHERE id = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, selectedHotel.getId());
-                    pstmt.executeUpdate();
-
+                int dataIndex = data.indexOf(selectedHotel);
+                int filteredIndex = filteredData.indexOf(selectedHotel);
+                boolean queued = submit(Mutation.deleteHotel(selectedHotel.getId()), key -> hotelsChanged(),
+                        "Error deleting hotel: ",
+                        () -> restoreRow(data, filteredData, selectedHotel, dataIndex, filteredIndex));
+                if (queued) {
                     data.remove(selectedHotel);
                     filteredData.remove(selectedHotel);
-
-                    showSuccess("Hotel deleted successfully!");
-                } catch (Exception e) {
-                    showError("Error deleting hotel: " + e.getMessage());
                 }
             }
         });
     }
 
-    private void filterHotels(String searchText, ObservableList<Hotel> data, ObservableList<Hotel> filteredData) {
-        filteredData.clear();
+    static Predicate<Hotel> hotelFilter(String searchText) {
         if (searchText == null || searchText.trim().isEmpty()) {
-            filteredData.addAll(data);
-        } else {
-            String lowerSearch = searchText.toLowerCase();
-            for (Hotel hotel : data) {
-                if (hotel.getName().toLowerCase().contains(lowerSearch) ||
-                        hotel.getAddress().toLowerCase().contains(lowerSearch) ||
-                        (hotel.getDescription() != null
-                                && hotel.getDescription().toLowerCase().contains(lowerSearch))) {
-                    filteredData.add(hotel);
-                }
-            }
+            return hotel -> true;
         }
-    }
-
-    private ObservableList<Hotel> getHotelsFromDB() {
-        ObservableList<Hotel> list = FXCollections.observableArrayList();
-        try (Connection conn = Database.getConnection()) {
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT * FROM hotels ORDER BY id");
-            while (rs.next()) {
-                list.add(new Hotel(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("description"),
-                        rs.getString("address"),
-                        rs.getDouble("rating")));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            // If table doesn't exist yet, show empty table
-            // You can also create the table here if needed
-        }
-        return list;
+        String lowerSearch = searchText.toLowerCase();
+        return hotel -> hotel.getName().toLowerCase().contains(lowerSearch) ||
+                hotel.getAddress().toLowerCase().contains(lowerSearch) ||
+                (hotel.getDescription() != null
+                        && hotel.getDescription().toLowerCase().contains(lowerSearch));
     }
 
     // =================== Rooms ===================
     private BorderPane createRoomsTab() {
 
         TableView<Room> table = new TableView<>();
-        ObservableList<Room> data = getRoomsFromDB();
-        ObservableList<Room> filteredData = FXCollections.observableArrayList(data);
+        ObservableList<Room> data = FXCollections.observableArrayList();
+        ObservableList<Room> filteredData = FXCollections.observableArrayList();
 
         ComboBox<String> hotelFilterComboBox = new ComboBox<>();
         hotelFilterComboBox.setPromptText("Filter by Hotel");
         hotelFilterComboBox.setPrefWidth(200);
-        loadHotelFilters(hotelFilterComboBox, table, data, filteredData);
 
         TableColumn<Room, Integer> colNumber = new TableColumn<>("Room Number");
         colNumber.setCellValueFactory(new PropertyValueFactory<>("number"));
@@ -360,15 +550,28 @@ public class Dashboard {
                 "-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
         deleteButton.setOnAction(e -> handleDeleteRoom(table, data, filteredData));
 
+        TrigramIndex<Room> roomIndex = new TrigramIndex<>("rooms", data,
+                room -> new String[] { String.valueOf(room.getNumber()), room.getType() });
+
         TextField searchField = new TextField();
         searchField.setPromptText("Search by room number or type...");
         searchField.setPrefWidth(250);
         searchField.setStyle("-fx-padding: 10; -fx-font-size: 13px;");
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            filterRooms(newVal, data, filteredData);
+        new SearchPipeline<>(searchField, filteredData, text -> {
+            List<Room> shown = new ArrayList<>(filteredData);
+            return () -> roomIndex.diff(text, shown);
+        }, diff -> diff.applyTo(filteredData));
+
+        RoomOccupancyGrid grid = new RoomOccupancyGrid(filteredData, loader, () -> {
+            String selected = hotelFilterComboBox.getValue();
+            return selected == null || selected.equals("All Hotels") ? null : Integer.parseInt(selected.split(" - ")[0]);
         });
 
-        HBox controls = new HBox(15, addButton, editButton, deleteButton, searchField, hotelFilterComboBox);
+        ToggleButton gridToggle = new ToggleButton("Occupancy Grid");
+        gridToggle.setStyle("-fx-padding: 10 20; -fx-cursor: hand;");
+        gridToggle.setTooltip(new Tooltip("Sold and free nights of the listed rooms over the next 90 nights"));
+
+        HBox controls = new HBox(15, addButton, editButton, deleteButton, searchField, hotelFilterComboBox, gridToggle);
         controls.setStyle("-fx-padding: 15; -fx-background-color: #f5f5f5;");
 
         BorderPane pane = new BorderPane();
@@ -376,40 +579,56 @@ public class Dashboard {
         pane.setCenter(table);
         pane.setStyle("-fx-background-color: white;");
 
+        gridToggle.setOnAction(e -> {
+            if (gridToggle.isSelected()) {
+                pane.setCenter(grid.getNode());
+                grid.refresh();
+            } else {
+                pane.setCenter(table);
+            }
+        });
+        // Keeps the grid's footer on the hotel the rows are filtered to
+        hotelFilterComboBox.valueProperty().addListener((obs, old, value) -> {
+            if (gridToggle.isSelected()) {
+                grid.refresh();
+            }
+        });
+
+        refreshHotelFilters = () -> loadHotelFilters(hotelFilterComboBox, table, data, filteredData);
+        refreshRooms = () -> {
+            syncTable("rooms", roomSync, table, data, filteredData, () -> roomFilter(searchField.getText()));
+            refreshHotelFilters.run();
+        };
+        refreshRooms.run();
+
         return pane;
     }
 
     private void loadHotelFilters(ComboBox<String> comboBox, TableView<Room> table,
             ObservableList<Room> data, ObservableList<Room> filteredData) {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT id, name FROM hotels ORDER BY name";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            ResultSet rs = pstmt.executeQuery();
-
+        // Reloaded rather than served from the snapshot, which may predate the edit that asked for this
+        loader.submit("hotelFilters", () -> {
+            return ReferenceData.reload().getHotelLabels();
+        }, items -> {
             comboBox.getItems().clear();
             comboBox.getItems().add("All Hotels"); // Default option
+            comboBox.getItems().addAll(items);
+        }, Throwable::printStackTrace);
 
-            while (rs.next()) {
-                comboBox.getItems().add(rs.getInt("id") + " - " + rs.getString("name"));
-            }
-
-            comboBox.setOnAction(e -> {
-                String selected = comboBox.getValue();
-                if (selected == null || selected.equals("All Hotels")) {
-                    filteredData.setAll(data);
-                } else {
-                    int hotelId = Integer.parseInt(selected.split(" - ")[0]);
-                    filteredData.clear();
-                    for (Room room : data) {
-                        if (room.getHotelId() == hotelId) {
-                            filteredData.add(room);
-                        }
+        comboBox.setOnAction(e -> {
+            String selected = comboBox.getValue();
+            if (selected == null || selected.equals("All Hotels")) {
+                filteredData.setAll(data);
+            } else {
+                int hotelId = Integer.parseInt(selected.split(" - ")[0]);
+                filteredData.clear();
+                for (Room room : data) {
+                    if (room.getHotelId() == hotelId) {
+                        filteredData.add(room);
                     }
                 }
-            });
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+            }
+        });
     }
 
     private void handleAddRoom(TableView<Room> table, ObservableList<Room> data, ObservableList<Room> filteredData) {
@@ -418,23 +637,18 @@ public class Dashboard {
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "INSERT INTO rooms (number, type, available, hotel_id) VALUES (?, ?, ?, ?)";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setInt(1, dialog.getRoomNumber());
-                pstmt.setString(2, dialog.getRoomType());
-                pstmt.setBoolean(3, dialog.isAvailable());
-                pstmt.setInt(4, dialog.getHotelId()); // NEW: Add hotel_id
-                pstmt.executeUpdate();
-
-                Room newRoom = new Room(dialog.getRoomNumber(), dialog.getRoomType(),
-                        dialog.isAvailable(), dialog.getHotelId()); // Updated constructor
+            Room newRoom = new Room(dialog.getRoomNumber(), dialog.getRoomType(),
+                    dialog.isAvailable(), dialog.getHotelId()); // Updated constructor
+            boolean queued = submit(Mutation.insertRoom(newRoom.getNumber(), newRoom.getType(),
+                    newRoom.getAvailable(), newRoom.getHotelId()), null, "Error adding room: ", () -> {
+                        RoomAvailabilityIndex.roomRemoved(newRoom.getNumber());
+                        data.remove(newRoom);
+                        filteredData.remove(newRoom);
+                    });
+            if (queued) {
+                RoomAvailabilityIndex.roomSaved(newRoom.getNumber(), newRoom.getHotelId(), newRoom.getAvailable());
                 data.add(newRoom);
                 filteredData.add(newRoom);
-
-                showSuccess("Room added successfully!");
-            } catch (Exception e) {
-                showError("Error adding room: " + e.getMessage());
             }
         }
     }
@@ -451,25 +665,18 @@ public class Dashboard {
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "UPDATE rooms SET type = ?, available = ?, hotel_id = ? WHERE number = ?";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, dialog.getRoomType());
-                pstmt.setBoolean(2, dialog.isAvailable());
-                pstmt.setInt(3, dialog.getHotelId()); // NEW: Update hotel_id
-                pstmt.setInt(4, selectedRoom.getNumber());
-                pstmt.executeUpdate();
-
-                data.remove(selectedRoom);
-                filteredData.remove(selectedRoom);
-                Room updatedRoom = new Room(selectedRoom.getNumber(), dialog.getRoomType(),
-                        dialog.isAvailable(), dialog.getHotelId()); // Updated constructor
-                data.add(updatedRoom);
-                filteredData.add(updatedRoom);
-
-                showSuccess("Room updated successfully!");
-            } catch (Exception e) {
-                showError("Error updating room: " + e.getMessage());
+            Room updatedRoom = new Room(selectedRoom.getNumber(), dialog.getRoomType(),
+                    dialog.isAvailable(), dialog.getHotelId()); // Updated constructor
+            boolean queued = submit(Mutation.updateRoom(updatedRoom.getNumber(), updatedRoom.getType(),
+                    updatedRoom.getAvailable(), updatedRoom.getHotelId()), null, "Error updating room: ", () -> {
+                        RoomAvailabilityIndex.roomSaved(selectedRoom.getNumber(), selectedRoom.getHotelId(),
+                                selectedRoom.getAvailable());
+                        replaceRow(data, filteredData, updatedRoom, selectedRoom);
+                    });
+            if (queued) {
+                RoomAvailabilityIndex.roomSaved(updatedRoom.getNumber(), updatedRoom.getHotelId(),
+                        updatedRoom.getAvailable());
+                replaceRow(data, filteredData, selectedRoom, updatedRoom);
             }
         }
     }
@@ -488,35 +695,68 @@ public class Dashboard {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try (Connection conn = Database.getConnection()) {
-                    String sql = "DELETE FROM rooms WHERE number = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, selectedRoom.getNumber());
-                    pstmt.executeUpdate();
-
+                int dataIndex = data.indexOf(selectedRoom);
+                int filteredIndex = filteredData.indexOf(selectedRoom);
+                boolean queued = submit(Mutation.deleteRoom(selectedRoom.getNumber()), null,
+                        "Error deleting room: ", () -> {
+                            // The index dropped the room's bookings with it; reload rather than guess them back
+                            RoomAvailabilityIndex.refresh();
+                            restoreRow(data, filteredData, selectedRoom, dataIndex, filteredIndex);
+                        });
+                if (queued) {
+                    RoomAvailabilityIndex.roomRemoved(selectedRoom.getNumber());
                     data.remove(selectedRoom);
                     filteredData.remove(selectedRoom);
-
-                    showSuccess("Room deleted successfully!");
-                } catch (Exception e) {
-                    showError("Error deleting room: " + e.getMessage());
                 }
             }
         });
     }
 
-    private void filterRooms(String searchText, ObservableList<Room> data, ObservableList<Room> filteredData) {
-        filteredData.clear();
+    static Predicate<Room> roomFilter(String searchText) {
         if (searchText == null || searchText.trim().isEmpty()) {
-            filteredData.addAll(data);
-        } else {
-            String lowerSearch = searchText.toLowerCase();
-            for (Room room : data) {
-                if (String.valueOf(room.getNumber()).contains(lowerSearch) ||
-                        room.getType().toLowerCase().contains(lowerSearch)) {
-                    filteredData.add(room);
-                }
-            }
+            return room -> true;
+        }
+        String lowerSearch = searchText.toLowerCase();
+        return room -> String.valueOf(room.getNumber()).contains(lowerSearch) ||
+                room.getType().toLowerCase().contains(lowerSearch);
+    }
+
+    // Hands a desk edit to the write-behind queue. The caller updates its table only when this
+    // returns true; rollback undoes that update if the database later rejects the edit.
+    private boolean submit(Mutation mutation, IntConsumer onCommitted, String failure, Runnable rollback) {
+        try {
+            WriteBehindQueue.submit(mutation, onCommitted, error -> {
+                rollback.run();
+                showError(failure + error.getMessage());
+            });
+            return true;
+        } catch (IOException e) {
+            showError(failure + e.getMessage());
+            return false;
+        }
+    }
+
+    // Swaps a row for another at the same position in both lists
+    private static <T> void replaceRow(ObservableList<T> data, ObservableList<T> filteredData, T current,
+            T replacement) {
+        int i = data.indexOf(current);
+        if (i >= 0) {
+            data.set(i, replacement);
+        }
+        int j = filteredData.indexOf(current);
+        if (j >= 0) {
+            filteredData.set(j, replacement);
+        }
+    }
+
+    // Puts a removed row back where it was
+    private static <T> void restoreRow(ObservableList<T> data, ObservableList<T> filteredData, T row,
+            int dataIndex, int filteredIndex) {
+        if (dataIndex >= 0 && !data.contains(row)) {
+            data.add(Math.min(dataIndex, data.size()), row);
+        }
+        if (filteredIndex >= 0 && !filteredData.contains(row)) {
+            filteredData.add(Math.min(filteredIndex, filteredData.size()), row);
         }
     }
 
@@ -536,29 +776,13 @@ public class Dashboard {
         alert.showAndWait();
     }
 
-    private ObservableList<Room> getRoomsFromDB() {
-        ObservableList<Room> list = FXCollections.observableArrayList();
-        try (Connection conn = Database.getConnection()) {
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT * FROM rooms");
-            while (rs.next()) {
-                list.add(new Room(
-                        rs.getInt("number"),
-                        rs.getString("type"),
-                        rs.getBoolean("available"),
-                        rs.getInt("hotel_id")));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
-
     // =================== Reservations ===================
     private BorderPane createReservationsTab() {
         TableView<Reservation> table = new TableView<>();
-        ObservableList<Reservation> data = getReservationsFromDB();
-        ObservableList<Reservation> filteredData = FXCollections.observableArrayList(data);
+        // Only a window of pages is held here; ReservationPager slides it while scrolling
+        ObservableList<Reservation> data = FXCollections.observableArrayList();
+        ReservationPager pager = new ReservationPager(table, data, loader);
+        pager.setOfflineListener(asOf -> setOffline("reservations", asOf));
 
         TableColumn<Reservation, Integer> colId = new TableColumn<>("ID");
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -586,33 +810,53 @@ public class Dashboard {
         colHotel.setPrefWidth(150);
 
         table.getColumns().addAll(colId, colCustomer, colHotel, colRoom, colCheckIn, colCheckOut);
-        table.setItems(filteredData);
+        // The window is always in check-in order; sorting it by another column would only
+        // reorder the loaded pages and break the paging
+        for (TableColumn<Reservation, ?> column : table.getColumns()) {
+            column.setSortable(false);
+        }
+        table.setItems(data);
         table.setStyle("-fx-font-size: 13px;");
 
         Button addButton = new Button("+ Add Reservation");
         addButton.setStyle(
                 "-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
-        addButton.setOnAction(e -> handleAddReservation(table, data, filteredData));
+        addButton.setOnAction(e -> handleAddReservation(table, addButton));
 
         Button editButton = new Button("Edit Reservation");
         editButton.setStyle(
                 "-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
-        editButton.setOnAction(e -> handleEditReservation(table, data, filteredData));
+        editButton.setOnAction(e -> handleEditReservation(table, editButton));
 
         Button deleteButton = new Button("Delete Reservation");
         deleteButton.setStyle(
                 "-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
-        deleteButton.setOnAction(e -> handleDeleteReservation(table, data, filteredData));
+        deleteButton.setOnAction(e -> handleDeleteReservation(table, data));
+
+        Button importButton = new Button("Import...");
+        importButton.setStyle(
+                "-fx-background-color: #607D8B; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
+        importButton.setOnAction(e -> handleImportReservations(table, importButton));
+
+        Button exportButton = new Button("Export...");
+        exportButton.setStyle(
+                "-fx-background-color: #607D8B; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
+        exportButton.setOnAction(e -> handleExport(Exporter.Dataset.RESERVATIONS, exportButton));
 
         TextField searchField = new TextField();
         searchField.setPromptText("Search by customer or room...");
         searchField.setPrefWidth(250);
         searchField.setStyle("-fx-padding: 10; -fx-font-size: 13px;");
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            filterReservations(newVal, data, filteredData);
-        });
+        SearchPipeline.debounce(searchField, pager::search);
 
-        HBox controls = new HBox(15, addButton, editButton, deleteButton, searchField);
+        ArrivalsBoard board = new ArrivalsBoard(loader, this::markReservationArrived);
+
+        ToggleButton boardToggle = new ToggleButton("Arrivals / Departures");
+        boardToggle.setStyle("-fx-padding: 10 20; -fx-cursor: hand;");
+        boardToggle.setTooltip(new Tooltip("Today's and tomorrow's check-ins and check-outs"));
+
+        HBox controls = new HBox(15, addButton, editButton, deleteButton, importButton, exportButton, searchField,
+                boardToggle);
         controls.setStyle("-fx-padding: 15; -fx-background-color: #f5f5f5;");
 
         BorderPane pane = new BorderPane();
@@ -620,15 +864,22 @@ public class Dashboard {
         pane.setCenter(table);
         pane.setStyle("-fx-background-color: white;");
 
+        boardToggle.setOnAction(e -> {
+            if (boardToggle.isSelected()) {
+                pane.setCenter(board.getNode());
+                board.refresh();
+            } else {
+                pane.setCenter(table);
+            }
+        });
+
         ContextMenu contextMenu = new ContextMenu();
 
         MenuItem viewSummaryItem = new MenuItem("View Summary");
         viewSummaryItem.setOnAction(e -> {
             Reservation selectedReservation = table.getSelectionModel().getSelectedItem();
             if (selectedReservation != null) {
-                Stage stage = (Stage) table.getScene().getWindow();
-                ReservationSummaryDialog dialog = new ReservationSummaryDialog(stage, selectedReservation);
-                dialog.showAndWait();
+                showReservationSummary(table, selectedReservation);
             }
         });
 
@@ -636,9 +887,7 @@ public class Dashboard {
         printItem.setOnAction(e -> {
             Reservation selectedReservation = table.getSelectionModel().getSelectedItem();
             if (selectedReservation != null) {
-                Stage stage = (Stage) table.getScene().getWindow();
-                ReservationSummaryDialog dialog = new ReservationSummaryDialog(stage, selectedReservation);
-                dialog.showAndWait();
+                showReservationSummary(table, selectedReservation);
             }
         });
 
@@ -666,9 +915,35 @@ public class Dashboard {
             return row;
         });
 
+        refreshArrivals = () -> {
+            if (boardToggle.isSelected()) {
+                board.refresh();
+            }
+        };
+        // Bookings from other desks and the move to a new day reach the board through the index
+        RoomAvailabilityIndex.addChangeListener(() -> Platform.runLater(() -> refreshArrivals.run()));
+        refreshReservations = () -> {
+            pager.refresh();
+            syncAvailability();
+            refreshArrivals.run();
+        };
+        refreshReservations.run();
+
         return pane;
     }
 
+    // The summary shows the customer's email and phone, which rows only fetch on demand
+    private void showReservationSummary(TableView<Reservation> table, Reservation reservation) {
+        loader.submit("reservationContact", () -> {
+            reservation.resolveContact();
+            return reservation;
+        }, resolved -> {
+            Stage stage = (Stage) table.getScene().getWindow();
+            ReservationSummaryDialog dialog = new ReservationSummaryDialog(stage, reservation);
+            dialog.showAndWait();
+        }, error -> showError("Error loading customer details: " + error.getMessage()));
+    }
+
     private void markReservationArrived(Reservation reservation) {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Mark as Arrived");
@@ -679,57 +954,117 @@ public class Dashboard {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try (Connection conn = Database.getConnection()) {
-                    // You might want to add an 'arrived' column to reservations table
-                    String sql = "UPDATE reservations SET status = 'ARRIVED' WHERE id = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, reservation.getId());
-                    pstmt.executeUpdate();
-
-                    // Also update room availability
-                    updateRoomsAvailability();
-
-                    showSuccess(reservation.getCustomerName() + " marked as arrived!");
-                     // Refresh the table
-                } catch (Exception e) {
-                    showError("Error updating reservation: " + e.getMessage());
+                // Also update room availability once the arrival is written. Only the arrivals
+                // board shows arrivals, through the index, so that is all a failure rolls back.
+                boolean queued = submit(Mutation.markArrived(reservation.getId()),
+                        key -> updateRoomsAvailabilityLater(reservation.getRoomNumber()),
+                        "Error marking " + reservation.getCustomerName() + " as arrived: ", () -> {
+                            RoomAvailabilityIndex.reservationArrived(reservation.getId(), false);
+                            refreshArrivals.run();
+                        });
+                if (queued) {
+                    RoomAvailabilityIndex.reservationArrived(reservation.getId(), true);
+                    refreshArrivals.run();
                 }
             }
         });
     }
 
-    private void handleAddReservation(TableView<Reservation> table, ObservableList<Reservation> data,
-            ObservableList<Reservation> filteredData) {
+    // Bookings are not queued like other desk edits: the overlap check has to run against the
+    // database under the room lock, and a booking the desk was told succeeded must not later
+    // turn out to clash. They run in the background, and the button stays disabled until
+    // the answer is in, so the desk knows straight away whether the room was taken.
+    private void handleAddReservation(TableView<Reservation> table, Button addButton) {
         Stage stage = (Stage) table.getScene().getWindow();
         ReservationDialog dialog = new ReservationDialog(stage, null);
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "INSERT INTO reservations (customer_id, room_number, check_in, check_out) VALUES (?, ?, ?, ?)";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setInt(1, dialog.getCustomerId());
-                pstmt.setInt(2, dialog.getRoomNumber());
-                pstmt.setString(3, dialog.getCheckIn());
-                pstmt.setString(4, dialog.getCheckOut());
-                pstmt.executeUpdate();
-
-                updateRoomsAvailability();
-                ObservableList<Reservation> newData = getReservationsFromDB();
-                data.clear();
-                data.addAll(newData);
-                filteredData.clear();
-                filteredData.addAll(newData);
+            int customerId = dialog.getCustomerId();
+            int roomNumber = dialog.getRoomNumber();
+            LocalDate checkIn = LocalDate.parse(dialog.getCheckIn());
+            LocalDate checkOut = LocalDate.parse(dialog.getCheckOut());
+            addButton.setDisable(true);
+            // Fails with a ConflictException if another desk took the room since the dialog loaded
+            loader.submit("addReservation", () -> BookingService.book(customerId, roomNumber, checkIn, checkOut),
+                    id -> {
+                        addButton.setDisable(false);
+                        updateRoomsAvailabilityLater(roomNumber);
+                        refreshReservations.run();
+                        showSuccess("Reservation added successfully!");
+                    }, error -> {
+                        addButton.setDisable(false);
+                        showError("Error adding reservation: " + error.getMessage());
+                    });
+        }
+    }
 
-                showSuccess("Reservation added successfully!");
-            } catch (Exception e) {
-                showError("Error adding reservation: " + e.getMessage());
+    // Bulk import from a CSV or JSON allotment file; runs in the background and refreshes the tab once
+    private void handleImportReservations(TableView<Reservation> table, Button importButton) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Reservations");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Reservation files (*.csv, *.json)", "*.csv", "*.json"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = chooser.showOpenDialog(table.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        importButton.setDisable(true);
+        loader.submit("import", () -> new ReservationImporter().importFile(file.toPath()), result -> {
+            importButton.setDisable(false);
+            refreshReservations.run();
+
+            StringBuilder message = new StringBuilder();
+            message.append(result.getImported()).append(" reservations imported");
+            if (result.getRejected() > 0) {
+                message.append(", ").append(result.getRejected()).append(" rejected:\n");
+                for (String error : result.getErrors()) {
+                    message.append(error).append('\n');
+                }
+                if (result.getRejected() > result.getErrors().size()) {
+                    message.append("...");
+                }
             }
+            if (result.getFailure() != null) {
+                showError(message + "\n" + result.getFailure());
+            } else {
+                showSuccess(message.toString());
+            }
+        }, error -> {
+            importButton.setDisable(false);
+            showError("Error importing reservations: " + error.getMessage());
+        });
+    }
+
+    // Streams the whole table from the database, not just the rows loaded into the tab
+    private void handleExport(Exporter.Dataset dataset, Button exportButton) {
+        String name = dataset.name().toLowerCase();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export " + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        chooser.setInitialFileName(name + ".csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("Gzipped CSV (*.csv.gz)", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("Parquet (*.parquet)", "*.parquet"));
+        File file = chooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (file == null) {
+            return;
         }
+
+        exportButton.setDisable(true);
+        loader.submit("export-" + name, () -> Exporter.export(dataset, file.toPath()), rows -> {
+            exportButton.setDisable(false);
+            showSuccess(rows + " " + name + " exported to " + file.getName());
+        }, error -> {
+            exportButton.setDisable(false);
+            showError("Error exporting " + name + ": " + error.getMessage());
+        });
     }
 
-    private void handleEditReservation(TableView<Reservation> table, ObservableList<Reservation> data,
-            ObservableList<Reservation> filteredData) {
+    // In the background like handleAddReservation, for the same reasons
+    private void handleEditReservation(TableView<Reservation> table, Button editButton) {
         Reservation selectedReservation = table.getSelectionModel().getSelectedItem();
         if (selectedReservation == null) {
             showError("Please select a reservation to edit!");
@@ -741,30 +1076,26 @@ public class Dashboard {
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                String sql = "UPDATE reservations SET check_in = ?, check_out = ? WHERE id = ?";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, dialog.getCheckIn());
-                pstmt.setString(2, dialog.getCheckOut());
-                pstmt.setInt(3, selectedReservation.getId());
-                pstmt.executeUpdate();
-
-                updateRoomsAvailability();
-                ObservableList<Reservation> newData = getReservationsFromDB();
-                data.clear();
-                data.addAll(newData);
-                filteredData.clear();
-                filteredData.addAll(newData);
-
+            int roomNumber = selectedReservation.getRoomNumber();
+            LocalDate checkIn = LocalDate.parse(dialog.getCheckIn());
+            LocalDate checkOut = LocalDate.parse(dialog.getCheckOut());
+            editButton.setDisable(true);
+            loader.submit("editReservation", () -> {
+                BookingService.reschedule(selectedReservation.getId(), roomNumber, checkIn, checkOut);
+                return null;
+            }, done -> {
+                editButton.setDisable(false);
+                updateRoomsAvailabilityLater(roomNumber);
+                refreshReservations.run();
                 showSuccess("Reservation updated successfully!");
-            } catch (Exception e) {
-                showError("Error updating reservation: " + e.getMessage());
-            }
+            }, error -> {
+                editButton.setDisable(false);
+                showError("Error updating reservation: " + error.getMessage());
+            });
         }
     }
 
-    private void handleDeleteReservation(TableView<Reservation> table, ObservableList<Reservation> data,
-            ObservableList<Reservation> filteredData) {
+    private void handleDeleteReservation(TableView<Reservation> table, ObservableList<Reservation> data) {
         Reservation selectedReservation = table.getSelectionModel().getSelectedItem();
         if (selectedReservation == null) {
             showError("Please select a reservation to delete!");
@@ -778,88 +1109,47 @@ public class Dashboard {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try (Connection conn = Database.getConnection()) {
-                    String sql = "DELETE FROM reservations WHERE id = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, selectedReservation.getId());
-                    pstmt.executeUpdate();
-
-                    updateRoomsAvailability();
+                int index = data.indexOf(selectedReservation);
+                boolean queued = submit(Mutation.deleteReservation(selectedReservation.getId()),
+                        key -> updateRoomsAvailabilityLater(selectedReservation.getRoomNumber()),
+                        "Error deleting reservation: ", () -> {
+                            RoomAvailabilityIndex.reservationSaved(selectedReservation.getId(),
+                                    selectedReservation.getRoomNumber(), selectedReservation.getCheckInDate(),
+                                    selectedReservation.getCheckOutDate());
+                            if (!data.contains(selectedReservation)) {
+                                data.add(Math.min(index, data.size()), selectedReservation);
+                            }
+                            refreshArrivals.run();
+                        });
+                if (queued) {
+                    RoomAvailabilityIndex.reservationRemoved(selectedReservation.getId());
                     data.remove(selectedReservation);
-                    filteredData.remove(selectedReservation);
-
-                    showSuccess("Reservation deleted successfully!");
-                } catch (Exception e) {
-                    showError("Error deleting reservation: " + e.getMessage());
+                    refreshArrivals.run();
                 }
             }
         });
     }
 
-    private void filterReservations(String searchText, ObservableList<Reservation> data,
-            ObservableList<Reservation> filteredData) {
-        filteredData.clear();
-        if (searchText == null || searchText.trim().isEmpty()) {
-            filteredData.addAll(data);
-        } else {
-            String lowerSearch = searchText.toLowerCase();
-            for (Reservation res : data) {
-                if (res.getCustomerName().toLowerCase().contains(lowerSearch) ||
-                        String.valueOf(res.getRoomNumber()).contains(lowerSearch)) {
-                    filteredData.add(res);
-                }
-            }
-        }
-    }
-
-    private void updateRoomsAvailability() {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "UPDATE rooms SET available = CASE WHEN number NOT IN " +
-                    "(SELECT room_number FROM reservations WHERE CURDATE() BETWEEN check_in AND check_out) " +
-                    "THEN true ELSE false END";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.executeUpdate();
+    // Only the room whose reservation changed is recomputed; date rollovers are
+    // handled by the daily sweep in RoomAvailabilityUpdater
+    private void updateRoomsAvailability(int roomNumber) {
+        try {
+            RoomAvailabilityUpdater.recompute(roomNumber);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    private ObservableList<Reservation> getReservationsFromDB() {
-        ObservableList<Reservation> list = FXCollections.observableArrayList();
-        try (Connection conn = Database.getConnection()) {
-            Statement stmt = conn.createStatement();
-            String sql = "SELECT r.id, c.name AS customerName, c.email AS customerEmail, " +
-                    "c.phone AS customerPhone, r.room_number, r.check_in, r.check_out, " +
-                    "h.name AS hotel_name, rm.type AS room_type " + // ADDED room type
-                    "FROM reservations r " +
-                    "JOIN customers c ON r.customer_id = c.id " +
-                    "JOIN rooms rm ON r.room_number = rm.number " +
-                    "JOIN hotels h ON rm.hotel_id = h.id " +
-                    "ORDER BY r.check_in DESC";
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                list.add(new Reservation(
-                        rs.getInt("id"),
-                        rs.getString("customerName"),
-                        rs.getInt("room_number"),
-                        rs.getString("check_in"),
-                        rs.getString("check_out"),
-                        rs.getString("hotel_name"),
-                        rs.getString("customerEmail"),
-                        rs.getString("customerPhone"),
-                        rs.getString("room_type")));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return list;
+    // For edits committed by the write-behind queue, which report back on the FX thread
+    private void updateRoomsAvailabilityLater(int roomNumber) {
+        AsyncLoader.executor().execute(() -> updateRoomsAvailability(roomNumber));
     }
 
     // =================== Customers ===================
     private BorderPane createCustomersTab() {
         TableView<Customer> table = new TableView<>();
-        ObservableList<Customer> data = getCustomersFromDB();
-        ObservableList<Customer> filteredData = FXCollections.observableArrayList(data);
+        ObservableList<Customer> data = FXCollections.observableArrayList();
+        ObservableList<Customer> filteredData = FXCollections.observableArrayList();
 
         TableColumn<Customer, Integer> colId = new TableColumn<>("ID");
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -903,15 +1193,24 @@ public class Dashboard {
                 "-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
         deleteButton.setOnAction(e -> handleDeleteCustomer(table, data, filteredData));
 
+        Button exportButton = new Button("Export...");
+        exportButton.setStyle(
+                "-fx-background-color: #607D8B; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-cursor: hand;");
+        exportButton.setOnAction(e -> handleExport(Exporter.Dataset.CUSTOMERS, exportButton));
+
+        TrigramIndex<Customer> customerIndex = new TrigramIndex<>("customers", data,
+                customer -> new String[] { customer.getName(), customer.getEmail() });
+
         TextField searchField = new TextField();
         searchField.setPromptText("Search by name or email...");
         searchField.setPrefWidth(250);
         searchField.setStyle("-fx-padding: 10; -fx-font-size: 13px;");
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            filterCustomers(newVal, data, filteredData);
-        });
+        new SearchPipeline<>(searchField, filteredData, text -> {
+            List<Customer> shown = new ArrayList<>(filteredData);
+            return () -> customerIndex.diff(text, shown);
+        }, diff -> diff.applyTo(filteredData));
 
-        HBox controls = new HBox(15, addButton, editButton, deleteButton, searchField);
+        HBox controls = new HBox(15, addButton, editButton, deleteButton, exportButton, searchField);
         controls.setStyle("-fx-padding: 15; -fx-background-color: #f5f5f5;");
 
         BorderPane pane = new BorderPane();
@@ -919,6 +1218,10 @@ public class Dashboard {
         pane.setCenter(table);
         pane.setStyle("-fx-background-color: white;");
 
+        refreshCustomers = () -> syncTable("customers", customerSync, table, data, filteredData,
+                () -> customerFilter(searchField.getText()));
+        refreshCustomers.run();
+
         return pane;
     }
 
@@ -929,34 +1232,19 @@ public class Dashboard {
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                // UPDATED: Added date_of_birth to SQL
-                String sql = "INSERT INTO customers (name, email, phone, address, date_of_birth) VALUES (?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, dialog.getCustomerName());
-                pstmt.setString(2, dialog.getEmail());
-                pstmt.setString(3, dialog.getPhone());
-                pstmt.setString(4, dialog.getAddress());
-
-                // Handle date of birth (can be null)
-                String dob = dialog.getDateOfBirth();
-                if (dob != null && !dob.isEmpty()) {
-                    pstmt.setDate(5, java.sql.Date.valueOf(dob));
-                } else {
-                    pstmt.setNull(5, java.sql.Types.DATE);
-                }
-
-                pstmt.executeUpdate();
-
-                ObservableList<Customer> newData = getCustomersFromDB();
-                data.clear();
-                data.addAll(newData);
-                filteredData.clear();
-                filteredData.addAll(newData);
-
-                showSuccess("Customer added successfully!");
-            } catch (Exception e) {
-                showError("Error adding customer: " + e.getMessage());
+            Mutation insert = Mutation.insertCustomer(dialog.getCustomerName(), dialog.getEmail(), dialog.getPhone(),
+                    dialog.getAddress(), dialog.getDateOfBirth());
+            // Shown under a provisional id until the insert commits
+            Customer newCustomer = customerRow(insert.getProvisionalId(), dialog);
+            boolean queued = submit(insert,
+                    id -> replaceRow(data, filteredData, newCustomer, customerRow(id, dialog)),
+                    "Error adding customer: ", () -> {
+                        data.remove(newCustomer);
+                        filteredData.remove(newCustomer);
+                    });
+            if (queued) {
+                data.add(newCustomer);
+                filteredData.add(newCustomer);
             }
         }
     }
@@ -968,41 +1256,23 @@ public class Dashboard {
             showError("Please select a customer to edit!");
             return;
         }
+        if (selectedCustomer.getId() < 0) {
+            showError("This customer is still being saved. Please try again in a moment.");
+            return;
+        }
 
         Stage stage = (Stage) table.getScene().getWindow();
         CustomerDialog dialog = new CustomerDialog(stage, selectedCustomer.getId());
         dialog.showAndWait();
 
         if (dialog.isConfirmed()) {
-            try (Connection conn = Database.getConnection()) {
-                // UPDATED: Added date_of_birth to SQL
-                String sql = "UPDATE customers SET name = ?, email = ?, phone = ?, address = ?, date_of_birth = ? WHERE id = ?";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, dialog.getCustomerName());
-                pstmt.setString(2, dialog.getEmail());
-                pstmt.setString(3, dialog.getPhone());
-                pstmt.setString(4, dialog.getAddress());
-
-                // Handle date of birth (can be null)
-                String dob = dialog.getDateOfBirth();
-                if (dob != null && !dob.isEmpty()) {
-                    pstmt.setDate(5, java.sql.Date.valueOf(dob));
-                } else {
-                    pstmt.setNull(5, java.sql.Types.DATE);
-                }
-
-                pstmt.setInt(6, selectedCustomer.getId());
-                pstmt.executeUpdate();
-
-                ObservableList<Customer> newData = getCustomersFromDB();
-                data.clear();
-                data.addAll(newData);
-                filteredData.clear();
-                filteredData.addAll(newData);
-
-                showSuccess("Customer updated successfully!");
-            } catch (Exception e) {
-                showError("Error updating customer: " + e.getMessage());
+            Customer updatedCustomer = customerRow(selectedCustomer.getId(), dialog);
+            boolean queued = submit(Mutation.updateCustomer(selectedCustomer.getId(), dialog.getCustomerName(),
+                    dialog.getEmail(), dialog.getPhone(), dialog.getAddress(), dialog.getDateOfBirth()), null,
+                    "Error updating customer: ",
+                    () -> replaceRow(data, filteredData, updatedCustomer, selectedCustomer));
+            if (queued) {
+                replaceRow(data, filteredData, selectedCustomer, updatedCustomer);
             }
         }
     }
@@ -1014,6 +1284,10 @@ public class Dashboard {
             showError("Please select a customer to delete!");
             return;
         }
+        if (selectedCustomer.getId() < 0) {
+            showError("This customer is still being saved. Please try again in a moment.");
+            return;
+        }
 
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Deletion");
@@ -1022,57 +1296,32 @@ public class Dashboard {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try (Connection conn = Database.getConnection()) {
-                    String sql = "DELETE FROM customers WHERE id = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, selectedCustomer.getId());
-                    pstmt.executeUpdate();
-
+                int dataIndex = data.indexOf(selectedCustomer);
+                int filteredIndex = filteredData.indexOf(selectedCustomer);
+                boolean queued = submit(Mutation.deleteCustomer(selectedCustomer.getId()), null,
+                        "Error deleting customer: ",
+                        () -> restoreRow(data, filteredData, selectedCustomer, dataIndex, filteredIndex));
+                if (queued) {
                     data.remove(selectedCustomer);
                     filteredData.remove(selectedCustomer);
-
-                    showSuccess("Customer deleted successfully!");
-                } catch (Exception e) {
-                    showError("Error deleting customer: " + e.getMessage());
                 }
             }
         });
     }
 
-    private void filterCustomers(String searchText, ObservableList<Customer> data,
-            ObservableList<Customer> filteredData) {
-        filteredData.clear();
-        if (searchText == null || searchText.trim().isEmpty()) {
-            filteredData.addAll(data);
-        } else {
-            String lowerSearch = searchText.toLowerCase();
-            for (Customer customer : data) {
-                if (customer.getName().toLowerCase().contains(lowerSearch) ||
-                        customer.getEmail().toLowerCase().contains(lowerSearch)) {
-                    filteredData.add(customer);
-                }
-            }
-        }
+    private static Customer customerRow(int id, CustomerDialog dialog) {
+        String dateOfBirth = dialog.getDateOfBirth();
+        return new Customer(id, dialog.getCustomerName(), dialog.getEmail(), dialog.getPhone(), dialog.getAddress(),
+                dateOfBirth == null ? null : java.sql.Date.valueOf(dateOfBirth));
     }
 
-    private ObservableList<Customer> getCustomersFromDB() {
-        ObservableList<Customer> list = FXCollections.observableArrayList();
-        try (Connection conn = Database.getConnection()) {
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT * FROM customers");
-            while (rs.next()) {
-                list.add(new Customer(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("phone"), // ADDED
-                        rs.getDate("date_of_birth") // ADDED
-                ));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    static Predicate<Customer> customerFilter(String searchText) {
+        if (searchText == null || searchText.trim().isEmpty()) {
+            return customer -> true;
         }
-        return list;
+        String lowerSearch = searchText.toLowerCase();
+        return customer -> customer.getName().toLowerCase().contains(lowerSearch) ||
+                customer.getEmail().toLowerCase().contains(lowerSearch);
     }
 
     // =================== Nested Model Classes ===================
@@ -1126,6 +1375,11 @@ public class Dashboard {
             this.hotelId = hotelId;
         }
 
+        public Room(int number, String type, boolean available, int hotelId, String hotelName) {
+            this(number, type, available, hotelId);
+            this.hotelName = hotelName;
+        }
+
         public int getNumber() {
             return number;
         }
@@ -1141,41 +1395,50 @@ public class Dashboard {
         public int getHotelId() {
             return hotelId;
         } // NEW: Getter
+
+        public String getHotelName() {
+            return hotelName;
+        }
     }
 
+    // One row of the Reservations tab, kept small because the pager can hold thousands:
+    // dates are epoch days, hotel name and room type are codes into shared StringTables,
+    // and of the customer only the id and name are loaded; email and phone are fetched by
+    // resolveContact() when a dialog needs them.
     public static class Reservation {
-        private int id;
-        private String customerName;
-        private int roomNumber;
-        private String checkIn;
-        private String checkOut;
-        private String hotelName;
-        private String customerEmail; // ADDED
-        private String customerPhone; // ADDED
-        private String roomType; // ADDED
-        private double roomPrice; // ADDED (optional)
-
-        // UPDATED Constructor
-        public Reservation(int id, String customerName, int roomNumber,
-                String checkIn, String checkOut, String hotelName,
-                String customerEmail, String customerPhone, String roomType) {
+        public static final StringTable HOTEL_NAMES = new StringTable();
+        public static final StringTable ROOM_TYPES = new StringTable();
+
+        private final int id;
+        private final int roomNumber;
+        private final int checkInDay;
+        private final int checkOutDay;
+        private final int hotelCode;
+        private final int roomTypeCode;
+        private final int customerId;
+        private final String customerName;
+        private volatile Contact contact;
+
+        public Reservation(int id, int customerId, String customerName, int roomNumber, LocalDate checkIn,
+                LocalDate checkOut, String hotelName, String roomType) {
             this.id = id;
+            this.customerId = customerId;
             this.customerName = customerName;
             this.roomNumber = roomNumber;
-            this.checkIn = checkIn;
-            this.checkOut = checkOut;
-            this.hotelName = hotelName;
-            this.customerEmail = customerEmail;
-            this.customerPhone = customerPhone;
-            this.roomType = roomType;
-            this.roomPrice = 0.0; // Default or calculate based on room type
+            this.checkInDay = (int) checkIn.toEpochDay();
+            this.checkOutDay = (int) checkOut.toEpochDay();
+            this.hotelCode = HOTEL_NAMES.code(hotelName);
+            this.roomTypeCode = ROOM_TYPES.code(roomType);
         }
-        // REQUIRED GETTERS ----------------------------------------
 
         public int getId() {
             return id;
         }
 
+        public int getCustomerId() {
+            return customerId;
+        }
+
         public String getCustomerName() {
             return customerName;
         }
@@ -1184,32 +1447,73 @@ public class Dashboard {
             return roomNumber;
         }
 
+        public int getCheckInDay() {
+            return checkInDay;
+        }
+
+        public int getCheckOutDay() {
+            return checkOutDay;
+        }
+
+        public LocalDate getCheckInDate() {
+            return LocalDate.ofEpochDay(checkInDay);
+        }
+
+        public LocalDate getCheckOutDate() {
+            return LocalDate.ofEpochDay(checkOutDay);
+        }
+
+        // ISO dates, built on each call; the table only asks for the visible rows
         public String getCheckIn() {
-            return checkIn;
+            return getCheckInDate().toString();
         }
 
         public String getCheckOut() {
-            return checkOut;
+            return getCheckOutDate().toString();
+        }
+
+        public int getHotelCode() {
+            return hotelCode;
+        }
+
+        public int getRoomTypeCode() {
+            return roomTypeCode;
         }
 
         public String getHotelName() {
-            return hotelName;
+            return HOTEL_NAMES.value(hotelCode);
+        }
+
+        public String getRoomType() {
+            return ROOM_TYPES.value(roomTypeCode);
+        }
+
+        // Reads the customer's current email and phone; call off the FX thread
+        public void resolveContact() throws SQLException {
+            Customer customer = CustomerRepository.findById(customerId);
+            contact = customer == null ? new Contact(null, null)
+                    : new Contact(customer.getEmail(), customer.getPhone());
         }
 
+        // Null until resolveContact() has run
         public String getCustomerEmail() {
-            return customerEmail;
+            Contact current = contact;
+            return current == null ? null : current.email;
         }
 
         public String getCustomerPhone() {
-            return customerPhone;
+            Contact current = contact;
+            return current == null ? null : current.phone;
         }
 
-        public String getRoomType() {
-            return roomType;
-        }
+        private static final class Contact {
+            private final String email;
+            private final String phone;
 
-        public double getRoomPrice() {
-            return roomPrice;
+            Contact(String email, String phone) {
+                this.email = email;
+                this.phone = phone;
+            }
         }
     }
 
@@ -1218,13 +1522,16 @@ public class Dashboard {
         private String name;
         private String email;
         private String phone; // ADDED
+        private String address;
         private String dateOfBirth; // ADDED
 
-        public Customer(int id, String name, String email, String phone, java.sql.Date dateOfBirth) {
+        public Customer(int id, String name, String email, String phone, String address,
+                java.sql.Date dateOfBirth) {
             this.id = id;
             this.name = name;
             this.email = email;
             this.phone = phone != null ? phone : "";
+            this.address = address != null ? address : "";
 
             // Format date for display
             if (dateOfBirth != null) {
@@ -1251,6 +1558,10 @@ public class Dashboard {
             return phone;
         }
 
+        public String getAddress() {
+            return address;
+        }
+
         // ADDED: Date of birth getter
         public String getDateOfBirth() {
             return dateOfBirth;
@@ -1,16 +1,43 @@
 package com.hotelmanagement;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class Database {
-    private static final String URL = "jdbc:mysql://localhost:3306/hotel_management";
-    private static final String USER = "root";
-    private static final String PASSWORD = ""; 
+    // Server-side prepares, so the statements cached per pooled connection skip parsing on reuse;
+    // cursor fetch makes the driver honour setFetchSize instead of buffering whole result sets;
+    // rewritten batches send an import's INSERT batch as multi-row statements.
+    // -Dhotel.db.url/user/password point the app (or the benchmarks) at another database.
+    private static final String URL = System.getProperty("hotel.db.url",
+            "jdbc:mysql://localhost:3306/hotel_management?useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true");
+    private static final String USER = System.getProperty("hotel.db.user", "root");
+    private static final String PASSWORD = System.getProperty("hotel.db.password", "");
 
-    // Method to get a connection
+    // Pool settings
+    private static final int MAX_POOL_SIZE = 10;
+    private static final int MIN_IDLE = 2;
+    private static final long BORROW_TIMEOUT_MILLIS = 5_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long MAX_LIFETIME_MILLIS = 30 * 60_000;
+
+    private static final ConnectionPool POOL = new ConnectionPool(URL, USER, PASSWORD,
+            MAX_POOL_SIZE, MIN_IDLE, BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, MAX_LIFETIME_MILLIS);
+
+    // Method to get a connection (closing it hands it back to the pool)
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return POOL.getConnection();
+    }
+
+    // Identifies the database, e.g. so snapshots saved against another one are not shown
+    public static String getUrl() {
+        return URL;
+    }
+
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return POOL.getStats();
+    }
+
+    public static void shutdown() {
+        POOL.shutdown();
     }
 }
@@ -0,0 +1,55 @@
+package com.hotelmanagement;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Headless export for scheduled jobs, e.g.
+//   java -Dhotel.db.url=... -cp <app classes>:<mysql driver> com.hotelmanagement.ExportTool reservations reservations.parquet
+// The format follows the file name (.csv, .csv.gz or .parquet); a third argument of
+// gzip=true or gzip=false overrides the compression.
+public final class ExportTool {
+
+    private ExportTool() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            usage();
+            return;
+        }
+        Exporter.Dataset dataset;
+        try {
+            dataset = Exporter.Dataset.valueOf(args[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            usage();
+            return;
+        }
+        Path file = Paths.get(args[1]);
+        boolean gzip = Exporter.gzipOf(file);
+        if (args.length == 3) {
+            if (!args[2].startsWith("gzip=")) {
+                usage();
+                return;
+            }
+            gzip = Boolean.parseBoolean(args[2].substring("gzip=".length()));
+        }
+
+        long started = System.nanoTime();
+        try {
+            long rows = Exporter.export(dataset, file, Exporter.formatOf(file), gzip);
+            System.out.printf("Exported %d %s to %s in %.1f s%n", rows, args[0].toLowerCase(Locale.ROOT),
+                    file.toAbsolutePath(), (System.nanoTime() - started) / 1e9);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            Database.shutdown();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: ExportTool <reservations|customers> <file.csv|file.csv.gz|file.parquet> [gzip=true|false]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,215 @@
+package com.hotelmanagement;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.zip.GZIPOutputStream;
+
+// Writes a whole table to a file without ever holding its rows: the export query runs on a
+// forward-only cursor with a modest fetch size and each row goes straight into a buffered
+// file stream, so memory stays flat for any number of rows. Used by the Export buttons on
+// the Reservations and Customers tabs and by ExportTool on the command line.
+public final class Exporter {
+
+    public enum Dataset { RESERVATIONS, CUSTOMERS }
+
+    public enum Format { CSV, PARQUET }
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Small enough to keep a Parquet export's footprint modest, large enough to compress well
+    private static final int ROW_GROUP_BYTES = 8 << 20;
+
+    private Exporter() {
+    }
+
+    // Parquet for .parquet, otherwise CSV
+    public static Format formatOf(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".parquet") ? Format.PARQUET : Format.CSV;
+    }
+
+    // CSV is gzipped when the name ends in .gz; Parquet column chunks are always worth compressing
+    public static boolean gzipOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".gz") || name.endsWith(".parquet");
+    }
+
+    public static long export(Dataset dataset, Path file) throws SQLException, IOException {
+        return export(dataset, file, formatOf(file), gzipOf(file));
+    }
+
+    // Returns the number of rows written. The file is written under a temporary name and
+    // moved into place at the end, so a failed export never leaves a truncated file behind.
+    public static long export(Dataset dataset, Path file, Format format, boolean gzip)
+            throws SQLException, IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                Repository.ResultSetReader<Long> reader = format == Format.PARQUET
+                        ? rs -> writeParquet(rs, out, gzip)
+                        : rs -> writeCsv(rs, out, gzip);
+                rows = dataset == Dataset.RESERVATIONS
+                        ? ReservationRepository.streamForExport(FETCH_SIZE, reader)
+                        : CustomerRepository.streamForExport(FETCH_SIZE, reader);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+            return rows;
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private static long writeCsv(ResultSet rs, OutputStream out, boolean gzip) throws SQLException, IOException {
+        GZIPOutputStream zip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zip != null ? zip : out, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writeCsvField(writer, meta.getColumnLabel(i));
+        }
+        writer.write("\r\n");
+
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                String value = rs.getString(i);
+                if (value != null) {
+                    writeCsvField(writer, value);
+                }
+            }
+            writer.write("\r\n");
+            rows++;
+        }
+        writer.flush();
+        if (zip != null) {
+            zip.finish();
+        }
+        return rows;
+    }
+
+    // Quoted only when needed, with embedded quotes doubled
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static long writeParquet(ResultSet rs, OutputStream out, boolean gzip) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] names = new String[columns];
+        ParquetWriter.ColumnType[] types = new ParquetWriter.ColumnType[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = meta.getColumnLabel(i + 1);
+            types[i] = columnType(meta.getColumnType(i + 1));
+        }
+
+        long rows = 0;
+        ParquetWriter writer = new ParquetWriter(out, names, types, gzip, ROW_GROUP_BYTES);
+        while (rs.next()) {
+            for (int i = 0; i < columns; i++) {
+                int column = i + 1;
+                switch (types[i]) {
+                    case INT32: {
+                        int value = rs.getInt(column);
+                        if (rs.wasNull()) {
+                            writer.setNull(i);
+                        } else {
+                            writer.setInt(i, value);
+                        }
+                        break;
+                    }
+                    case INT64: {
+                        long value = rs.getLong(column);
+                        if (rs.wasNull()) {
+                            writer.setNull(i);
+                        } else {
+                            writer.setLong(i, value);
+                        }
+                        break;
+                    }
+                    case DOUBLE: {
+                        double value = rs.getDouble(column);
+                        if (rs.wasNull()) {
+                            writer.setNull(i);
+                        } else {
+                            writer.setDouble(i, value);
+                        }
+                        break;
+                    }
+                    case DATE: {
+                        Date value = rs.getDate(column);
+                        if (value == null) {
+                            writer.setNull(i);
+                        } else {
+                            writer.setDate(i, (int) value.toLocalDate().toEpochDay());
+                        }
+                        break;
+                    }
+                    default: {
+                        String value = rs.getString(column);
+                        if (value == null) {
+                            writer.setNull(i);
+                        } else {
+                            writer.setString(i, value);
+                        }
+                    }
+                }
+            }
+            writer.endRow();
+            rows++;
+        }
+        writer.close();
+        return rows;
+    }
+
+    private static ParquetWriter.ColumnType columnType(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return ParquetWriter.ColumnType.INT32;
+            case Types.BIGINT:
+                return ParquetWriter.ColumnType.INT64;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return ParquetWriter.ColumnType.DOUBLE;
+            case Types.DATE:
+                return ParquetWriter.ColumnType.DATE;
+            default:
+                return ParquetWriter.ColumnType.STRING;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.hotelmanagement;
+
+import javafx.scene.Node;
+import javafx.scene.control.TableView;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// JDK Flight Recorder events for the desk app. They cost next to nothing unless a recording
+// has them enabled, e.g.
+//   java -XX:StartFlightRecording=filename=desk.jfr,settings=profile ... com.hotelmanagement.Main
+// and show up in JDK Mission Control under "Hotel Management". The originating handler
+// (first application frame outside the data layer) is only worked out for events that
+// are actually committed.
+public final class FlightEvents {
+
+    private static final String CATEGORY = "Hotel Management";
+    // Never a handler
+    private static final Set<String> RECORDING = Set.of("FlightEvents", "FxWatchdog", "ConnectionPool");
+    // Services between a handler and the database; only named when nothing called them from the UI
+    private static final Set<String> PLUMBING = Set.of(
+            "Database", "Repository", "NamedQuery", "Metrics", "AsyncLoader", "Schema", "ReferenceData",
+            "TableSync", "ReservationPager", "HotelRepository", "RoomRepository", "ReservationRepository",
+            "CustomerRepository", "BookingService", "RoomAvailabilityIndex", "RoomAvailabilityUpdater");
+    private static final String PACKAGE = FlightEvents.class.getPackageName() + ".";
+
+    private static volatile Thread fxThread;
+
+    private FlightEvents() {
+    }
+
+    @Name("com.hotelmanagement.FxThreadJdbc")
+    @Label("FX Thread Blocked on JDBC")
+    @Description("A connection borrow or statement run on the JavaFX Application Thread, until its rows were read")
+    @Category({ CATEGORY, "UI" })
+    @Threshold("0 ms")
+    static class FxThreadJdbc extends Event {
+        @Label("Query")
+        String query;
+        @Label("Rows")
+        long rows;
+        @Label("Handler")
+        String handler;
+    }
+
+    @Name("com.hotelmanagement.TabBuild")
+    @Label("Tab Build")
+    @Category({ CATEGORY, "UI" })
+    static class TabBuild extends Event {
+        @Label("Tab")
+        String tab;
+        @Label("Rows Shown")
+        long rows;
+        @Label("Handler")
+        String handler;
+    }
+
+    @Name("com.hotelmanagement.FilterPass")
+    @Label("Filter Pass")
+    @Description("One search-as-you-type pass over a table's trigram index")
+    @Category({ CATEGORY, "Search" })
+    static class FilterPass extends Event {
+        @Label("Table")
+        String table;
+        @Label("Query Length")
+        int queryLength;
+        @Label("Rows Scanned")
+        long scanned;
+        @Label("Rows Matched")
+        long matched;
+        @Label("Handler")
+        String handler;
+    }
+
+    @Name("com.hotelmanagement.AvailabilityRecompute")
+    @Label("Availability Recompute")
+    @Category({ CATEGORY, "Database" })
+    static class AvailabilityRecompute extends Event {
+        @Label("Rooms")
+        int rooms;
+        @Label("Rows Changed")
+        int changed;
+        @Label("Handler")
+        String handler;
+    }
+
+    @Name("com.hotelmanagement.FxStall")
+    @Label("FX Thread Stall")
+    @Description("The JavaFX Application Thread did not run a pulse heartbeat within the watchdog threshold")
+    @Category({ CATEGORY, "UI" })
+    static class FxStall extends Event {
+        @Label("Threshold")
+        @Timespan(Timespan.MILLISECONDS)
+        long threshold;
+        @Label("Blocked At")
+        @Description("The Application Thread's stack when the stall passed the threshold")
+        String blockedAt;
+        @Label("Handler")
+        String handler;
+    }
+
+    // Called once on the Application Thread, before anything can block it
+    public static void markFxThread() {
+        fxThread = Thread.currentThread();
+    }
+
+    static Thread fxThread() {
+        return fxThread;
+    }
+
+    static boolean onFxThread() {
+        return Thread.currentThread() == fxThread;
+    }
+
+    // Null when not on the FX thread or when no recording wants the event, so callers skip all work
+    static FxThreadJdbc beginFxThreadJdbc(String query) {
+        if (!onFxThread()) {
+            return null;
+        }
+        FxThreadJdbc event = new FxThreadJdbc();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.query = query;
+        event.begin();
+        return event;
+    }
+
+    static void endFxThreadJdbc(FxThreadJdbc event, long rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.handler = handler(null);
+            event.commit();
+        }
+    }
+
+    // Builds a tab's content, timed as a TabBuild event
+    public static Node buildTab(String tab, String handler, Supplier<Node> build) {
+        TabBuild event = new TabBuild();
+        event.begin();
+        Node content = build.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.tab = tab;
+            event.handler = handler;
+            Node table = content.lookup(".table-view");
+            event.rows = table instanceof TableView ? ((TableView<?>) table).getItems().size() : 0;
+            event.commit();
+        }
+        return content;
+    }
+
+    static FilterPass beginFilterPass() {
+        FilterPass event = new FilterPass();
+        event.begin();
+        return event;
+    }
+
+    static void endFilterPass(FilterPass event, String table, String query, long scanned, long matched) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.queryLength = query == null ? 0 : query.length();
+            event.scanned = scanned;
+            event.matched = matched;
+            event.handler = "SearchPipeline(" + table + ")";
+            event.commit();
+        }
+    }
+
+    static AvailabilityRecompute beginAvailabilityRecompute() {
+        AvailabilityRecompute event = new AvailabilityRecompute();
+        event.begin();
+        return event;
+    }
+
+    static void endAvailabilityRecompute(AvailabilityRecompute event, int rooms, int changed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.rooms = rooms;
+            event.changed = changed;
+            event.handler = handler("RoomAvailabilityUpdater.recompute");
+            event.commit();
+        }
+    }
+
+    // The application method this thread is working for, as Class.method: the first frame
+    // outside the data layer, or failing that (a background job) the innermost service frame
+    // other than the emitting method. Lambdas are reported under the method that created them.
+    static String handler(String emitter) {
+        return StackWalker.getInstance().walk(frames -> {
+            String fallback = null;
+            for (Iterator<StackWalker.StackFrame> it = frames.iterator(); it.hasNext(); ) {
+                StackWalker.StackFrame frame = it.next();
+                String name = frameName(frame.getClassName(), frame.getMethodName());
+                if (name == null || name.equals(emitter)) {
+                    continue;
+                }
+                if (!PLUMBING.contains(name.substring(0, name.indexOf('.')))) {
+                    return name;
+                }
+                if (fallback == null) {
+                    fallback = name;
+                }
+            }
+            return fallback != null ? fallback : "unknown";
+        });
+    }
+
+    static String handlerOf(StackTraceElement[] stack) {
+        String fallback = null;
+        for (StackTraceElement frame : stack) {
+            String name = frameName(frame.getClassName(), frame.getMethodName());
+            if (name == null) {
+                continue;
+            }
+            if (!PLUMBING.contains(name.substring(0, name.indexOf('.')))) {
+                return name;
+            }
+            if (fallback == null) {
+                fallback = name;
+            }
+        }
+        return fallback != null ? fallback : "unknown";
+    }
+
+    // Null for frames outside the application or inside the recording code
+    private static String frameName(String className, String method) {
+        if (!className.startsWith(PACKAGE)) {
+            return null;
+        }
+        String simple = className.substring(PACKAGE.length());
+        int nested = simple.indexOf('$');
+        if (nested >= 0) {
+            simple = simple.substring(0, nested);
+        }
+        if (RECORDING.contains(simple)) {
+            return null;
+        }
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = method.substring("lambda$".length(), end < 0 ? method.length() : end);
+        }
+        return simple + "." + method;
+    }
+}
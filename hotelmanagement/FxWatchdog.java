@@ -0,0 +1,97 @@
+package com.hotelmanagement;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Notices when the JavaFX Application Thread stops running pulses. A heartbeat is posted
+// with Platform.runLater and timed until the FX thread gets to it; if that takes longer
+// than hotel.fx.stallMillis (default 100) an FxStall event is committed, with the FX
+// thread's stack as it was once the threshold had passed. Heartbeats are only posted
+// while a recording has the event enabled, so outside a recording the watchdog is idle.
+public final class FxWatchdog {
+
+    private static final long STALL_MILLIS = Math.max(10, Long.getLong("hotel.fx.stallMillis", 100));
+    private static final int STACK_DEPTH = 24;
+
+    private static ScheduledExecutorService scheduler;
+
+    // Set by the watchdog thread before a heartbeat is posted; runLater publishes it to the FX thread
+    private static long postedAt;
+    private static volatile boolean pending = false;
+    // The FX thread's stack, sampled by the watchdog thread while a heartbeat is overdue
+    private static volatile String blockedAt;
+    private static volatile String blockedHandler;
+
+    private FxWatchdog() {
+    }
+
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fx-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(5, STALL_MILLIS / 2);
+        scheduler.scheduleWithFixedDelay(FxWatchdog::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static void tick() {
+        if (pending) {
+            if (blockedAt == null && System.nanoTime() - postedAt > TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS)) {
+                sample();
+            }
+            return;
+        }
+        FlightEvents.FxStall next = new FlightEvents.FxStall();
+        if (!next.isEnabled()) {
+            return;
+        }
+        next.threshold = STALL_MILLIS;
+        blockedAt = null;
+        blockedHandler = null;
+        postedAt = System.nanoTime();
+        pending = true;
+        next.begin();
+        Platform.runLater(() -> heartbeat(next));
+    }
+
+    // Runs on the FX thread, so the event is attributed to it
+    private static void heartbeat(FlightEvents.FxStall event) {
+        event.end();
+        long waited = System.nanoTime() - postedAt;
+        pending = false;
+        if (waited >= TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS) && event.shouldCommit()) {
+            String stack = blockedAt;
+            event.blockedAt = stack != null ? stack : "";
+            event.handler = stack != null ? blockedHandler : "unknown";
+            event.commit();
+        }
+    }
+
+    private static void sample() {
+        Thread fx = FlightEvents.fxThread();
+        if (fx == null) {
+            return;
+        }
+        StackTraceElement[] stack = fx.getStackTrace();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, stack.length); i++) {
+            sb.append(stack[i]).append('\n');
+        }
+        blockedHandler = FlightEvents.handlerOf(stack);
+        blockedAt = sb.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Hotel;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+public class HotelRepository extends Repository {
+
+    private static final NamedQuery INSERT = new NamedQuery("hotels.insert",
+            "INSERT INTO hotels (name, description, address, rating) VALUES (?, ?, ?, ?)");
+    private static final NamedQuery UPDATE = new NamedQuery("hotels.update",
+            "UPDATE hotels SET name = ?, description = ?, address = ?, rating = ? WHERE id = ?");
+    private static final NamedQuery DELETE = new NamedQuery("hotels.delete",
+            "DELETE FROM hotels WHERE id = ?");
+    private static final NamedQuery FIND_BY_ID = new NamedQuery("hotels.byId",
+            "SELECT * FROM hotels WHERE id = ?");
+    private static final NamedQuery NAMES = new NamedQuery("hotels.names",
+            "SELECT id, name FROM hotels ORDER BY name");
+
+    static final SnapshotCache.Codec<Hotel> SNAPSHOT_CODEC = new SnapshotCache.Codec<>() {
+        @Override
+        public void write(SnapshotCache.Writer out, Hotel hotel) throws IOException {
+            out.writeInt(hotel.getId());
+            out.writeString(hotel.getName());
+            out.writeString(hotel.getDescription());
+            out.writeString(hotel.getAddress());
+            out.writeDouble(hotel.getRating());
+        }
+
+        @Override
+        public Hotel read(SnapshotCache.Reader in) {
+            return new Hotel(in.readInt(), in.readString(), in.readString(), in.readString(), in.readDouble());
+        }
+    };
+
+    private HotelRepository() {
+    }
+
+    public static TableSync<Hotel> newChangeTracker() {
+        return new TableSync<>("hotels", "id",
+                "SELECT h.*, h.updated_at AS changed_at FROM hotels h",
+                "h.updated_at >= ?", "ORDER BY h.id", HotelRepository::map, Hotel::getId, SNAPSHOT_CODEC);
+    }
+
+    // Writes run on the caller's connection and transaction; desk edits go through WriteBehindQueue
+
+    public static int insert(Connection conn, String name, String description, String address, double rating)
+            throws SQLException {
+        return insert(conn, INSERT, pstmt -> {
+            pstmt.setString(1, name);
+            pstmt.setString(2, description);
+            pstmt.setString(3, address);
+            pstmt.setDouble(4, rating);
+        });
+    }
+
+    // False when there is no such hotel
+    public static boolean update(Connection conn, int id, String name, String description, String address,
+            double rating) throws SQLException {
+        return update(conn, UPDATE, pstmt -> {
+            pstmt.setString(1, name);
+            pstmt.setString(2, description);
+            pstmt.setString(3, address);
+            pstmt.setDouble(4, rating);
+            pstmt.setInt(5, id);
+        }) > 0;
+    }
+
+    public static void delete(Connection conn, int id) throws SQLException {
+        update(conn, DELETE, pstmt -> pstmt.setInt(1, id));
+    }
+
+    public static Hotel findById(int id) throws SQLException {
+        return queryFirst(FIND_BY_ID, pstmt -> pstmt.setInt(1, id), HotelRepository::map);
+    }
+
+    // Hotel id -> name, ordered by name
+    public static Map<Integer, String> findNames() throws SQLException {
+        return queryIdNames(NAMES, NO_PARAMS);
+    }
+
+    static Hotel map(ResultSet rs) throws SQLException {
+        return new Hotel(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("address"),
+                rs.getDouble("rating"));
+    }
+}
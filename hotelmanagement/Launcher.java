@@ -0,0 +1,21 @@
+package com.hotelmanagement;
+
+// Main class of the packaged jar. The java launcher refuses to start a main class that
+// extends Application when JavaFX is on the class path rather than the module path, and the
+// class-data-sharing archive needs the class path, so the jar starts here instead of Main.
+// -Dhotel.startup.training=true runs StartupTraining instead, so the appcds profile trains
+// the archive with the same -jar command a desk starts the app with.
+//   java -XX:SharedArchiveFile=hotelmanagement.jsa -jar hotelmanagement-1.0-SNAPSHOT.jar
+public final class Launcher {
+
+    private Launcher() {
+    }
+
+    public static void main(String[] args) {
+        if (Boolean.getBoolean("hotel.startup.training")) {
+            StartupTraining.main(args);
+        } else {
+            Main.main(args);
+        }
+    }
+}
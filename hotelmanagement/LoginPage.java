@@ -48,5 +48,6 @@ public class LoginPage {
         Scene scene = new Scene(grid, 300, 200);
         stage.setScene(scene);
         stage.show();
+        StartupTimer.firstFrame(scene, "login");
     }
 }
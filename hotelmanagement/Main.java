@@ -7,10 +7,22 @@ public class Main extends Application {
 
     @Override
     public void start(Stage stage) {
+        FlightEvents.markFxThread();
+        Metrics.start();
+        FxWatchdog.start();
         LoginPage loginPage = new LoginPage();
         loginPage.start(stage);
     }
 
+    @Override
+    public void stop() {
+        RoomAvailabilityUpdater.stopDailySweep();
+        WriteBehindQueue.stop();
+        FxWatchdog.stop();
+        Metrics.stop();
+        Database.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,350 @@
+package com.hotelmanagement;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Where the time goes, per query. The connection pool reports every borrow and every
+// statement execution here: statements built from a NamedQuery are filed under its name,
+// ad-hoc SQL under the label the calling code set with label(), anything else under "adhoc".
+// AsyncLoader adds the end-to-end time of each background load as "load.<key>".
+// Every name is published as an MXBean (com.hotelmanagement:type=Query,name=...) and, once
+// start() has run, the busiest names are logged every hotel.metrics.logSeconds (default 60, 0 = off).
+public final class Metrics {
+
+    private static final Logger LOG = Logger.getLogger(Metrics.class.getName());
+
+    private static final String DOMAIN = "com.hotelmanagement";
+    private static final String UNLABELLED = "adhoc";
+    private static final int REPORTED_NAMES = 15;
+    private static final long LOG_SECONDS = Long.getLong("hotel.metrics.logSeconds", 60);
+
+    private static final Map<String, String> NAMES_BY_SQL = new ConcurrentHashMap<>();
+    private static final Map<String, QueryStats> STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> LABEL = new ThreadLocal<>();
+
+    private static ScheduledExecutorService reporter;
+    private static long lastReportedCount = 0;
+
+    private Metrics() {
+    }
+
+    // Database work run under a label()
+    public interface LabelledWork<T> {
+        T run() throws SQLException;
+    }
+
+    static void register(NamedQuery query) {
+        NAMES_BY_SQL.putIfAbsent(query.getSql(), query.getName());
+    }
+
+    // Stats a statement with this SQL is recorded in
+    static QueryStats forSql(String sql) {
+        String name = sql == null ? null : NAMES_BY_SQL.get(sql);
+        if (name == null) {
+            name = LABEL.get();
+        }
+        return get(name != null ? name : UNLABELLED);
+    }
+
+    public static QueryStats get(String name) {
+        QueryStats stats = STATS.get(name);
+        return stats != null ? stats : STATS.computeIfAbsent(name, QueryStats::new);
+    }
+
+    // Files the ad-hoc SQL work runs on this thread under name, then restores the previous label, e.g.
+    //   return Metrics.label("rooms.available", () -> { ... });
+    public static <T> T label(String name, LabelledWork<T> work) throws SQLException {
+        String previous = LABEL.get();
+        LABEL.set(name);
+        try {
+            return work.run();
+        } finally {
+            if (previous == null) {
+                LABEL.remove();
+            } else {
+                LABEL.set(previous);
+            }
+        }
+    }
+
+    // Runs work and records how long it took under name; a failure counts as an error, a cancellation does not
+    public static <T> T time(String name, Callable<T> work) throws Exception {
+        QueryStats stats = get(name);
+        long start = System.nanoTime();
+        try {
+            T result = work.call();
+            stats.record(System.nanoTime() - start, 0);
+            return result;
+        } catch (CancellationException | InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            stats.error();
+            throw e;
+        }
+    }
+
+    // Publishes the pool's own counters over JMX and starts the periodic log report
+    public static synchronized void start() {
+        if (reporter != null) {
+            return;
+        }
+        registerMBean("type=ConnectionPool", new PoolStatsBean());
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        if (LOG_SECONDS > 0) {
+            reporter.scheduleWithFixedDelay(Metrics::logReport, LOG_SECONDS, LOG_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    // The names with the most total time, one line each
+    public static String report() {
+        List<QueryStats> all = new ArrayList<>(STATS.values());
+        all.sort(Comparator.comparingLong((QueryStats s) -> s.histogram.getTotalNanos()).reversed());
+        StringBuilder sb = new StringBuilder("Query metrics, busiest first (pool: ")
+                .append(Database.getPoolStats()).append(')');
+        for (int i = 0; i < Math.min(REPORTED_NAMES, all.size()); i++) {
+            sb.append("\n  ").append(all.get(i));
+        }
+        return sb.toString();
+    }
+
+    private static void logReport() {
+        try {
+            long count = 0;
+            for (QueryStats stats : STATS.values()) {
+                count += stats.getCount() + stats.getErrors();
+            }
+            // Nothing ran since the last report; an idle desk should not fill the log
+            if (count == lastReportedCount) {
+                return;
+            }
+            lastReportedCount = count;
+            LOG.info(report());
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Metrics report failed", e);
+        }
+    }
+
+    private static void registerMBean(String properties, Object bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(bean, name);
+            }
+        } catch (JMException e) {
+            LOG.log(Level.WARNING, "Could not publish " + properties + " over JMX", e);
+        }
+    }
+
+    public interface QueryStatsMXBean {
+        String getName();
+
+        long getCount();
+
+        long getErrors();
+
+        long getRows();
+
+        double getTotalMillis();
+
+        double getMeanMillis();
+
+        double getP50Millis();
+
+        double getP95Millis();
+
+        double getP99Millis();
+
+        double getMaxMillis();
+
+        void reset();
+    }
+
+    // Latency histogram plus row and error counts for one name
+    public static final class QueryStats implements QueryStatsMXBean {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private QueryStats(String name) {
+            this.name = name;
+            registerMBean("type=Query,name=" + ObjectName.quote(name), this);
+        }
+
+        public void record(long nanos, long rowCount) {
+            histogram.record(nanos);
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+        }
+
+        public void addRows(long rowCount) {
+            rows.add(rowCount);
+        }
+
+        public void error() {
+            errors.increment();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        @Override
+        public long getRows() {
+            return rows.sum();
+        }
+
+        @Override
+        public double getTotalMillis() {
+            return histogram.getTotalNanos() / 1e6;
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return histogram.getMeanNanos() / 1e6;
+        }
+
+        @Override
+        public double getP50Millis() {
+            return histogram.getPercentileNanos(50) / 1e6;
+        }
+
+        @Override
+        public double getP95Millis() {
+            return histogram.getPercentileNanos(95) / 1e6;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return histogram.getPercentileNanos(99) / 1e6;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return histogram.getMaxNanos() / 1e6;
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+            rows.reset();
+            errors.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-32s count=%d errors=%d rows=%d total=%.1fms mean=%.3fms "
+                            + "p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms",
+                    name, getCount(), getErrors(), getRows(), getTotalMillis(), getMeanMillis(),
+                    getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+        }
+    }
+
+    public interface PoolStatsMXBean {
+        int getActive();
+
+        int getIdle();
+
+        int getWaiters();
+
+        int getOpen();
+
+        int getMaxSize();
+
+        long getBorrows();
+
+        long getTimeouts();
+
+        long getStatementHits();
+
+        long getStatementPrepares();
+    }
+
+    // Reads the live pool on every attribute access
+    private static final class PoolStatsBean implements PoolStatsMXBean {
+        @Override
+        public int getActive() {
+            return Database.getPoolStats().getActive();
+        }
+
+        @Override
+        public int getIdle() {
+            return Database.getPoolStats().getIdle();
+        }
+
+        @Override
+        public int getWaiters() {
+            return Database.getPoolStats().getWaiters();
+        }
+
+        @Override
+        public int getOpen() {
+            return Database.getPoolStats().getOpen();
+        }
+
+        @Override
+        public int getMaxSize() {
+            return Database.getPoolStats().getMaxSize();
+        }
+
+        @Override
+        public long getBorrows() {
+            return Database.getPoolStats().getBorrows();
+        }
+
+        @Override
+        public long getTimeouts() {
+            return Database.getPoolStats().getTimeouts();
+        }
+
+        @Override
+        public long getStatementHits() {
+            return Database.getPoolStats().getStatementHits();
+        }
+
+        @Override
+        public long getStatementPrepares() {
+            return Database.getPoolStats().getStatementPrepares();
+        }
+    }
+}
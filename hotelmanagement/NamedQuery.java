@@ -0,0 +1,27 @@
+package com.hotelmanagement;
+
+// A SQL statement with a stable name ("reservations.insert"). The SQL text is the key
+// of the pooled connection's statement cache, the name identifies the query in logs and metrics.
+public final class NamedQuery {
+    private final String name;
+    private final String sql;
+
+    public NamedQuery(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+        Metrics.register(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
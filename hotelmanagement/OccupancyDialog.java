@@ -0,0 +1,195 @@
+package com.hotelmanagement;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.text.DateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Management report: occupancy, ADR and RevPAR per hotel over a range of nights,
+// answered by OccupancyStore from its in-memory snapshot.
+public class OccupancyDialog {
+    private final Stage stage;
+    private final AsyncLoader loader = new AsyncLoader();
+    private final ObservableList<HotelRow> rows = FXCollections.observableArrayList();
+    private DatePicker fromPicker;
+    private DatePicker toPicker;
+    private Button runButton;
+    private Label statusLabel;
+
+    public OccupancyDialog(Stage owner) {
+        stage = new Stage();
+        stage.initModality(Modality.APPLICATION_MODAL);
+        stage.initOwner(owner);
+        stage.setTitle("Occupancy Report");
+
+        LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+        fromPicker = new DatePicker(firstOfMonth);
+        toPicker = new DatePicker(firstOfMonth.plusMonths(1));
+
+        runButton = new Button("Run");
+        runButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20;");
+        runButton.setOnAction(e -> runReport(false));
+
+        Button reloadButton = new Button("Reload Data");
+        reloadButton.setStyle("-fx-padding: 8 20;");
+        reloadButton.setTooltip(new Tooltip("Read the reservations again instead of using the cached snapshot"));
+        reloadButton.setOnAction(e -> runReport(true));
+
+        HBox controls = new HBox(10, new Label("From:"), fromPicker, new Label("To (exclusive):"), toPicker,
+                runButton, reloadButton);
+        controls.setPadding(new Insets(15));
+        controls.setStyle("-fx-background-color: #f5f5f5;");
+
+        TableView<HotelRow> table = new TableView<>(rows);
+        table.getColumns().add(column("Hotel", "hotel", 200));
+        table.getColumns().add(column("Rooms", "rooms", 70));
+        table.getColumns().add(column("Room Nights Sold", "roomNightsSold", 130));
+        table.getColumns().add(column("Occupancy", "occupancy", 100));
+        table.getColumns().add(column("ADR", "adr", 90));
+        table.getColumns().add(column("RevPAR", "revPar", 90));
+        table.getColumns().add(column("Revenue", "revenue", 120));
+        table.setPlaceholder(new Label("No hotels with rooms"));
+
+        statusLabel = new Label();
+        statusLabel.setPadding(new Insets(8, 15, 8, 15));
+
+        BorderPane root = new BorderPane();
+        root.setTop(controls);
+        root.setCenter(table);
+        root.setBottom(statusLabel);
+
+        stage.setScene(new Scene(root, 900, 500));
+        stage.setOnHidden(e -> loader.cancelAll());
+        runReport(false);
+    }
+
+    private static <T> TableColumn<HotelRow, T> column(String title, String property, double width) {
+        TableColumn<HotelRow, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private void runReport(boolean reload) {
+        LocalDate from = fromPicker.getValue();
+        LocalDate to = toPicker.getValue();
+        if (from == null || to == null || !to.isAfter(from)) {
+            showError("The end date must be after the start date!");
+            return;
+        }
+        runButton.setDisable(true);
+        statusLabel.setText(reload ? "Reloading reservations..." : "Running report...");
+        loader.submit("occupancy", () -> {
+            if (reload) {
+                OccupancyStore.invalidate();
+            }
+            OccupancyStore store = OccupancyStore.getInstance();
+            long start = System.nanoTime();
+            OccupancyStore.Report report = store.report(from, to);
+            long micros = (System.nanoTime() - start) / 1000;
+            Map<Integer, String> names = ReferenceData.getInstance().getHotelNames();
+            List<HotelRow> lines = new ArrayList<>();
+            for (int h = 0; h < report.getHotelCount(); h++) {
+                lines.add(new HotelRow(report, h, names.getOrDefault(report.getHotelId(h),
+                        "Hotel " + report.getHotelId(h))));
+            }
+            lines.sort((a, b) -> a.getHotel().compareToIgnoreCase(b.getHotel()));
+            String status = String.format("%,d reservations as of %s; %d nights computed in %.1f ms",
+                    store.size(), DateFormat.getTimeInstance(DateFormat.SHORT).format(new Date(store.getLoadedAt())),
+                    report.getNights(), micros / 1000.0);
+            return new Result(lines, status);
+        }, result -> {
+            rows.setAll(result.lines);
+            statusLabel.setText(result.status);
+            runButton.setDisable(false);
+        }, error -> {
+            statusLabel.setText("");
+            runButton.setDisable(false);
+            showError("Error running occupancy report: " + error.getMessage());
+        });
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    public void show() {
+        stage.show();
+    }
+
+    private static final class Result {
+        final List<HotelRow> lines;
+        final String status;
+
+        Result(List<HotelRow> lines, String status) {
+            this.lines = lines;
+            this.status = status;
+        }
+    }
+
+    // One hotel's line of the report, formatted for display
+    public static class HotelRow {
+        private final String hotel;
+        private final int rooms;
+        private final long roomNightsSold;
+        private final String occupancy;
+        private final String adr;
+        private final String revPar;
+        private final String revenue;
+
+        HotelRow(OccupancyStore.Report report, int h, String hotel) {
+            this.hotel = hotel;
+            this.rooms = report.getRooms(h);
+            this.roomNightsSold = report.getRoomNightsSold(h);
+            this.occupancy = String.format("%.1f%%", report.getOccupancy(h) * 100);
+            this.adr = String.format("%.2f", report.getAdr(h));
+            this.revPar = String.format("%.2f", report.getRevPar(h));
+            this.revenue = String.format("%,.2f", report.getRevenue(h));
+        }
+
+        public String getHotel() {
+            return hotel;
+        }
+
+        public int getRooms() {
+            return rooms;
+        }
+
+        public long getRoomNightsSold() {
+            return roomNightsSold;
+        }
+
+        public String getOccupancy() {
+            return occupancy;
+        }
+
+        public String getAdr() {
+            return adr;
+        }
+
+        public String getRevPar() {
+            return revPar;
+        }
+
+        public String getRevenue() {
+            return revenue;
+        }
+    }
+}
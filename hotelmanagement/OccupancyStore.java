@@ -0,0 +1,394 @@
+package com.hotelmanagement;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Reservations held column-wise in primitive arrays for the management reports, so
+// occupancy, ADR and RevPAR over any range of nights come from memory instead of from
+// aggregate queries on the booking database. One snapshot is read with a single streamed
+// query and kept for hotel.analytics.ttlMinutes (default 15); invalidate() forces a reload.
+// Rows are sorted by check-in, so a report only scans the rows that can overlap its range;
+// the scan is split over the common fork/join pool once that is more than LEAF_ROWS rows.
+// There is no price column, so every night of a stay is charged at its room type's rate
+// from hotel.rate.<type> (defaults in DEFAULT_RATES).
+public final class OccupancyStore {
+
+    private static final long TTL_MILLIS = Long.getLong("hotel.analytics.ttlMinutes", 15) * 60_000;
+    private static final int FETCH_SIZE = 5_000;
+    // Below this many rows a scan stays on the calling thread
+    private static final int LEAF_ROWS = 1 << 16;
+    // Rows whose nights are worked out together before being added to the totals; the
+    // arithmetic pass over a block has no branches, so the JIT can vectorise it
+    private static final int BLOCK = 1024;
+    private static final Map<String, Double> DEFAULT_RATES = Map.of(
+            "Single", 80.0, "Double", 120.0, "Deluxe", 180.0, "Suite", 250.0);
+    private static final double OTHER_RATE = 100.0;
+
+    private static volatile OccupancyStore instance;
+    private static final Object LOAD_LOCK = new Object();
+
+    // One entry per reservation, sorted by check-in day
+    private final int[] roomNumbers;
+    // Index into hotelIds rather than the id itself, so totals can live in dense arrays
+    private final int[] hotelSlots;
+    private final int[] checkInDays;
+    private final int[] checkOutDays;
+    private final double[] nightlyRates;
+    private final int size;
+    // Longest stay, so a scan can start at the first row that might still be in the house
+    private final int maxStay;
+
+    // Per hotel slot
+    private final int[] hotelIds;
+    private final int[] roomCounts;
+    private final long loadedAt;
+
+    private OccupancyStore(Columns columns, int[] hotelIds, int[] roomCounts) {
+        int[] order = columns.orderByCheckIn();
+        this.size = columns.size;
+        this.roomNumbers = permute(columns.roomNumbers, order);
+        this.hotelSlots = permute(columns.hotelSlots, order);
+        this.checkInDays = permute(columns.checkInDays, order);
+        this.checkOutDays = permute(columns.checkOutDays, order);
+        this.nightlyRates = new double[size];
+        for (int i = 0; i < size; i++) {
+            nightlyRates[i] = columns.nightlyRates[order[i]];
+        }
+        int longest = 0;
+        for (int i = 0; i < size; i++) {
+            longest = Math.max(longest, checkOutDays[i] - checkInDays[i]);
+        }
+        this.maxStay = longest;
+        this.hotelIds = hotelIds;
+        this.roomCounts = roomCounts;
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    // The current snapshot, loaded or reloaded on the caller's thread when missing or stale
+    public static OccupancyStore getInstance() throws SQLException {
+        OccupancyStore current = instance;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+        synchronized (LOAD_LOCK) {
+            if (instance == null || instance.isExpired()) {
+                instance = load();
+            }
+            return instance;
+        }
+    }
+
+    public static void invalidate() {
+        instance = null;
+    }
+
+    static OccupancyStore load() throws SQLException {
+        Map<Integer, Integer> rooms = RoomRepository.countByHotel();
+        Map<Integer, Integer> slots = new HashMap<>();
+        int[] hotelIds = new int[rooms.size()];
+        int[] roomCounts = new int[rooms.size()];
+        for (Map.Entry<Integer, Integer> hotel : rooms.entrySet()) {
+            int slot = slots.size();
+            slots.put(hotel.getKey(), slot);
+            hotelIds[slot] = hotel.getKey();
+            roomCounts[slot] = hotel.getValue();
+        }
+        Map<String, Double> rates = new HashMap<>();
+        try {
+            Columns columns = ReservationRepository.streamForAnalytics(FETCH_SIZE, rs -> {
+                Columns read = new Columns();
+                while (rs.next()) {
+                    Integer slot = slots.get(rs.getInt(2));
+                    // A room added after the counts were read; it is picked up by the next load
+                    if (slot == null) {
+                        continue;
+                    }
+                    read.add(rs.getInt(1), slot, (int) rs.getDate(3).toLocalDate().toEpochDay(),
+                            (int) rs.getDate(4).toLocalDate().toEpochDay(),
+                            rates.computeIfAbsent(rs.getString(5), OccupancyStore::nightlyRate));
+                }
+                return read;
+            });
+            return new OccupancyStore(columns, hotelIds, roomCounts);
+        } catch (IOException e) {
+            throw new SQLException("Could not read reservations for analytics", e);
+        }
+    }
+
+    static double nightlyRate(String roomType) {
+        String configured = roomType == null ? null : System.getProperty("hotel.rate." + roomType);
+        if (configured != null) {
+            try {
+                return Double.parseDouble(configured);
+            } catch (NumberFormatException e) {
+                // Fall through to the default rate
+            }
+        }
+        return roomType == null ? OTHER_RATE : DEFAULT_RATES.getOrDefault(roomType, OTHER_RATE);
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - loadedAt > TTL_MILLIS;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    // Occupancy, ADR and RevPAR of every hotel for the nights from (inclusive) to to (exclusive)
+    public Report report(LocalDate from, LocalDate to) {
+        return report(from, to, true);
+    }
+
+    Report report(LocalDate from, LocalDate to, boolean parallel) {
+        int first = (int) from.toEpochDay();
+        int end = (int) to.toEpochDay();
+        if (end <= first) {
+            throw new IllegalArgumentException("The report must cover at least one night");
+        }
+        // Stays starting before first - maxStay have all left by first; those starting on or
+        // after end have not arrived yet
+        int lo = lowerBound(first - maxStay);
+        int hi = lowerBound(end);
+        Scan scan = new Scan(first, end, lo, hi);
+        Totals totals = parallel && hi - lo > LEAF_ROWS ? ForkJoinPool.commonPool().invoke(scan) : scan.compute();
+        return new Report(from, end - first, hotelIds, roomCounts, totals);
+    }
+
+    // First row whose check-in is on or after day
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkInDays[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Room nights and revenue per hotel, plus a per-night difference array: +1 on a stay's
+    // first night in range and -1 after its last, so a running sum gives rooms occupied
+    private static final class Totals {
+        final long[] roomNights;
+        final double[] revenue;
+        final int[] arrivals;
+        final int stride;
+
+        Totals(int hotels, int nights) {
+            roomNights = new long[hotels];
+            revenue = new double[hotels];
+            stride = nights + 1;
+            arrivals = new int[hotels * stride];
+        }
+
+        Totals add(Totals other) {
+            for (int h = 0; h < roomNights.length; h++) {
+                roomNights[h] += other.roomNights[h];
+                revenue[h] += other.revenue[h];
+            }
+            for (int i = 0; i < arrivals.length; i++) {
+                arrivals[i] += other.arrivals[i];
+            }
+            return this;
+        }
+    }
+
+    private final class Scan extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int end;
+        private final int lo;
+        private final int hi;
+
+        Scan(int first, int end, int lo, int hi) {
+            this.first = first;
+            this.end = end;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (hi - lo > LEAF_ROWS && getPool() != null) {
+                int mid = (lo + hi) >>> 1;
+                Scan left = new Scan(first, end, lo, mid);
+                left.fork();
+                Totals right = new Scan(first, end, mid, hi).compute();
+                return left.join().add(right);
+            }
+            Totals totals = new Totals(hotelIds.length, end - first);
+            int[] starts = new int[BLOCK];
+            int[] nights = new int[BLOCK];
+            for (int block = lo; block < hi; block += BLOCK) {
+                int n = Math.min(BLOCK, hi - block);
+                for (int j = 0; j < n; j++) {
+                    int start = Math.max(checkInDays[block + j], first);
+                    starts[j] = start;
+                    nights[j] = Math.max(0, Math.min(checkOutDays[block + j], end) - start);
+                }
+                for (int j = 0; j < n; j++) {
+                    int stayed = nights[j];
+                    if (stayed == 0) {
+                        continue;
+                    }
+                    int row = block + j;
+                    int slot = hotelSlots[row];
+                    totals.roomNights[slot] += stayed;
+                    totals.revenue[slot] += stayed * nightlyRates[row];
+                    int base = slot * totals.stride + starts[j] - first;
+                    totals.arrivals[base]++;
+                    totals.arrivals[base + stayed]--;
+                }
+            }
+            return totals;
+        }
+    }
+
+    // Results of one report; hotels are listed in no particular order
+    public static final class Report {
+        private final LocalDate from;
+        private final int nights;
+        private final int[] hotelIds;
+        private final int[] roomCounts;
+        private final long[] roomNights;
+        private final double[] revenue;
+        // [hotel * nights + night]
+        private final int[] occupied;
+
+        private Report(LocalDate from, int nights, int[] hotelIds, int[] roomCounts, Totals totals) {
+            this.from = from;
+            this.nights = nights;
+            this.hotelIds = hotelIds;
+            this.roomCounts = roomCounts;
+            this.roomNights = totals.roomNights;
+            this.revenue = totals.revenue;
+            this.occupied = new int[hotelIds.length * nights];
+            for (int h = 0; h < hotelIds.length; h++) {
+                int running = 0;
+                for (int night = 0; night < nights; night++) {
+                    running += totals.arrivals[h * totals.stride + night];
+                    occupied[h * nights + night] = running;
+                }
+            }
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public int getNights() {
+            return nights;
+        }
+
+        public int getHotelCount() {
+            return hotelIds.length;
+        }
+
+        public int getHotelId(int hotel) {
+            return hotelIds[hotel];
+        }
+
+        public int getRooms(int hotel) {
+            return roomCounts[hotel];
+        }
+
+        public long getRoomNightsSold(int hotel) {
+            return roomNights[hotel];
+        }
+
+        public double getRevenue(int hotel) {
+            return revenue[hotel];
+        }
+
+        // Rooms occupied on the given night, counted from getFrom()
+        public int getOccupied(int hotel, int night) {
+            return occupied[hotel * nights + night];
+        }
+
+        // Share of the available room nights that were sold, 0 to 1; can pass 1 when rooms
+        // were removed after being booked
+        public double getOccupancy(int hotel) {
+            long available = (long) roomCounts[hotel] * nights;
+            return available == 0 ? 0 : (double) roomNights[hotel] / available;
+        }
+
+        public double getOccupancy(int hotel, int night) {
+            return roomCounts[hotel] == 0 ? 0 : (double) getOccupied(hotel, night) / roomCounts[hotel];
+        }
+
+        // Average daily rate: revenue per room night sold
+        public double getAdr(int hotel) {
+            return roomNights[hotel] == 0 ? 0 : revenue[hotel] / roomNights[hotel];
+        }
+
+        // Revenue per available room night
+        public double getRevPar(int hotel) {
+            long available = (long) roomCounts[hotel] * nights;
+            return available == 0 ? 0 : revenue[hotel] / available;
+        }
+    }
+
+    // Growable columns filled while the query streams in
+    private static final class Columns {
+        int[] roomNumbers = new int[1024];
+        int[] hotelSlots = new int[1024];
+        int[] checkInDays = new int[1024];
+        int[] checkOutDays = new int[1024];
+        double[] nightlyRates = new double[1024];
+        int size = 0;
+
+        void add(int roomNumber, int hotelSlot, int checkInDay, int checkOutDay, double nightlyRate) {
+            if (size == roomNumbers.length) {
+                int capacity = size * 2;
+                roomNumbers = Arrays.copyOf(roomNumbers, capacity);
+                hotelSlots = Arrays.copyOf(hotelSlots, capacity);
+                checkInDays = Arrays.copyOf(checkInDays, capacity);
+                checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+                nightlyRates = Arrays.copyOf(nightlyRates, capacity);
+            }
+            roomNumbers[size] = roomNumber;
+            hotelSlots[size] = hotelSlot;
+            checkInDays[size] = checkInDay;
+            checkOutDays[size] = checkOutDay;
+            nightlyRates[size] = nightlyRate;
+            size++;
+        }
+
+        // Row positions in check-in order; the day goes in the high bits so one sort of longs does it
+        int[] orderByCheckIn() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) checkInDays[i] << 32) | i;
+            }
+            Arrays.parallelSort(keys);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+    }
+
+    private static int[] permute(int[] column, int[] order) {
+        int[] sorted = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = column[order[i]];
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,456 @@
+package com.hotelmanagement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Minimal Parquet writer for flat tables of nullable columns. Values are buffered per column
+// for one row group at a time; each column chunk is then written as a single PLAIN data page
+// (optionally gzip-compressed) and the Thrift footer goes out on close. That is all pandas,
+// Spark, DuckDB or Power BI need, without bringing the Hadoop-based parquet-mr into the app.
+// Memory is bounded by the row group size in bytes, not by the number of rows written.
+class ParquetWriter implements Closeable {
+
+    enum ColumnType { INT32, INT64, DOUBLE, DATE, STRING }
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final String CREATED_BY = "hotelmanagement export";
+
+    // Parquet physical types, converted types, encodings and codecs from parquet.thrift
+    private static final int TYPE_INT32 = 1;
+    private static final int TYPE_INT64 = 2;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_BYTE_ARRAY = 6;
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_DATE = 6;
+    private static final int REPETITION_OPTIONAL = 1;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final int CODEC_UNCOMPRESSED = 0;
+    private static final int CODEC_GZIP = 2;
+    private static final int PAGE_DATA = 0;
+
+    private final OutputStream out;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final boolean gzip;
+    private final int rowGroupBytes;
+    private final Column[] columns;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private final Buffer page = new Buffer();
+    private final Buffer compressed = new Buffer();
+
+    private long position;
+    private long totalRows;
+    private int groupRows;
+
+    // A row group is written out once its buffered values reach rowGroupBytes
+    ParquetWriter(OutputStream out, String[] names, ColumnType[] types, boolean gzip, int rowGroupBytes)
+            throws IOException {
+        this.out = out;
+        this.names = names;
+        this.types = types;
+        this.gzip = gzip;
+        this.rowGroupBytes = rowGroupBytes;
+        this.columns = new Column[names.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column();
+        }
+        write(MAGIC, 0, MAGIC.length);
+    }
+
+    void setNull(int column) {
+        columns[column].levels.add(0);
+    }
+
+    void setInt(int column, int value) {
+        Column c = columns[column];
+        c.levels.add(1);
+        c.values.writeInt(value);
+    }
+
+    void setLong(int column, long value) {
+        Column c = columns[column];
+        c.levels.add(1);
+        c.values.writeLong(value);
+    }
+
+    void setDouble(int column, double value) {
+        setLong(column, Double.doubleToLongBits(value));
+    }
+
+    // Days since 1970-01-01
+    void setDate(int column, int epochDay) {
+        setInt(column, epochDay);
+    }
+
+    void setString(int column, String value) {
+        Column c = columns[column];
+        c.levels.add(1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        c.values.writeInt(bytes.length);
+        c.values.write(bytes, 0, bytes.length);
+    }
+
+    // Every column must have been set once since the previous row
+    void endRow() throws IOException {
+        totalRows++;
+        groupRows++;
+        long buffered = 0;
+        for (Column column : columns) {
+            buffered += column.values.size;
+        }
+        if (buffered >= rowGroupBytes) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (groupRows > 0) {
+            flushRowGroup();
+        }
+        Thrift footer = new Thrift();
+        writeFileMetaData(footer);
+        footer.buffer.writeTo(out);
+        position += footer.buffer.size;
+        Buffer tail = new Buffer();
+        tail.writeInt(footer.buffer.size);
+        tail.write(MAGIC, 0, MAGIC.length);
+        tail.writeTo(out);
+        out.flush();
+    }
+
+    private void flushRowGroup() throws IOException {
+        RowGroup group = new RowGroup(groupRows);
+        for (Column column : columns) {
+            group.chunks.add(writeChunk(column));
+        }
+        rowGroups.add(group);
+        groupRows = 0;
+    }
+
+    // One data page v1: definition levels (length-prefixed RLE), then the non-null values
+    private Chunk writeChunk(Column column) throws IOException {
+        column.levels.finish();
+        page.reset();
+        page.writeInt(column.levels.runs.size);
+        page.append(column.levels.runs);
+        page.append(column.values);
+
+        Buffer body = page;
+        if (gzip) {
+            compressed.reset();
+            try (GZIPOutputStream zip = new GZIPOutputStream(compressed)) {
+                page.writeTo(zip);
+            }
+            body = compressed;
+        }
+
+        Thrift header = new Thrift();
+        header.i32(1, PAGE_DATA);
+        header.i32(2, page.size);
+        header.i32(3, body.size);
+        header.beginStruct(5);
+        header.i32(1, groupRows);
+        header.i32(2, ENCODING_PLAIN);
+        header.i32(3, ENCODING_RLE);
+        header.i32(4, ENCODING_RLE);
+        header.endStruct();
+        header.stop();
+
+        Chunk chunk = new Chunk(position, groupRows,
+                header.buffer.size + page.size, header.buffer.size + body.size);
+        write(header.buffer);
+        write(body);
+        column.reset();
+        return chunk;
+    }
+
+    private void writeFileMetaData(Thrift t) {
+        t.i32(1, 1);
+        t.listHeader(2, Thrift.STRUCT, names.length + 1);
+        t.beginElement();
+        t.string(4, "schema");
+        t.i32(5, names.length);
+        t.endStruct();
+        for (int i = 0; i < names.length; i++) {
+            t.beginElement();
+            t.i32(1, physicalType(types[i]));
+            t.i32(3, REPETITION_OPTIONAL);
+            t.string(4, names[i]);
+            if (types[i] == ColumnType.STRING) {
+                t.i32(6, CONVERTED_UTF8);
+            } else if (types[i] == ColumnType.DATE) {
+                t.i32(6, CONVERTED_DATE);
+            }
+            t.endStruct();
+        }
+        t.i64(3, totalRows);
+        t.listHeader(4, Thrift.STRUCT, rowGroups.size());
+        for (RowGroup group : rowGroups) {
+            long groupBytes = 0;
+            t.beginElement();
+            t.listHeader(1, Thrift.STRUCT, names.length);
+            for (int i = 0; i < names.length; i++) {
+                Chunk chunk = group.chunks.get(i);
+                groupBytes += chunk.uncompressedSize;
+                t.beginElement();
+                t.i64(2, chunk.offset);
+                t.beginStruct(3);
+                t.i32(1, physicalType(types[i]));
+                t.listHeader(2, Thrift.I32, 2);
+                t.element(ENCODING_PLAIN);
+                t.element(ENCODING_RLE);
+                t.listHeader(3, Thrift.BINARY, 1);
+                t.element(names[i]);
+                t.i32(4, gzip ? CODEC_GZIP : CODEC_UNCOMPRESSED);
+                t.i64(5, chunk.values);
+                t.i64(6, chunk.uncompressedSize);
+                t.i64(7, chunk.compressedSize);
+                t.i64(9, chunk.offset);
+                t.endStruct();
+                t.endStruct();
+            }
+            t.i64(2, groupBytes);
+            t.i64(3, group.rows);
+            t.endStruct();
+        }
+        t.string(6, CREATED_BY);
+        t.stop();
+    }
+
+    private static int physicalType(ColumnType type) {
+        switch (type) {
+            case INT64: return TYPE_INT64;
+            case DOUBLE: return TYPE_DOUBLE;
+            case STRING: return TYPE_BYTE_ARRAY;
+            default: return TYPE_INT32;
+        }
+    }
+
+    private void write(Buffer buffer) throws IOException {
+        write(buffer.bytes, 0, buffer.size);
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+        position += length;
+    }
+
+    // One column's values and definition levels for the current row group
+    private static class Column {
+        private final Buffer values = new Buffer();
+        private final Levels levels = new Levels();
+
+        void reset() {
+            values.reset();
+            levels.reset();
+        }
+    }
+
+    // Definition levels (1 = value present, 0 = null) as RLE runs of the hybrid encoding
+    private static class Levels {
+        private final Buffer runs = new Buffer();
+        private int current = -1;
+        private int count;
+
+        void add(int level) {
+            if (level != current) {
+                finish();
+                current = level;
+            }
+            count++;
+        }
+
+        void finish() {
+            if (count > 0) {
+                runs.writeVarint((long) count << 1);
+                runs.writeByte(current);
+            }
+            count = 0;
+        }
+
+        void reset() {
+            runs.reset();
+            current = -1;
+            count = 0;
+        }
+    }
+
+    private static class Chunk {
+        private final long offset;
+        private final long values;
+        private final long uncompressedSize;
+        private final long compressedSize;
+
+        Chunk(long offset, long values, long uncompressedSize, long compressedSize) {
+            this.offset = offset;
+            this.values = values;
+            this.uncompressedSize = uncompressedSize;
+            this.compressedSize = compressedSize;
+        }
+    }
+
+    private static class RowGroup {
+        private final long rows;
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        RowGroup(long rows) {
+            this.rows = rows;
+        }
+    }
+
+    // Growable little-endian byte buffer, reused from one row group to the next
+    private static class Buffer extends OutputStream {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        @Override
+        public void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int length) {
+            ensure(length);
+            System.arraycopy(b, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeByte(int b) {
+            write(b);
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            bytes[size++] = (byte) v;
+            bytes[size++] = (byte) (v >>> 8);
+            bytes[size++] = (byte) (v >>> 16);
+            bytes[size++] = (byte) (v >>> 24);
+        }
+
+        void writeLong(long v) {
+            writeInt((int) v);
+            writeInt((int) (v >>> 32));
+        }
+
+        void writeVarint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void append(Buffer other) {
+            write(other.bytes, 0, other.size);
+        }
+
+        void writeTo(OutputStream target) throws IOException {
+            target.write(bytes, 0, size);
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, size + extra)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+        }
+    }
+
+    // Thrift compact protocol, just the parts the page headers and footer use
+    private static class Thrift {
+        static final int I32 = 5;
+        static final int I64 = 6;
+        static final int BINARY = 8;
+        static final int LIST = 9;
+        static final int STRUCT = 12;
+
+        private final Buffer buffer = new Buffer();
+        private final Deque<Integer> lastIds = new ArrayDeque<>();
+        private int lastId;
+
+        void i32(int id, int value) {
+            fieldHeader(id, I32);
+            buffer.writeVarint(zigzag(value));
+        }
+
+        void i64(int id, long value) {
+            fieldHeader(id, I64);
+            buffer.writeVarint(zigzag(value));
+        }
+
+        void string(int id, String value) {
+            fieldHeader(id, BINARY);
+            element(value);
+        }
+
+        void beginStruct(int id) {
+            fieldHeader(id, STRUCT);
+            beginElement();
+        }
+
+        // A struct inside a list has no field header of its own
+        void beginElement() {
+            lastIds.push(lastId);
+            lastId = 0;
+        }
+
+        void endStruct() {
+            stop();
+            lastId = lastIds.pop();
+        }
+
+        void stop() {
+            buffer.writeByte(0);
+        }
+
+        void listHeader(int id, int elementType, int size) {
+            fieldHeader(id, LIST);
+            if (size < 15) {
+                buffer.writeByte((size << 4) | elementType);
+            } else {
+                buffer.writeByte(0xF0 | elementType);
+                buffer.writeVarint(size);
+            }
+        }
+
+        void element(int value) {
+            buffer.writeVarint(zigzag(value));
+        }
+
+        void element(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.writeVarint(bytes.length);
+            buffer.write(bytes, 0, bytes.length);
+        }
+
+        private void fieldHeader(int id, int type) {
+            int delta = id - lastId;
+            if (delta > 0 && delta <= 15) {
+                buffer.writeByte((delta << 4) | type);
+            } else {
+                buffer.writeByte(type);
+                buffer.writeVarint(zigzag(id));
+            }
+            lastId = id;
+        }
+
+        private static long zigzag(long v) {
+            return (v << 1) ^ (v >> 63);
+        }
+    }
+}
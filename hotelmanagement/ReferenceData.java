@@ -0,0 +1,138 @@
+package com.hotelmanagement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hotel names and room types shared by every dialog and filter. One immutable snapshot is
+// loaded and handed to all callers. Hotel writes and Refresh All ask for a reload, and after
+// TTL_MILLIS a snapshot is reloaded anyway to pick up edits made from other desks; either way
+// the old snapshot is served until the new one is in. Only the very first use waits for the
+// database.
+public final class ReferenceData {
+
+    private static final long TTL_MILLIS = 5 * 60_000;
+    // Offered even before any room uses them
+    private static final String[] STANDARD_ROOM_TYPES = { "Single", "Double", "Suite", "Deluxe" };
+
+    private static volatile ReferenceData instance;
+    private static final Object LOAD_LOCK = new Object();
+    // Bumped by refresh(), so a load racing with a hotel write is redone
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+    private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+    // The MODIFICATIONS value the current snapshot was loaded at
+    private static volatile long loadedVersion;
+
+    private final Map<Integer, String> hotelNames;
+    private final List<String> hotelLabels;
+    private final List<String> roomTypes;
+    private final long loadedAt;
+
+    private ReferenceData(Map<Integer, String> hotelNames, List<String> roomTypes) {
+        List<String> labels = new ArrayList<>(hotelNames.size());
+        hotelNames.forEach((id, name) -> labels.add(id + " - " + name));
+        this.hotelNames = Collections.unmodifiableMap(new LinkedHashMap<>(hotelNames));
+        this.hotelLabels = Collections.unmodifiableList(labels);
+        this.roomTypes = Collections.unmodifiableList(new ArrayList<>(roomTypes));
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    public static ReferenceData getInstance() throws SQLException {
+        ReferenceData current = instance;
+        if (current != null) {
+            if (current.isExpired()) {
+                // Serve the old snapshot meanwhile rather than block a dialog
+                refreshInBackground();
+            }
+            return current;
+        }
+        synchronized (LOAD_LOCK) {
+            return instance != null ? instance : reloadLocked();
+        }
+    }
+
+    // Reloads now and returns the new snapshot; for background threads that need what was
+    // just written, such as the Rooms tab's hotel filter after a hotel edit
+    public static ReferenceData reload() throws SQLException {
+        synchronized (LOAD_LOCK) {
+            return reloadLocked();
+        }
+    }
+
+    // After a hotel write or on Refresh All. Callers keep getting the current snapshot until
+    // the reload is in, so opening a dialog never waits for it.
+    public static void refresh() {
+        MODIFICATIONS.incrementAndGet();
+        if (instance != null) {
+            refreshInBackground();
+        }
+    }
+
+    // A load that a refresh() overtook is redone, so the snapshot installed is never older
+    // than the last write
+    private static ReferenceData reloadLocked() throws SQLException {
+        while (true) {
+            long before = MODIFICATIONS.get();
+            ReferenceData loaded = load();
+            if (MODIFICATIONS.get() == before) {
+                instance = loaded;
+                loadedVersion = before;
+                return loaded;
+            }
+        }
+    }
+
+    private static void refreshInBackground() {
+        if (!REFRESHING.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncLoader.executor().execute(() -> {
+            boolean loaded = false;
+            try {
+                reload();
+                loaded = true;
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                REFRESHING.set(false);
+            }
+            // A refresh() that came in after the last load finished found this one still running
+            if (loaded && MODIFICATIONS.get() != loadedVersion) {
+                refreshInBackground();
+            }
+        });
+    }
+
+    private static ReferenceData load() throws SQLException {
+        Set<String> types = new LinkedHashSet<>();
+        Collections.addAll(types, STANDARD_ROOM_TYPES);
+        types.addAll(RoomRepository.findTypes());
+        return new ReferenceData(HotelRepository.findNames(), new ArrayList<>(types));
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - loadedAt > TTL_MILLIS;
+    }
+
+    // Hotel id -> name, ordered by name
+    public Map<Integer, String> getHotelNames() {
+        return hotelNames;
+    }
+
+    // "id - name" entries for the hotel combo boxes, ordered by name
+    public List<String> getHotelLabels() {
+        return hotelLabels;
+    }
+
+    // Standard types first, then any other type already used by a room
+    public List<String> getRoomTypes() {
+        return roomTypes;
+    }
+}
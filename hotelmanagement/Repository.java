@@ -0,0 +1,173 @@
+package com.hotelmanagement;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Shared plumbing for the repositories: borrow a pooled connection, take the cached
+// prepared statement for a named query, bind, execute, and close statement and result
+// set deterministically whatever happens.
+public abstract class Repository {
+
+    public interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    public interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    // Consumes a whole result set, typically writing it out row by row
+    public interface ResultSetReader<T> {
+        T read(ResultSet rs) throws SQLException, IOException;
+    }
+
+    protected static final Binder NO_PARAMS = pstmt -> {
+    };
+
+    protected static <T> List<T> queryList(NamedQuery query, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            return queryList(conn, query, binder, mapper);
+        }
+    }
+
+    // fetchSize is passed to the driver as-is; 0 keeps the driver default
+    protected static <T> List<T> queryList(NamedQuery query, Binder binder, RowMapper<T> mapper, int fetchSize)
+            throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            return queryList(conn, query, binder, mapper, fetchSize);
+        }
+    }
+
+    protected static <T> List<T> queryList(Connection conn, NamedQuery query, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        return queryList(conn, query, binder, mapper, 0);
+    }
+
+    protected static <T> List<T> queryList(Connection conn, NamedQuery query, Binder binder, RowMapper<T> mapper,
+            int fetchSize) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+            if (fetchSize > 0) {
+                pstmt.setFetchSize(fetchSize);
+            }
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Hands the open result set to reader instead of collecting rows, so memory stays flat
+    // however many rows the query returns. The fetch size keeps the driver from buffering it all.
+    protected static <T> T stream(NamedQuery query, Binder binder, int fetchSize, ResultSetReader<T> reader)
+            throws SQLException, IOException {
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+            pstmt.setFetchSize(fetchSize);
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return reader.read(rs);
+            }
+        }
+    }
+
+    // Two-column (id, name) result as an ordered map
+    protected static Map<Integer, String> queryIdNames(NamedQuery query, Binder binder) throws SQLException {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    names.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+        }
+        return names;
+    }
+
+    // First row mapped, or null when the query returns nothing
+    protected static <T> T queryFirst(NamedQuery query, Binder binder, RowMapper<T> mapper) throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            return queryFirst(conn, query, binder, mapper);
+        }
+    }
+
+    protected static <T> T queryFirst(Connection conn, NamedQuery query, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapper.map(rs) : null;
+            }
+        }
+    }
+
+    protected static int update(NamedQuery query, Binder binder) throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            return update(conn, query, binder);
+        }
+    }
+
+    protected static int update(Connection conn, NamedQuery query, Binder binder) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+            binder.bind(pstmt);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    // All rows in one executeBatch on the caller's connection and transaction. Returns the
+    // generated keys in row order, or null when the driver did not report one per row.
+    protected static <T> int[] insertBatch(Connection conn, NamedQuery query, List<T> rows, RowBinder<T> binder)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(query.getSql(), Statement.RETURN_GENERATED_KEYS)) {
+            for (T row : rows) {
+                binder.bind(pstmt, row);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            int[] ids = new int[rows.size()];
+            int n = 0;
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                while (keys.next() && n < ids.length) {
+                    ids[n++] = keys.getInt(1);
+                }
+            }
+            return n == ids.length ? ids : null;
+        }
+    }
+
+    // Text matched literally inside a LIKE pattern, using the default backslash escape
+    protected static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Returns the generated key, or -1 when the driver reports none
+    protected static int insert(NamedQuery query, Binder binder) throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            return insert(conn, query, binder);
+        }
+    }
+
+    protected static int insert(Connection conn, NamedQuery query, Binder binder) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(query.getSql(), Statement.RETURN_GENERATED_KEYS)) {
+            binder.bind(pstmt);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : -1;
+            }
+        }
+    }
+}
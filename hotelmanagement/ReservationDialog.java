@@ -7,24 +7,26 @@ import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
 
 public class ReservationDialog {
     private Stage stage;
     private boolean confirmed = false;
     private ComboBox<String> hotelComboBox;
-    private ComboBox<String> customerComboBox;
+    private CustomerPicker customerPicker;
     private ComboBox<Integer> roomComboBox;
     private DatePicker checkInPicker;
     private DatePicker checkOutPicker;
     private Integer reservationId;
+    private final AsyncLoader loader = new AsyncLoader();
 
     public ReservationDialog(Stage owner, Integer existingReservationId) {
         stage = new Stage();
         stage.initModality(Modality.APPLICATION_MODAL);
         stage.initOwner(owner);
+        stage.setOnHidden(e -> loader.cancelAll());
 
         this.reservationId = existingReservationId;
 
@@ -53,9 +55,9 @@ public class ReservationDialog {
         });
 
         Label customerLabel = new Label("Customer:");
-        customerComboBox = new ComboBox<>();
-        loadCustomers();
-        customerComboBox.setPrefWidth(200);
+        // Searches customers as the user types instead of loading them all up front
+        customerPicker = new CustomerPicker();
+        customerPicker.getNode().setPrefWidth(200);
 
         Label roomLabel = new Label("Room:");
         roomComboBox = new ComboBox<>();
@@ -70,6 +72,10 @@ public class ReservationDialog {
         checkOutPicker = new DatePicker();
         checkOutPicker.setPrefWidth(200);
 
+        // Availability is answered from memory, so re-check rooms whenever the dates change
+        checkInPicker.valueProperty().addListener((obs, oldVal, newVal) -> reloadRoomsForDates());
+        checkOutPicker.valueProperty().addListener((obs, oldVal, newVal) -> reloadRoomsForDates());
+
         Button saveButton = new Button("Save");
         saveButton.setStyle(
                 "-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20;");
@@ -87,7 +93,7 @@ public class ReservationDialog {
         grid.add(hotelLabel, 0, 0);
         grid.add(hotelComboBox, 1, 0);
         grid.add(customerLabel, 0, 1);
-        grid.add(customerComboBox, 1, 1);
+        grid.add(customerPicker.getNode(), 1, 1);
         grid.add(roomLabel, 0, 2);
         grid.add(roomComboBox, 1, 2);
         grid.add(checkInLabel, 0, 3);
@@ -110,123 +116,101 @@ public class ReservationDialog {
     }
 
     private void loadHotels() {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT id, name FROM hotels ORDER BY name";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                hotelComboBox.getItems().add(rs.getInt("id") + " - " + rs.getString("name"));
-            }
+        try {
+            hotelComboBox.getItems().addAll(ReferenceData.getInstance().getHotelLabels());
         } catch (Exception e) {
             showError("Error loading hotels: " + e.getMessage());
         }
     }
 
-    private void loadCustomers() {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT id, name FROM customers ORDER BY name";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                customerComboBox.getItems().add(rs.getInt("id") + " - " + rs.getString("name"));
-            }
-        } catch (Exception e) {
-            showError("Error loading customers: " + e.getMessage());
-        }
-    }
-
+    // In the background: the index is normally in memory already, but the first use after
+    // startup and stays before its window still go to the database
     private void loadAvailableRooms(Integer hotelId) {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT r.number FROM rooms r " +
-                        "WHERE r.available = true AND r.hotel_id = ? " +
-                        "AND r.number NOT IN ( " +
-                        "    SELECT room_number FROM reservations " +
-                        "    WHERE (check_in <= ? AND check_out >= ?) " +
-                        "    OR (? BETWEEN check_in AND check_out) " +
-                        "    OR (? BETWEEN check_in AND check_out)" +
-                        ") " +
-                        "ORDER BY r.number";
-            
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, hotelId);
-            
-            // Set date parameters to check for availability
-            if (checkInPicker.getValue() != null && checkOutPicker.getValue() != null) {
-                pstmt.setString(2, checkOutPicker.getValue().toString());
-                pstmt.setString(3, checkInPicker.getValue().toString());
-                pstmt.setString(4, checkInPicker.getValue().toString());
-                pstmt.setString(5, checkOutPicker.getValue().toString());
-            } else {
-                // If dates not selected yet, just get all available rooms
-                sql = "SELECT number FROM rooms WHERE available = true AND hotel_id = ? ORDER BY number";
-                pstmt = conn.prepareStatement(sql);
-                pstmt.setInt(1, hotelId);
+        LocalDate checkIn = checkInPicker.getValue();
+        LocalDate checkOut = checkOutPicker.getValue();
+        loader.submit("availableRooms", () -> {
+            RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+            if (checkIn != null && checkOut != null && checkOut.isAfter(checkIn)) {
+                return index.freeRooms(hotelId, checkIn, checkOut, reservationId);
             }
-
-            ResultSet rs = pstmt.executeQuery();
-
-            roomComboBox.getItems().clear();
+            // If dates not selected yet, just get all available rooms
+            return index.availableRooms(hotelId);
+        }, rooms -> {
+            Integer current = roomComboBox.getValue();
+            roomComboBox.getItems().setAll(rooms);
             roomComboBox.setDisable(false);
-            while (rs.next()) {
-                roomComboBox.getItems().add(rs.getInt("number"));
+            // An existing reservation keeps its own room, which it may be occupying right now
+            if (current != null && (rooms.contains(current) || reservationId != null)) {
+                roomComboBox.setValue(current);
+            } else {
+                roomComboBox.setValue(null);
             }
-            
+
             if (roomComboBox.getItems().isEmpty()) {
                 roomComboBox.setPromptText("No available rooms");
             }
-        } catch (Exception e) {
-            showError("Error loading rooms: " + e.getMessage());
+        }, error -> showError("Error loading rooms: " + error.getMessage()));
+    }
+
+    private void reloadRoomsForDates() {
+        if (hotelComboBox.getValue() != null && reservationId == null) {
+            loadAvailableRooms(getSelectedHotelId());
         }
     }
 
     private void loadReservationData(int reservationId) {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT r.id, r.customer_id, c.name, r.room_number, r.check_in, r.check_out, " +
-                        "rm.hotel_id, h.name as hotel_name " +
-                        "FROM reservations r " +
-                        "JOIN customers c ON r.customer_id = c.id " +
-                        "JOIN rooms rm ON r.room_number = rm.number " +
-                        "JOIN hotels h ON rm.hotel_id = h.id " +
-                        "WHERE r.id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, reservationId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                int hotelId = rs.getInt("hotel_id");
-                String hotelName = rs.getString("hotel_name");
-                hotelComboBox.setValue(hotelId + " - " + hotelName);
+        try {
+            ExistingReservation existing = ReservationRepository.findForEdit(reservationId, ExistingReservation::new);
+
+            if (existing != null) {
+                hotelComboBox.setValue(existing.hotelId + " - " + existing.hotelName);
                 hotelComboBox.setDisable(true); // Hotel cannot be changed for existing reservation
                 
-                int customerId = rs.getInt("customer_id");
-                String customerName = rs.getString("name");
-                customerComboBox.setValue(customerId + " - " + customerName);
-                customerComboBox.setDisable(true); // Customer cannot be changed for existing reservation
+                customerPicker.select(existing.customerId, existing.customerName);
+                customerPicker.getNode().setDisable(true); // Customer cannot be changed for existing reservation
 
                 // Load rooms for this hotel
-                loadAvailableRooms(hotelId);
+                loadAvailableRooms(existing.hotelId);
                 
-                int currentRoom = rs.getInt("room_number");
-                roomComboBox.setValue(currentRoom);
+                roomComboBox.setValue(existing.roomNumber);
 
-                checkInPicker.setValue(rs.getDate("check_in").toLocalDate());
-                checkOutPicker.setValue(rs.getDate("check_out").toLocalDate());
+                checkInPicker.setValue(existing.checkIn);
+                checkOutPicker.setValue(existing.checkOut);
             }
         } catch (Exception e) {
             showError("Error loading reservation data: " + e.getMessage());
         }
     }
 
+    // Row read by loadReservationData
+    private static class ExistingReservation {
+        private final int hotelId;
+        private final String hotelName;
+        private final int customerId;
+        private final String customerName;
+        private final int roomNumber;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        ExistingReservation(ResultSet rs) throws SQLException {
+            hotelId = rs.getInt("hotel_id");
+            hotelName = rs.getString("hotel_name");
+            customerId = rs.getInt("customer_id");
+            customerName = rs.getString("name");
+            roomNumber = rs.getInt("room_number");
+            checkIn = rs.getDate("check_in").toLocalDate();
+            checkOut = rs.getDate("check_out").toLocalDate();
+        }
+    }
+
     private boolean validateInput() {
         if (hotelComboBox.getValue() == null || hotelComboBox.getValue().trim().isEmpty()) {
             showError("Hotel is required!");
             return false;
         }
 
-        if (customerComboBox.getValue() == null || customerComboBox.getValue().trim().isEmpty()) {
-            showError("Customer is required!");
+        if (customerPicker.getSelectedId() == null) {
+            showError("Customer is required! Pick one from the list.");
             return false;
         }
 
@@ -276,8 +260,7 @@ public class ReservationDialog {
     }
 
     public int getCustomerId() {
-        String value = customerComboBox.getValue();
-        return Integer.parseInt(value.split(" - ")[0]);
+        return customerPicker.getSelectedId();
     }
 
     public int getRoomNumber() {
@@ -0,0 +1,421 @@
+package com.hotelmanagement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Bulk import of reservations from CSV or JSON files, such as tour-operator allotments.
+// Every row is validated in memory first (dates, room, customer, conflicts with existing
+// bookings through RoomAvailabilityIndex and with earlier rows of the same file), then the
+// accepted rows are booked through BookingService.bookBatch, chunkSize rows per transaction.
+// It checks each row again under the room locks, so a stay a desk booked since the index was
+// read rejects the row instead of double-booking the room. Room availability is recomputed
+// once for all touched rooms at the end.
+//
+// CSV needs a header naming customer_id, room_number, check_in and check_out (any order,
+// extra columns ignored). JSON is an array of objects with the same keys. Dates are yyyy-MM-dd.
+public class ReservationImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+    // Rejections listed in the result; the count covers the rest
+    private static final int MAX_REPORTED_ERRORS = 50;
+
+    private static final String[] COLUMNS = { "customer_id", "room_number", "check_in", "check_out" };
+
+    private final int chunkSize;
+
+    public ReservationImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ReservationImporter(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // Runs on a background thread
+    public Result importFile(Path file) throws IOException, SQLException {
+        String name = file.getFileName().toString().toLowerCase();
+        List<Map<String, String>> records = name.endsWith(".json") ? readJson(file) : readCsv(file);
+        return importRecords(records);
+    }
+
+    Result importRecords(List<Map<String, String>> records) throws SQLException {
+        Result result = new Result();
+        List<ImportRow> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                rows.add(ImportRow.parse(i + 1, records.get(i)));
+            } catch (IllegalArgumentException e) {
+                result.reject(i + 1, e.getMessage());
+            }
+        }
+
+        List<ImportRow> accepted = validate(rows, result);
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        Set<Integer> touchedRooms = new HashSet<>();
+        try {
+            for (int from = 0; from < accepted.size(); from += chunkSize) {
+                List<ImportRow> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+                BookingService.BatchResult booked;
+                try {
+                    booked = BookingService.bookBatch(chunk);
+                } catch (SQLException e) {
+                    // Earlier chunks stay committed; report where the import stopped
+                    result.failure = "Stopped at row " + chunk.get(0).line + ": " + e.getMessage();
+                    break;
+                }
+                result.imported += booked.getBooked().size();
+                for (ImportRow row : booked.getBooked()) {
+                    touchedRooms.add(row.roomNumber);
+                }
+                for (Map.Entry<ImportRow, SQLException> rejected : booked.getRejected().entrySet()) {
+                    result.reject(rejected.getKey().line, rejected.getValue().getMessage());
+                }
+            }
+        } finally {
+            // One recompute for the whole file instead of one per reservation
+            RoomAvailabilityUpdater.recompute(touchedRooms);
+        }
+        return result;
+    }
+
+    // Rows that pass every check, in file order
+    private List<ImportRow> validate(List<ImportRow> rows, Result result) throws SQLException {
+        Set<Integer> customerIds = new HashSet<>();
+        for (ImportRow row : rows) {
+            customerIds.add(row.customerId);
+        }
+        Set<Integer> knownCustomers = CustomerRepository.findExistingIds(customerIds);
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        LocalDate today = LocalDate.now();
+        // Stays accepted so far per room: check-in day -> check-out day
+        Map<Integer, TreeMap<Long, Long>> taken = new HashMap<>();
+
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String problem = null;
+            if (!row.checkOut.isAfter(row.checkIn)) {
+                problem = "check_out must be after check_in";
+            } else if (row.checkIn.isBefore(today)) {
+                problem = "check_in " + row.checkIn + " is in the past";
+            } else if (!knownCustomers.contains(row.customerId)) {
+                problem = "unknown customer " + row.customerId;
+            } else if (!index.hasRoom(row.roomNumber)) {
+                problem = "unknown room " + row.roomNumber;
+            } else if (!index.isFree(row.roomNumber, row.checkIn, row.checkOut, null)) {
+                problem = "room " + row.roomNumber + " is already booked over these dates";
+            } else if (overlaps(taken.get(row.roomNumber), row)) {
+                problem = "room " + row.roomNumber + " is booked by an earlier row over these dates";
+            }
+            if (problem != null) {
+                result.reject(row.line, problem);
+                continue;
+            }
+            taken.computeIfAbsent(row.roomNumber, r -> new TreeMap<>())
+                    .put(row.checkIn.toEpochDay(), row.checkOut.toEpochDay());
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    // Accepted stays of one room never overlap, so only the neighbours of the new stay can
+    private static boolean overlaps(TreeMap<Long, Long> stays, ImportRow row) {
+        if (stays == null) {
+            return false;
+        }
+        long in = row.checkIn.toEpochDay();
+        long out = row.checkOut.toEpochDay();
+        Map.Entry<Long, Long> before = stays.floorEntry(in);
+        if (before != null && before.getValue() > in) {
+            return true;
+        }
+        Long after = stays.ceilingKey(in);
+        return after != null && after < out;
+    }
+
+    // =================== File formats ===================
+
+    static List<Map<String, String>> readCsv(Path file) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return records;
+            }
+            String[] names = splitCsv(header.replace("\uFEFF", ""));
+            for (int i = 0; i < names.length; i++) {
+                names[i] = names[i].toLowerCase();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] values = splitCsv(line);
+                Map<String, String> record = new HashMap<>();
+                for (int i = 0; i < names.length && i < values.length; i++) {
+                    record.put(names[i], values[i]);
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    // Comma-separated fields, optionally double-quoted with "" for a literal quote
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    static List<Map<String, String>> readJson(Path file) throws IOException {
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return new JsonRecords(text).parse();
+    }
+
+    // Just enough JSON for an array of flat objects with string, number, boolean or null values
+    private static class JsonRecords {
+        private final String text;
+        private int pos;
+
+        JsonRecords(String text) {
+            this.text = text;
+        }
+
+        List<Map<String, String>> parse() throws IOException {
+            List<Map<String, String>> records = new ArrayList<>();
+            expect('[');
+            if (peek() == ']') {
+                pos++;
+                return records;
+            }
+            do {
+                records.add(object());
+            } while (next(',', ']'));
+            return records;
+        }
+
+        private Map<String, String> object() throws IOException {
+            Map<String, String> record = new LinkedHashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+                return record;
+            }
+            do {
+                String key = string();
+                expect(':');
+                record.put(key.toLowerCase(), value());
+            } while (next(',', '}'));
+            return record;
+        }
+
+        private String value() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("value expected");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String string() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c == '\\' && pos < text.length()) {
+                    char escaped = text.charAt(pos++);
+                    switch (escaped) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u':
+                            if (pos + 4 > text.length()) {
+                                throw error("bad \\u escape");
+                            }
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                            break;
+                        default: sb.append(escaped);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        // Consumes either separator or terminator; true for the separator
+        private boolean next(char separator, char terminator) throws IOException {
+            char c = peek();
+            pos++;
+            if (c == separator) {
+                return true;
+            }
+            if (c == terminator) {
+                return false;
+            }
+            throw error("expected '" + separator + "' or '" + terminator + "'");
+        }
+
+        private void expect(char c) throws IOException {
+            if (peek() != c) {
+                throw error("expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private char peek() throws IOException {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= text.length()) {
+                throw error("unexpected end of file");
+            }
+            return text.charAt(pos);
+        }
+
+        private IOException error(String message) {
+            return new IOException("Invalid JSON at offset " + pos + ": " + message);
+        }
+    }
+
+    // =================== Rows and results ===================
+
+    public static class ImportRow {
+        private final int line;
+        private final int customerId;
+        private final int roomNumber;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        ImportRow(int line, int customerId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+            this.line = line;
+            this.customerId = customerId;
+            this.roomNumber = roomNumber;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+
+        static ImportRow parse(int line, Map<String, String> record) {
+            for (String column : COLUMNS) {
+                String value = record.get(column);
+                if (value == null || value.trim().isEmpty()) {
+                    throw new IllegalArgumentException("missing " + column);
+                }
+            }
+            try {
+                return new ImportRow(line,
+                        Integer.parseInt(record.get("customer_id").trim()),
+                        Integer.parseInt(record.get("room_number").trim()),
+                        LocalDate.parse(record.get("check_in").trim()),
+                        LocalDate.parse(record.get("check_out").trim()));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("unreadable value (" + e.getMessage() + ")");
+            }
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public int getRoomNumber() {
+            return roomNumber;
+        }
+
+        public LocalDate getCheckIn() {
+            return checkIn;
+        }
+
+        public LocalDate getCheckOut() {
+            return checkOut;
+        }
+    }
+
+    public static class Result {
+        private int imported;
+        private int rejected;
+        private final List<String> errors = new ArrayList<>();
+        private String failure;
+
+        private void reject(int row, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + row + ": " + reason);
+            }
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+
+        // The first rejections, one line each
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        // Why the insert stopped early, or null when every accepted row was written
+        public String getFailure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Reservation;
+import com.hotelmanagement.ReservationRepository.PageKey;
+import javafx.collections.ObservableList;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps a bounded window of the Reservations table in memory and slides it as the user
+// scrolls. Pages are read by keyset on (check_in, id), so a page deep in the history costs
+// the same as the first one and the tab opens as soon as the newest page arrives. The
+// newest page is also kept in the SnapshotCache, so the next start shows it before the
+// database answers.
+public class ReservationPager {
+
+    private static final Logger LOG = Logger.getLogger(ReservationPager.class.getName());
+    private static final String KEY = "reservations";
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 5;
+    private static final int MAX_ROWS = PAGE_SIZE * MAX_PAGES;
+    // Fetch the next page once the scroll position is this close to either end
+    private static final double PREFETCH_MARGIN = 0.1;
+
+    private final TableView<Reservation> table;
+    private final ObservableList<Reservation> rows;
+    private final AsyncLoader loader;
+    private VirtualFlow<?> flow;
+
+    private String search = "";
+    private boolean loaded = false;
+    // Whether the window starts at the newest / ends at the oldest matching reservation
+    private boolean atHead = true;
+    private boolean atTail = false;
+    // Whether the rows came from the snapshot and no page has been read from the database yet
+    private boolean fromSnapshot = false;
+    private boolean snapshotTried = false;
+    private List<Reservation> snapshotRows = List.of();
+    // When the rows shown were last read from the database, as epoch millis
+    private long asOf;
+    private LongConsumer offlineListener = asOf -> {
+    };
+
+    public ReservationPager(TableView<Reservation> table, ObservableList<Reservation> rows, AsyncLoader loader) {
+        this.table = table;
+        this.rows = rows;
+        this.loader = loader;
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> attachToFlow());
+    }
+
+    // Told the time the rows were last read when a load fails while rows are shown, and 0
+    // when a load succeeds again
+    public void setOfflineListener(LongConsumer listener) {
+        offlineListener = listener;
+    }
+
+    // Restarts from the newest page with the given search text
+    public void search(String text) {
+        search = text == null ? "" : text.trim();
+        reload();
+    }
+
+    // Re-reads the rows currently in the window and patches them in place, so the user
+    // keeps their scroll position and selection
+    public void refresh() {
+        if (!loaded || rows.isEmpty()) {
+            reload();
+            return;
+        }
+        PageKey newest = atHead ? PageKey.NEWEST : PageKey.of(rows.get(0));
+        PageKey oldest = atTail ? PageKey.OLDEST : PageKey.of(rows.get(rows.size() - 1));
+        String query = search;
+        loader.submit(KEY, () -> ReservationRepository.findBetween(newest, oldest, query, MAX_ROWS), fresh -> {
+            Reservation firstVisible = firstVisibleRow();
+            merge(fresh);
+            if (fresh.size() == MAX_ROWS) {
+                atTail = false;
+            }
+            keepInView(firstVisible);
+            readFromDatabase();
+            table.setPlaceholder(new Label("No " + KEY + " found"));
+        }, this::loadFailed);
+    }
+
+    private void reload() {
+        if (!loaded) {
+            table.setPlaceholder(new Label("Loading " + KEY + "..."));
+        }
+        String query = search;
+        if (!loaded && !snapshotTried && query.isEmpty()) {
+            snapshotTried = true;
+            loader.submit(KEY, () -> SnapshotCache.load(KEY, ReservationRepository.SNAPSHOT_CODEC), snapshot -> {
+                if (snapshot != null) {
+                    loaded = true;
+                    fromSnapshot = true;
+                    atHead = true;
+                    atTail = false;
+                    asOf = snapshot.getSavedAt();
+                    snapshotRows = snapshot.getRows();
+                    rows.setAll(snapshot.getRows());
+                }
+                reload();
+            }, error -> {
+                error.printStackTrace();
+                reload();
+            });
+            return;
+        }
+        loader.submit(KEY, () -> {
+            ReservationRepository.preparePaging();
+            return ReservationRepository.findOlder(PageKey.NEWEST, query, PAGE_SIZE);
+        }, page -> {
+            loaded = true;
+            atHead = true;
+            atTail = page.size() < PAGE_SIZE;
+            if (fromSnapshot) {
+                // Patch the saved rows so the table does not flash
+                merge(page);
+            } else {
+                rows.setAll(page);
+                table.scrollTo(0);
+            }
+            readFromDatabase();
+            table.setPlaceholder(new Label("No " + KEY + " found"));
+        }, this::loadFailed);
+    }
+
+    private void readFromDatabase() {
+        fromSnapshot = false;
+        asOf = System.currentTimeMillis();
+        offlineListener.accept(0);
+        saveSnapshot();
+    }
+
+    private void loadFailed(Throwable error) {
+        error.printStackTrace();
+        if (!loaded) {
+            table.setPlaceholder(new Label("Could not load " + KEY + ": " + error.getMessage()));
+        } else {
+            offlineListener.accept(asOf);
+        }
+    }
+
+    // Saves the newest page when the window holds it unfiltered and it differs from the last save
+    private void saveSnapshot() {
+        if (!atHead || !search.isEmpty()) {
+            return;
+        }
+        List<Reservation> page = new ArrayList<>(rows.subList(0, Math.min(PAGE_SIZE, rows.size())));
+        if (sameRows(page, snapshotRows)) {
+            return;
+        }
+        snapshotRows = page;
+        AsyncLoader.executor().execute(() -> {
+            try {
+                SnapshotCache.save(KEY, ReservationRepository.SNAPSHOT_CODEC, page, 0);
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not save a snapshot of " + KEY, e);
+            }
+        });
+    }
+
+    private static boolean sameRows(List<Reservation> a, List<Reservation> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (compare(a.get(i), b.get(i)) != 0 || !sameContent(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void loadOlder() {
+        if (!loaded || atTail || rows.isEmpty() || loader.isLoading(KEY)) {
+            return;
+        }
+        PageKey after = PageKey.of(rows.get(rows.size() - 1));
+        String query = search;
+        loader.submit(KEY, () -> ReservationRepository.findOlder(after, query, PAGE_SIZE), page -> {
+            atTail = page.size() < PAGE_SIZE;
+            rows.addAll(page);
+            if (rows.size() > MAX_ROWS) {
+                // Drop the newest rows and shift the view so the visible rows stay put
+                int drop = rows.size() - MAX_ROWS;
+                int first = firstVisibleIndex();
+                rows.remove(0, drop);
+                atHead = false;
+                flow.scrollToTop(Math.max(0, first - drop));
+            }
+        }, Throwable::printStackTrace);
+    }
+
+    private void loadNewer() {
+        if (!loaded || atHead || rows.isEmpty() || loader.isLoading(KEY)) {
+            return;
+        }
+        PageKey before = PageKey.of(rows.get(0));
+        String query = search;
+        loader.submit(KEY, () -> ReservationRepository.findNewer(before, query, PAGE_SIZE), page -> {
+            atHead = page.size() < PAGE_SIZE;
+            int first = firstVisibleIndex();
+            rows.addAll(0, page);
+            flow.scrollToTop(first + page.size());
+            if (rows.size() > MAX_ROWS) {
+                rows.remove(MAX_ROWS, rows.size());
+                atTail = false;
+            }
+        }, Throwable::printStackTrace);
+    }
+
+    private void attachToFlow() {
+        flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+        if (flow == null) {
+            return;
+        }
+        flow.positionProperty().addListener((obs, oldPos, newPos) -> {
+            double position = newPos.doubleValue();
+            if (position >= 1 - PREFETCH_MARGIN) {
+                loadOlder();
+            } else if (position <= PREFETCH_MARGIN) {
+                loadNewer();
+            }
+        });
+    }
+
+    // Both lists are newest first; walk them together, replacing rows whose key matches,
+    // inserting new ones and removing rows that are gone or moved elsewhere
+    private void merge(List<Reservation> fresh) {
+        int i = 0;
+        for (Reservation row : fresh) {
+            while (i < rows.size() && compare(rows.get(i), row) < 0) {
+                rows.remove(i);
+            }
+            if (i < rows.size() && compare(rows.get(i), row) == 0) {
+                if (!sameContent(rows.get(i), row)) {
+                    rows.set(i, row);
+                }
+            } else {
+                rows.add(i, row);
+            }
+            i++;
+        }
+        if (i < rows.size()) {
+            rows.remove(i, rows.size());
+        }
+    }
+
+    // Negative when a sorts before b in the newest-first order
+    private static int compare(Reservation a, Reservation b) {
+        int byDate = Integer.compare(b.getCheckInDay(), a.getCheckInDay());
+        return byDate != 0 ? byDate : Integer.compare(b.getId(), a.getId());
+    }
+
+    private static boolean sameContent(Reservation a, Reservation b) {
+        // Hotel and room type codes come from one table, so equal codes mean equal names
+        return a.getRoomNumber() == b.getRoomNumber()
+                && a.getCheckOutDay() == b.getCheckOutDay()
+                && a.getCustomerId() == b.getCustomerId()
+                && a.getCustomerName().equals(b.getCustomerName())
+                && a.getHotelCode() == b.getHotelCode()
+                && a.getRoomTypeCode() == b.getRoomTypeCode();
+    }
+
+    private int firstVisibleIndex() {
+        IndexedCell<?> cell = flow == null ? null : flow.getFirstVisibleCell();
+        return cell == null ? 0 : cell.getIndex();
+    }
+
+    private Reservation firstVisibleRow() {
+        int index = firstVisibleIndex();
+        return index > 0 && index < rows.size() ? rows.get(index) : null;
+    }
+
+    // Rows inserted above the viewport would otherwise push the visible rows down
+    private void keepInView(Reservation row) {
+        if (row == null || flow == null) {
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getId() == row.getId()) {
+                flow.scrollToTop(i);
+                return;
+            }
+        }
+    }
+}
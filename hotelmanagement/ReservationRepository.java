@@ -0,0 +1,327 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Reservation;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReservationRepository extends Repository {
+
+    // A page is picked from reservations alone and only its rows are joined. Joining first
+    // lets the optimizer drive the join from another table and sort all of it before the LIMIT.
+    private static final String PAGE_FROM = "SELECT r.id, r.customer_id, r.room_number, r.check_in, r.check_out " +
+            "FROM reservations r WHERE ";
+    // Email and phone are left out; Reservation.resolveContact() fetches them when a dialog needs them
+    private static final String JOIN_PAGE = "SELECT r.id, r.customer_id, c.name AS customerName, " +
+            "r.room_number, r.check_in, r.check_out, " +
+            "h.name AS hotel_name, rm.type AS room_type " +
+            "FROM (%s) r " +
+            "JOIN customers c ON r.customer_id = c.id " +
+            "JOIN rooms rm ON r.room_number = rm.number " +
+            "JOIN hotels h ON rm.hotel_id = h.id";
+    // Keeps the page to rows the joins will not drop, so a page is never short by an orphan
+    private static final String HAS_PARENTS = "EXISTS (SELECT 1 FROM customers c WHERE c.id = r.customer_id) " +
+            "AND EXISTS (SELECT 1 FROM rooms rm JOIN hotels h ON rm.hotel_id = h.id WHERE rm.number = r.room_number)";
+
+    // Keyset conditions on (check_in, id). The leading bound repeats the first column on its
+    // own so the optimizer sees a range on idx_reservations_check_in_id instead of an OR.
+    private static final String BEFORE_KEY = "r.check_in <= ? AND (r.check_in < ? OR (r.check_in = ? AND r.id < ?))";
+    private static final String AFTER_KEY = "r.check_in >= ? AND (r.check_in > ? OR (r.check_in = ? AND r.id > ?))";
+    private static final String AT_OR_BEFORE_KEY = "r.check_in <= ? AND (r.check_in < ? OR (r.check_in = ? AND r.id <= ?))";
+    private static final String AT_OR_AFTER_KEY = "r.check_in >= ? AND (r.check_in > ? OR (r.check_in = ? AND r.id >= ?))";
+    // First ? is the raw search text; empty means no filter. Same fields as the old in-memory filter.
+    private static final String MATCHES_SEARCH = "(? = '' " +
+            "OR EXISTS (SELECT 1 FROM customers c WHERE c.id = r.customer_id AND LOWER(c.name) LIKE ?) " +
+            "OR CONCAT(r.room_number, '') LIKE ?)";
+    private static final String NEWEST_FIRST = " ORDER BY r.check_in DESC, r.id DESC";
+    private static final String OLDEST_FIRST = " ORDER BY r.check_in ASC, r.id ASC";
+
+    private static final NamedQuery INSERT = new NamedQuery("reservations.insert",
+            "INSERT INTO reservations (customer_id, room_number, check_in, check_out) VALUES (?, ?, ?, ?)");
+    private static final NamedQuery UPDATE_DATES = new NamedQuery("reservations.updateDates",
+            "UPDATE reservations SET check_in = ?, check_out = ? WHERE id = ?");
+    // Any stay in the room overlapping [check_in, check_out); back-to-back stays are fine
+    private static final NamedQuery FIND_OVERLAP = new NamedQuery("reservations.overlap",
+            "SELECT id, check_in, check_out FROM reservations " +
+                    "WHERE room_number = ? AND check_in < ? AND check_out > ? AND id <> ? LIMIT 1");
+    private static final NamedQuery DELETE = new NamedQuery("reservations.delete",
+            "DELETE FROM reservations WHERE id = ?");
+    private static final NamedQuery MARK_ARRIVED = new NamedQuery("reservations.markArrived",
+            "UPDATE reservations SET status = 'ARRIVED' WHERE id = ?");
+    private static final NamedQuery FIND_FOR_EDIT = new NamedQuery("reservations.byId",
+            "SELECT r.id, r.customer_id, c.name, r.room_number, r.check_in, r.check_out, " +
+                    "rm.hotel_id, h.name as hotel_name " +
+                    "FROM reservations r " +
+                    "JOIN customers c ON r.customer_id = c.id " +
+                    "JOIN rooms rm ON r.room_number = rm.number " +
+                    "JOIN hotels h ON rm.hotel_id = h.id " +
+                    "WHERE r.id = ?");
+    // One fixed IN list, so the statement is prepared once; short lists repeat their last id
+    private static final int ID_CHUNK_SIZE = 100;
+    private static final NamedQuery FIND_BY_IDS = new NamedQuery("reservations.byIds",
+            String.format(JOIN_PAGE, PAGE_FROM + "r.id IN (" + RoomAvailabilityUpdater.placeholders(ID_CHUNK_SIZE) + ")"));
+    private static final NamedQuery PAGE_OLDER = new NamedQuery("reservations.pageOlder",
+            page(BEFORE_KEY, NEWEST_FIRST));
+    private static final NamedQuery PAGE_NEWER = new NamedQuery("reservations.pageNewer",
+            page(AFTER_KEY, OLDEST_FIRST));
+    private static final NamedQuery PAGE_RANGE = new NamedQuery("reservations.pageRange",
+            page(AT_OR_BEFORE_KEY + " AND " + AT_OR_AFTER_KEY, NEWEST_FIRST));
+
+    // Every reservation with its display columns, in id order. LEFT JOINs keep orphaned rows
+    // and let the scan be driven by the reservations primary key, so nothing is sorted.
+    private static final NamedQuery EXPORT = new NamedQuery("reservations.export",
+            "SELECT r.id, r.customer_id, c.name AS customer_name, c.email AS customer_email, " +
+                    "r.room_number, rm.type AS room_type, rm.hotel_id, h.name AS hotel_name, " +
+                    "r.check_in, r.check_out, r.status " +
+                    "FROM reservations r " +
+                    "LEFT JOIN customers c ON r.customer_id = c.id " +
+                    "LEFT JOIN rooms rm ON r.room_number = rm.number " +
+                    "LEFT JOIN hotels h ON rm.hotel_id = h.id " +
+                    "ORDER BY r.id");
+
+    // The columns OccupancyStore keeps, for every reservation of a room that belongs to a hotel
+    private static final NamedQuery ANALYTICS = new NamedQuery("reservations.analytics",
+            "SELECT r.room_number, rm.hotel_id, r.check_in, r.check_out, rm.type " +
+                    "FROM reservations r " +
+                    "JOIN rooms rm ON r.room_number = rm.number " +
+                    "WHERE rm.hotel_id IS NOT NULL");
+
+    // Names rather than StringTable codes, since codes are only stable within one run
+    static final SnapshotCache.Codec<Reservation> SNAPSHOT_CODEC = new SnapshotCache.Codec<>() {
+        @Override
+        public void write(SnapshotCache.Writer out, Reservation reservation) throws IOException {
+            out.writeInt(reservation.getId());
+            out.writeInt(reservation.getCustomerId());
+            out.writeString(reservation.getCustomerName());
+            out.writeInt(reservation.getRoomNumber());
+            out.writeInt(reservation.getCheckInDay());
+            out.writeInt(reservation.getCheckOutDay());
+            out.writeString(reservation.getHotelName());
+            out.writeString(reservation.getRoomType());
+        }
+
+        @Override
+        public Reservation read(SnapshotCache.Reader in) {
+            return new Reservation(in.readInt(), in.readInt(), in.readString(), in.readInt(),
+                    LocalDate.ofEpochDay(in.readInt()), LocalDate.ofEpochDay(in.readInt()),
+                    in.readString(), in.readString());
+        }
+    };
+
+    private ReservationRepository() {
+    }
+
+    private static String page(String range, String order) {
+        String inner = PAGE_FROM + range + " AND " + MATCHES_SEARCH + " AND " + HAS_PARENTS + order + " LIMIT ?";
+        return String.format(JOIN_PAGE, inner) + order;
+    }
+
+    // Returns the new reservation id, or -1 if the driver did not report one. Bookings go
+    // through BookingService, which calls this inside its transaction.
+    public static int insert(Connection conn, int customerId, int roomNumber, LocalDate checkIn, LocalDate checkOut)
+            throws SQLException {
+        return insert(conn, INSERT, pstmt -> {
+            pstmt.setInt(1, customerId);
+            pstmt.setInt(2, roomNumber);
+            pstmt.setDate(3, Date.valueOf(checkIn));
+            pstmt.setDate(4, Date.valueOf(checkOut));
+        });
+    }
+
+    // Inserts the rows as one JDBC batch inside the caller's transaction; see Repository.insertBatch
+    public static int[] insertBatch(Connection conn, List<ReservationImporter.ImportRow> rows) throws SQLException {
+        return insertBatch(conn, INSERT, rows, (pstmt, row) -> {
+            pstmt.setInt(1, row.getCustomerId());
+            pstmt.setInt(2, row.getRoomNumber());
+            pstmt.setDate(3, Date.valueOf(row.getCheckIn()));
+            pstmt.setDate(4, Date.valueOf(row.getCheckOut()));
+        });
+    }
+
+    public static void updateDates(Connection conn, int id, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        update(conn, UPDATE_DATES, pstmt -> {
+            pstmt.setDate(1, Date.valueOf(checkIn));
+            pstmt.setDate(2, Date.valueOf(checkOut));
+            pstmt.setInt(3, id);
+        });
+    }
+
+    // First reservation other than ignoreId holding the room on any night of [checkIn, checkOut),
+    // mapped from (id, check_in, check_out), or null when the room is free
+    public static <T> T findOverlap(Connection conn, int roomNumber, LocalDate checkIn, LocalDate checkOut,
+            int ignoreId, RowMapper<T> mapper) throws SQLException {
+        return queryFirst(conn, FIND_OVERLAP, pstmt -> {
+            pstmt.setInt(1, roomNumber);
+            pstmt.setDate(2, Date.valueOf(checkOut));
+            pstmt.setDate(3, Date.valueOf(checkIn));
+            pstmt.setInt(4, ignoreId);
+        }, mapper);
+    }
+
+    public static void delete(Connection conn, int id) throws SQLException {
+        update(conn, DELETE, pstmt -> pstmt.setInt(1, id));
+    }
+
+    // False when there is no such reservation
+    public static boolean markArrived(Connection conn, int id) throws SQLException {
+        return update(conn, MARK_ARRIVED, pstmt -> pstmt.setInt(1, id)) > 0;
+    }
+
+    // Reservation with customer_id, name, hotel_id and hotel_name columns; the caller maps what it needs
+    public static <T> T findForEdit(int id, RowMapper<T> mapper) throws SQLException {
+        return queryFirst(FIND_FOR_EDIT, pstmt -> pstmt.setInt(1, id), mapper);
+    }
+
+    // Up to limit reservations that come after the key in the tab's newest-first order
+    public static List<Reservation> findOlder(PageKey after, String search, int limit) throws SQLException {
+        return queryList(PAGE_OLDER, pstmt -> {
+            int i = bindKey(pstmt, 1, after);
+            i = bindSearch(pstmt, i, search);
+            pstmt.setInt(i, limit);
+        }, mapper(), limit);
+    }
+
+    // Up to limit reservations directly before the key, returned newest first
+    public static List<Reservation> findNewer(PageKey before, String search, int limit) throws SQLException {
+        List<Reservation> rows = queryList(PAGE_NEWER, pstmt -> {
+            int i = bindKey(pstmt, 1, before);
+            i = bindSearch(pstmt, i, search);
+            pstmt.setInt(i, limit);
+        }, mapper(), limit);
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    // Reservations from newest down to oldest, both keys included, newest first
+    public static List<Reservation> findBetween(PageKey newest, PageKey oldest, String search, int limit)
+            throws SQLException {
+        return queryList(PAGE_RANGE, pstmt -> {
+            int i = bindKey(pstmt, 1, newest);
+            i = bindKey(pstmt, i, oldest);
+            i = bindSearch(pstmt, i, search);
+            pstmt.setInt(i, limit);
+        }, mapper(), limit);
+    }
+
+    // The reservations with the given ids, in no particular order; ids that no longer exist are left out
+    public static List<Reservation> findByIds(Collection<Integer> ids) throws SQLException {
+        List<Integer> all = new ArrayList<>(ids);
+        List<Reservation> rows = new ArrayList<>(all.size());
+        if (all.isEmpty()) {
+            return rows;
+        }
+        RowMapper<Reservation> mapper = mapper();
+        try (Connection conn = Database.getConnection()) {
+            for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = all.subList(from, Math.min(from + ID_CHUNK_SIZE, all.size()));
+                rows.addAll(queryList(conn, FIND_BY_IDS, pstmt -> {
+                    for (int i = 0; i < ID_CHUNK_SIZE; i++) {
+                        pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                }, mapper));
+            }
+        }
+        return rows;
+    }
+
+    public static <T> T streamForExport(int fetchSize, ResultSetReader<T> reader) throws SQLException, IOException {
+        return stream(EXPORT, NO_PARAMS, fetchSize, reader);
+    }
+
+    public static <T> T streamForAnalytics(int fetchSize, ResultSetReader<T> reader) throws SQLException, IOException {
+        return stream(ANALYTICS, NO_PARAMS, fetchSize, reader);
+    }
+
+    // The paging queries need the (check_in, id) index; checked once, before the first page
+    public static void preparePaging() throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            Schema.checkReservationPagingIndex(conn);
+        }
+    }
+
+    // The overlap check needs the (room_number, check_in) index; checked once, before the first booking
+    public static void prepareBooking() throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            Schema.checkReservationRoomIndex(conn);
+        }
+    }
+
+    private static int bindKey(PreparedStatement pstmt, int i, PageKey key) throws SQLException {
+        Date checkIn = Date.valueOf(key.getCheckIn());
+        pstmt.setDate(i, checkIn);
+        pstmt.setDate(i + 1, checkIn);
+        pstmt.setDate(i + 2, checkIn);
+        pstmt.setInt(i + 3, key.getId());
+        return i + 4;
+    }
+
+    private static int bindSearch(PreparedStatement pstmt, int i, String search) throws SQLException {
+        String pattern = "%" + escapeLike(search.toLowerCase()) + "%";
+        pstmt.setString(i, search);
+        pstmt.setString(i + 1, pattern);
+        pstmt.setString(i + 2, pattern);
+        return i + 3;
+    }
+
+    // A mapper for one query; rows of the same customer share one name String
+    static RowMapper<Reservation> mapper() {
+        Map<Integer, String> names = new HashMap<>();
+        return rs -> map(rs, names);
+    }
+
+    private static Reservation map(ResultSet rs, Map<Integer, String> names) throws SQLException {
+        int customerId = rs.getInt("customer_id");
+        String name = names.get(customerId);
+        if (name == null) {
+            name = rs.getString("customerName");
+            names.put(customerId, name);
+        }
+        return new Reservation(
+                rs.getInt("id"),
+                customerId,
+                name,
+                rs.getInt("room_number"),
+                rs.getDate("check_in").toLocalDate(),
+                rs.getDate("check_out").toLocalDate(),
+                rs.getString("hotel_name"),
+                rs.getString("room_type"));
+    }
+
+    // Position of a reservation in the Reservations tab order (check_in descending, then id descending)
+    public static final class PageKey {
+        // Sorts before and after every real reservation
+        public static final PageKey NEWEST = new PageKey(LocalDate.of(9999, 12, 31), Integer.MAX_VALUE);
+        public static final PageKey OLDEST = new PageKey(LocalDate.of(1, 1, 1), Integer.MIN_VALUE);
+
+        private final LocalDate checkIn;
+        private final int id;
+
+        public PageKey(LocalDate checkIn, int id) {
+            this.checkIn = checkIn;
+            this.id = id;
+        }
+
+        public static PageKey of(Reservation reservation) {
+            return new PageKey(reservation.getCheckInDate(), reservation.getId());
+        }
+
+        public LocalDate getCheckIn() {
+            return checkIn;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+}
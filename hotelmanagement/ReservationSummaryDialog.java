@@ -301,14 +301,8 @@ public class ReservationSummaryDialog {
     }
 
     private String calculateDuration() {
-        try {
-            java.time.LocalDate checkIn = java.time.LocalDate.parse(reservation.getCheckIn());
-            java.time.LocalDate checkOut = java.time.LocalDate.parse(reservation.getCheckOut());
-            long nights = java.time.temporal.ChronoUnit.DAYS.between(checkIn, checkOut);
-            return nights + (nights == 1 ? " night" : " nights");
-        } catch (Exception e) {
-            return "N/A";
-        }
+        int nights = reservation.getCheckOutDay() - reservation.getCheckInDay();
+        return nights + (nights == 1 ? " night" : " nights");
     }
 
     private String formatDate(String dateStr) {
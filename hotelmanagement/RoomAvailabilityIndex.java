@@ -0,0 +1,855 @@
+package com.hotelmanagement;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory room availability. Each room keeps its bookings as a sorted set of disjoint
+// occupied intervals [check_in, check_out) in epoch days, so "is this room free over
+// [in, out)" is a single floor lookup instead of a scan of the reservations table.
+// The same nights are mirrored into a RoomNightCalendar over the next hotel.calendar.days
+// nights, which answers range checks and per-hotel night counts with a few word operations.
+// Bookings are also indexed by check-in and check-out day, for the front desk's arrivals
+// and departures. Loaded once, then kept current by the Dashboard reservation and room handlers.
+// refresh() reloads it in the background while the current index keeps answering; the hooks
+// that run during a load are recorded and replayed onto the new index before it replaces the
+// old one, so a load is never thrown away and redone. sync() applies what other desks changed
+// since the last read without a reload, and listeners hear about every change that did not
+// come from this desk's own hooks, including the daily roll to a new day.
+public class RoomAvailabilityIndex {
+
+    private static volatile RoomAvailabilityIndex instance;
+    // Held for a whole load, so only one runs at a time
+    private static final Object LOAD_LOCK = new Object();
+    // Guards recording, changesDuringLoad and the swap to a new instance
+    private static final Object CHANGE_LOCK = new Object();
+    private static final List<Consumer<RoomAvailabilityIndex>> changesDuringLoad = new ArrayList<>();
+    private static boolean recording = false;
+    private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+    // Set by refresh(), cleared when a load starts; a refresh during a load asks for one more
+    private static final AtomicBoolean STALE = new AtomicBoolean();
+    private static final int CALENDAR_DAYS = Integer.getInteger("hotel.calendar.days", 730);
+    // Once the calendar window has slid this far behind today it is rebuilt from the database
+    private static final int ROLL_AFTER_DAYS = 7;
+    // reservations.status once the guest has checked in
+    private static final String ARRIVED = "ARRIVED";
+    // Re-read a little before the mark so bookings committed late with an older timestamp are not missed
+    private static final long OVERLAP_MILLIS = 2000;
+    // Ids per IN list when the sync loads bookings it missed
+    private static final int ID_CHUNK_SIZE = 500;
+    private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RoomEntry> rooms = new HashMap<>();
+    private final Map<Integer, TreeSet<Integer>> roomsByHotel = new HashMap<>();
+    private final Map<Integer, Booking> bookings = new HashMap<>();
+    // Epoch day -> ids of the bookings checking in / checking out that day
+    private final Map<Integer, TreeSet<Integer>> arrivalsByDay = new HashMap<>();
+    private final Map<Integer, TreeSet<Integer>> departuresByDay = new HashMap<>();
+    // Bookings that ended before this day were not loaded; older queries go to the database
+    private final int horizon;
+    private final RoomNightCalendar calendar;
+    // Newest reservations.updated_at this index has read; only used under LOAD_LOCK
+    private Timestamp highWater;
+
+    private RoomAvailabilityIndex(int horizon) {
+        this.horizon = horizon;
+        this.calendar = new RoomNightCalendar(horizon, CALENDAR_DAYS);
+    }
+
+    // The current index. Only the first call waits for the database, and it is made from
+    // the background at startup; once loaded, an index is served until its replacement is in.
+    public static RoomAvailabilityIndex getInstance() throws SQLException {
+        RoomAvailabilityIndex current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (LOAD_LOCK) {
+            return instance != null ? instance : reloadLocked();
+        }
+    }
+
+    // Loads and installs a new index on the calling thread, e.g. to time a load;
+    // the app itself uses refresh()
+    public static RoomAvailabilityIndex reload() throws SQLException {
+        synchronized (LOAD_LOCK) {
+            return reloadLocked();
+        }
+    }
+
+    // Picks up bookings made from other desks, or after a conflict showed the index missed
+    // one. Reloads in the background; callers keep getting the current index meanwhile.
+    public static void refresh() {
+        STALE.set(true);
+        if (instance != null) {
+            refreshInBackground();
+        }
+    }
+
+    // Reloads a loaded index whose window starts more than ROLL_AFTER_DAYS ago, so the
+    // calendar keeps covering the nights ahead; called from the daily availability sweep,
+    // so listeners are told every time, since "today" has moved either way
+    public static void roll() throws SQLException {
+        RoomAvailabilityIndex current = instance;
+        if (current != null && current.horizon < LocalDate.now().toEpochDay() - ROLL_AFTER_DAYS) {
+            synchronized (LOAD_LOCK) {
+                reloadLocked();
+            }
+        }
+        changed();
+    }
+
+    // Applies the bookings changed in the database since the index last read it: rows whose
+    // updated_at moved are re-read, and when the count of current bookings does not add up,
+    // their ids are read to find deletes. Bookings still in the WriteBehindQueue are left to
+    // this desk's hooks. Runs in the background; does nothing before the first load.
+    public static void sync() throws SQLException {
+        boolean changed;
+        synchronized (LOAD_LOCK) {
+            RoomAvailabilityIndex current = instance;
+            if (current == null) {
+                return;
+            }
+            changed = current.syncLocked();
+        }
+        if (changed) {
+            changed();
+        }
+    }
+
+    // Called on a background thread after the index changed other than through its hooks
+    public static void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private static void changed() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private static void refreshInBackground() {
+        if (!REFRESHING.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncLoader.executor().execute(() -> {
+            boolean loaded = false;
+            try {
+                synchronized (LOAD_LOCK) {
+                    reloadLocked();
+                }
+                loaded = true;
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                REFRESHING.set(false);
+            }
+            if (loaded) {
+                changed();
+            }
+            // A refresh() after this load read the database, which found it still running
+            if (loaded && STALE.get()) {
+                refreshInBackground();
+            }
+        });
+    }
+
+    // Loads once, replays the hooks that ran meanwhile and installs the result
+    private static RoomAvailabilityIndex reloadLocked() throws SQLException {
+        STALE.set(false);
+        synchronized (CHANGE_LOCK) {
+            changesDuringLoad.clear();
+            recording = true;
+        }
+        RoomAvailabilityIndex loaded;
+        try {
+            loaded = load();
+        } catch (SQLException | RuntimeException e) {
+            synchronized (CHANGE_LOCK) {
+                recording = false;
+                changesDuringLoad.clear();
+            }
+            throw e;
+        }
+        synchronized (CHANGE_LOCK) {
+            // Hooks are idempotent, so one whose write the load already read is harmless
+            for (Consumer<RoomAvailabilityIndex> change : changesDuringLoad) {
+                loaded.applyChange(change);
+            }
+            changesDuringLoad.clear();
+            recording = false;
+            instance = loaded;
+        }
+        return loaded;
+    }
+
+    private static RoomAvailabilityIndex load() throws SQLException {
+        int today = (int) LocalDate.now().toEpochDay();
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(today);
+        Metrics.label("rooms.availabilityIndex", () -> {
+            try (Connection conn = Database.getConnection()) {
+                Schema.requireChangeTracking(conn);
+                // Read first, so a booking committed during the load is read again by the next sync()
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery("SELECT MAX(updated_at) FROM reservations")) {
+                    Timestamp newest = rs.next() ? rs.getTimestamp(1) : null;
+                    index.highWater = newest != null ? newest : new Timestamp(0);
+                }
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery("SELECT number, hotel_id, available FROM rooms")) {
+                    while (rs.next()) {
+                        index.putRoom(rs.getInt("number"), rs.getInt("hotel_id"), rs.getBoolean("available"));
+                    }
+                }
+                // Stays ending today hold no night from today on, but are today's departures
+                String sql = "SELECT id, room_number, check_in, check_out, status FROM reservations WHERE check_out >= ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setDate(1, Date.valueOf(LocalDate.ofEpochDay(today)));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            index.putBooking(readBooking(rs));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        for (int number : index.rooms.keySet()) {
+            index.rebuild(number);
+        }
+        return index;
+    }
+
+    // True if anything changed. Holding LOAD_LOCK means no load is recording, so the changes
+    // go straight to this index, which is the current one.
+    private boolean syncLocked() throws SQLException {
+        // Read before the database, so an edit that commits meanwhile still counts as pending
+        Set<Integer> queued = WriteBehindQueue.pendingKeys("reservations");
+        Date from = Date.valueOf(LocalDate.ofEpochDay(horizon));
+        return Metrics.label("rooms.availabilityIndexSync", () -> {
+            boolean changed = false;
+            try (Connection conn = Database.getConnection()) {
+                Timestamp newHighWater = highWater;
+                List<Booking> rows = new ArrayList<>();
+                String sql = "SELECT id, room_number, check_in, check_out, status, updated_at FROM reservations "
+                        + "WHERE updated_at > ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setTimestamp(1, new Timestamp(highWater.getTime() - OVERLAP_MILLIS));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Booking booking = readBooking(rs);
+                            Timestamp changedAt = rs.getTimestamp("updated_at");
+                            if (changedAt != null && changedAt.after(newHighWater)) {
+                                newHighWater = changedAt;
+                            }
+                            if (!queued.contains(booking.id)) {
+                                rows.add(booking);
+                            }
+                        }
+                    }
+                }
+                for (Booking booking : rows) {
+                    changed |= putIfChanged(booking);
+                }
+                highWater = newHighWater;
+
+                // Only bookings known before the ids are read can be deleted by them; one this desk
+                // commits meanwhile reaches its hook after its commit, so the read includes it.
+                // The same ids give the inserts whose updated_at fell behind the overlap.
+                Set<Integer> known = currentBookingIds();
+                if (count(conn, from) != known.size()) {
+                    Set<Integer> live = liveIds(conn, from);
+                    Set<Integer> unseen = new HashSet<>(live);
+                    unseen.removeAll(known);
+                    unseen.removeAll(queued);
+                    for (Booking booking : bookingsById(conn, unseen)) {
+                        changed |= putIfChanged(booking);
+                    }
+                    known.removeAll(live);
+                    known.removeAll(queued);
+                    for (int id : known) {
+                        applyChange(index -> {
+                            Booking previous = index.removeBooking(id);
+                            if (previous != null) {
+                                index.rebuild(previous.roomNumber);
+                            }
+                        });
+                        changed = true;
+                    }
+                }
+            }
+            return changed;
+        });
+    }
+
+    // Skips a booking the index already has as it is, which the overlap re-reads every time
+    private boolean putIfChanged(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Booking previous = bookings.get(booking.id);
+            if (previous != null && previous.roomNumber == booking.roomNumber && previous.checkIn == booking.checkIn
+                    && previous.checkOut == booking.checkOut && previous.arrived == booking.arrived) {
+                return false;
+            }
+            removeBooking(booking.id);
+            putBooking(booking);
+            if (previous != null && previous.roomNumber != booking.roomNumber) {
+                rebuild(previous.roomNumber);
+            }
+            rebuild(booking.roomNumber);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the bookings the load would read today, i.e. those that have not ended before horizon
+    private Set<Integer> currentBookingIds() {
+        lock.readLock().lock();
+        try {
+            Set<Integer> ids = new HashSet<>();
+            for (Booking booking : bookings.values()) {
+                if (booking.checkOut >= horizon) {
+                    ids.add(booking.id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int count(Connection conn, Date from) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM reservations WHERE check_out >= ?")) {
+            pstmt.setDate(1, from);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static Set<Integer> liveIds(Connection conn, Date from) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM reservations WHERE check_out >= ?")) {
+            pstmt.setDate(1, from);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Booking> bookingsById(Connection conn, Set<Integer> ids) throws SQLException {
+        List<Integer> all = new ArrayList<>(ids);
+        List<Booking> found = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+            List<Integer> chunk = all.subList(from, Math.min(from + ID_CHUNK_SIZE, all.size()));
+            String sql = "SELECT id, room_number, check_in, check_out, status FROM reservations WHERE id IN ("
+                    + RoomAvailabilityUpdater.placeholders(chunk.size()) + ")";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(readBooking(rs));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Booking readBooking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking(rs.getInt("id"), rs.getInt("room_number"),
+                (int) rs.getDate("check_in").toLocalDate().toEpochDay(),
+                (int) rs.getDate("check_out").toLocalDate().toEpochDay());
+        booking.arrived = ARRIVED.equals(rs.getString("status"));
+        return booking;
+    }
+
+    // =================== Queries ===================
+
+    // Rooms of the hotel flagged available and free for every night in [checkIn, checkOut).
+    // ignoreReservationId lets an edited reservation not conflict with itself.
+    public List<Integer> freeRooms(int hotelId, LocalDate checkIn, LocalDate checkOut, Integer ignoreReservationId)
+            throws SQLException {
+        int in = (int) checkIn.toEpochDay();
+        int out = (int) checkOut.toEpochDay();
+        if (in < horizon) {
+            return freeRoomsFromDatabase(hotelId, checkIn, checkOut, ignoreReservationId);
+        }
+        lock.readLock().lock();
+        try {
+            return collectFree(roomsByHotel.get(hotelId), in, out, ignoreReservationId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Free rooms per hotel over [checkIn, checkOut), for every hotel at once
+    public Map<Integer, List<Integer>> freeRoomsByHotel(LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        int in = (int) checkIn.toEpochDay();
+        int out = (int) checkOut.toEpochDay();
+        Map<Integer, List<Integer>> result = new TreeMap<>();
+        if (in < horizon) {
+            List<Integer> hotelIds;
+            lock.readLock().lock();
+            try {
+                hotelIds = new ArrayList<>(roomsByHotel.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (int hotelId : hotelIds) {
+                result.put(hotelId, freeRoomsFromDatabase(hotelId, checkIn, checkOut, null));
+            }
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, TreeSet<Integer>> entry : roomsByHotel.entrySet()) {
+                result.put(entry.getKey(), collectFree(entry.getValue(), in, out, null));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Rooms of the hotel flagged available, regardless of dates
+    public List<Integer> availableRooms(int hotelId) {
+        lock.readLock().lock();
+        try {
+            List<Integer> result = new ArrayList<>();
+            TreeSet<Integer> numbers = roomsByHotel.get(hotelId);
+            if (numbers != null) {
+                for (int number : numbers) {
+                    if (rooms.get(number).available) {
+                        result.add(number);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Whether the room exists in the rooms table (bookings can reference rooms that do not)
+    public boolean hasRoom(int roomNumber) {
+        lock.readLock().lock();
+        try {
+            RoomEntry room = rooms.get(roomNumber);
+            return room != null && room.hotelId != -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFree(int roomNumber, LocalDate checkIn, LocalDate checkOut, Integer ignoreReservationId) {
+        lock.readLock().lock();
+        try {
+            RoomEntry room = rooms.get(roomNumber);
+            return room != null && isFree(roomNumber, room, (int) checkIn.toEpochDay(), (int) checkOut.toEpochDay(),
+                    ignoreReservationId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> collectFree(TreeSet<Integer> numbers, int in, int out, Integer ignoreReservationId) {
+        if (numbers == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int number : numbers) {
+            RoomEntry room = rooms.get(number);
+            if (room.available && isFree(number, room, in, out, ignoreReservationId)) {
+                result.add(number);
+            }
+        }
+        return result;
+    }
+
+    // The calendar answers inside its window; a sold night there is only re-checked against
+    // the bookings when it may belong to the reservation being edited
+    private boolean isFree(int number, RoomEntry room, int in, int out, Integer ignoreReservationId) {
+        if (calendar.covers(in, out)) {
+            if (calendar.isFree(number, in, out)) {
+                return true;
+            }
+            if (ignoreReservationId == null) {
+                return false;
+            }
+        }
+        return room.isFree(in, out, ignoreReservationId);
+    }
+
+    // Sold nights of the room over the given nights from the first one: bit n is set when
+    // night first + n is sold. Used by the occupancy grid to draw a room's row.
+    public long[] soldNights(int roomNumber, LocalDate first, int nights) {
+        int from = (int) first.toEpochDay();
+        long[] bits = new long[(nights + 63) >>> 6];
+        lock.readLock().lock();
+        try {
+            RoomEntry room = rooms.get(roomNumber);
+            if (room == null) {
+                return bits;
+            }
+            for (int n = 0; n < nights; n++) {
+                int day = from + n;
+                boolean sold = calendar.covers(day, day + 1) ? calendar.isSold(roomNumber, day)
+                        : !room.isFree(day, day + 1, null);
+                if (sold) {
+                    bits[n >>> 6] |= 1L << n;
+                }
+            }
+            return bits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rooms sold per night over the given nights, for one hotel or for every hotel when hotelId is null
+    public int[] soldRoomsByNight(Integer hotelId, LocalDate first, int nights) {
+        int from = (int) first.toEpochDay();
+        int[] sold = new int[nights];
+        lock.readLock().lock();
+        try {
+            for (int n = 0; n < nights; n++) {
+                int day = from + n;
+                if (calendar.covers(day, day + 1)) {
+                    sold[n] = calendar.soldRooms(hotelId, day);
+                    continue;
+                }
+                for (Map.Entry<Integer, TreeSet<Integer>> hotel : roomsByHotel.entrySet()) {
+                    if (hotelId != null && !hotelId.equals(hotel.getKey())) {
+                        continue;
+                    }
+                    for (int number : hotel.getValue()) {
+                        if (!rooms.get(number).isFree(day, day + 1, null)) {
+                            sold[n]++;
+                        }
+                    }
+                }
+            }
+            return sold;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rooms of the hotel, or of every hotel when hotelId is null
+    public int roomCount(Integer hotelId) {
+        lock.readLock().lock();
+        try {
+            if (hotelId != null) {
+                TreeSet<Integer> numbers = roomsByHotel.get(hotelId);
+                return numbers == null ? 0 : numbers.size();
+            }
+            int count = 0;
+            for (TreeSet<Integer> numbers : roomsByHotel.values()) {
+                count += numbers.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the bookings checking in on the day, ascending; empty for days before the load
+    public List<Integer> arrivals(LocalDate day) {
+        return idsOn(arrivalsByDay, day);
+    }
+
+    // Ids of the bookings checking out on the day, ascending; empty for days before the load
+    public List<Integer> departures(LocalDate day) {
+        return idsOn(departuresByDay, day);
+    }
+
+    // Whether the booking has been marked as arrived; false for bookings this index does not hold
+    public boolean hasArrived(int reservationId) {
+        lock.readLock().lock();
+        try {
+            Booking booking = bookings.get(reservationId);
+            return booking != null && booking.arrived;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> idsOn(Map<Integer, TreeSet<Integer>> byDay, LocalDate day) {
+        lock.readLock().lock();
+        try {
+            TreeSet<Integer> ids = byDay.get((int) day.toEpochDay());
+            return ids == null ? Collections.emptyList() : new ArrayList<>(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<Integer> freeRoomsFromDatabase(int hotelId, LocalDate checkIn, LocalDate checkOut,
+            Integer ignoreReservationId) throws SQLException {
+        String sql = "SELECT r.number FROM rooms r " +
+                "WHERE r.available = true AND r.hotel_id = ? " +
+                "AND NOT EXISTS ( " +
+                "    SELECT 1 FROM reservations res " +
+                "    WHERE res.room_number = r.number AND res.check_in < ? AND res.check_out > ? AND res.id <> ?" +
+                ") " +
+                "ORDER BY r.number";
+        List<Integer> result = new ArrayList<>();
+        Metrics.label("rooms.available", () -> {
+            try (Connection conn = Database.getConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, hotelId);
+                pstmt.setDate(2, Date.valueOf(checkOut));
+                pstmt.setDate(3, Date.valueOf(checkIn));
+                pstmt.setInt(4, ignoreReservationId == null ? -1 : ignoreReservationId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        result.add(rs.getInt("number"));
+                    }
+                }
+            }
+            return null;
+        });
+        return result;
+    }
+
+    // =================== Change hooks ===================
+
+    public static void reservationSaved(int reservationId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        change(index -> {
+            Booking previous = index.removeBooking(reservationId);
+            Booking booking = new Booking(reservationId, roomNumber, (int) checkIn.toEpochDay(),
+                    (int) checkOut.toEpochDay());
+            booking.arrived = previous != null && previous.arrived;
+            index.putBooking(booking);
+            if (previous != null && previous.roomNumber != roomNumber) {
+                index.rebuild(previous.roomNumber);
+            }
+            index.rebuild(roomNumber);
+        });
+    }
+
+    public static void reservationRemoved(int reservationId) {
+        change(index -> {
+            Booking previous = index.removeBooking(reservationId);
+            if (previous != null) {
+                index.rebuild(previous.roomNumber);
+            }
+        });
+    }
+
+    // Marking a guest as arrived, or undoing it when the write is rejected
+    public static void reservationArrived(int reservationId, boolean arrived) {
+        change(index -> {
+            Booking booking = index.bookings.get(reservationId);
+            if (booking != null) {
+                booking.arrived = arrived;
+            }
+        });
+    }
+
+    public static void roomSaved(int roomNumber, int hotelId, boolean available) {
+        change(index -> index.putRoom(roomNumber, hotelId, available));
+    }
+
+    public static void roomRemoved(int roomNumber) {
+        change(index -> {
+            RoomEntry room = index.rooms.remove(roomNumber);
+            if (room != null) {
+                TreeSet<Integer> numbers = index.roomsByHotel.get(room.hotelId);
+                if (numbers != null) {
+                    numbers.remove(roomNumber);
+                }
+                for (Booking booking : room.bookings) {
+                    index.bookings.remove(booking.id);
+                    index.unindexDays(booking);
+                }
+            }
+            index.calendar.removeRoom(roomNumber);
+        });
+    }
+
+    // Applies the change to the current index, and records it for the one being loaded
+    private static void change(Consumer<RoomAvailabilityIndex> change) {
+        RoomAvailabilityIndex index;
+        synchronized (CHANGE_LOCK) {
+            if (recording) {
+                changesDuringLoad.add(change);
+            }
+            index = instance;
+        }
+        if (index != null) {
+            index.applyChange(change);
+        }
+    }
+
+    private void applyChange(Consumer<RoomAvailabilityIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(this);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =================== Internals ===================
+
+    private void putRoom(int number, int hotelId, boolean available) {
+        RoomEntry room = rooms.get(number);
+        if (room == null) {
+            room = new RoomEntry(hotelId, available);
+            rooms.put(number, room);
+        } else if (room.hotelId != hotelId) {
+            TreeSet<Integer> previousHotel = roomsByHotel.get(room.hotelId);
+            if (previousHotel != null) {
+                previousHotel.remove(number);
+            }
+        }
+        room.hotelId = hotelId;
+        room.available = available;
+        roomsByHotel.computeIfAbsent(hotelId, id -> new TreeSet<>()).add(number);
+        calendar.setHotel(number, hotelId);
+    }
+
+    // Re-merges the room's bookings and mirrors the result into the calendar
+    private void rebuild(int number) {
+        RoomEntry room = roomEntry(number);
+        room.rebuild();
+        calendar.setSold(number, room.occupied);
+    }
+
+    private void putBooking(Booking booking) {
+        bookings.put(booking.id, booking);
+        roomEntry(booking.roomNumber).bookings.add(booking);
+        arrivalsByDay.computeIfAbsent(booking.checkIn, day -> new TreeSet<>()).add(booking.id);
+        departuresByDay.computeIfAbsent(booking.checkOut, day -> new TreeSet<>()).add(booking.id);
+    }
+
+    // The removed booking, or null; the caller rebuilds its room
+    private Booking removeBooking(int reservationId) {
+        Booking booking = bookings.remove(reservationId);
+        if (booking != null) {
+            roomEntry(booking.roomNumber).remove(booking);
+            unindexDays(booking);
+        }
+        return booking;
+    }
+
+    private void unindexDays(Booking booking) {
+        unindexDay(arrivalsByDay, booking.checkIn, booking.id);
+        unindexDay(departuresByDay, booking.checkOut, booking.id);
+    }
+
+    private static void unindexDay(Map<Integer, TreeSet<Integer>> byDay, int day, int id) {
+        TreeSet<Integer> ids = byDay.get(day);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            byDay.remove(day);
+        }
+    }
+
+    // Reservations can reference a room this index has not seen yet; track it without a hotel
+    private RoomEntry roomEntry(int number) {
+        return rooms.computeIfAbsent(number, n -> new RoomEntry(-1, false));
+    }
+
+    private static class Booking {
+        final int id;
+        final int roomNumber;
+        final int checkIn;
+        final int checkOut;
+        boolean arrived;
+
+        Booking(int id, int roomNumber, int checkIn, int checkOut) {
+            this.id = id;
+            this.roomNumber = roomNumber;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+
+    private static class RoomEntry {
+        int hotelId;
+        boolean available;
+        final List<Booking> bookings = new ArrayList<>();
+        // Disjoint occupied intervals: start day -> end day (exclusive)
+        TreeMap<Integer, Integer> occupied = new TreeMap<>();
+
+        RoomEntry(int hotelId, boolean available) {
+            this.hotelId = hotelId;
+            this.available = available;
+        }
+
+        void remove(Booking booking) {
+            bookings.removeIf(b -> b.id == booking.id);
+        }
+
+        // Merges the room's bookings into disjoint intervals
+        void rebuild() {
+            List<Booking> sorted = new ArrayList<>(bookings);
+            sorted.sort((a, b) -> Integer.compare(a.checkIn, b.checkIn));
+            TreeMap<Integer, Integer> merged = new TreeMap<>();
+            int start = 0;
+            int end = Integer.MIN_VALUE;
+            for (Booking booking : sorted) {
+                if (booking.checkOut <= booking.checkIn) {
+                    continue;
+                }
+                if (booking.checkIn < end) {
+                    end = Math.max(end, booking.checkOut);
+                } else {
+                    if (end != Integer.MIN_VALUE) {
+                        merged.put(start, end);
+                    }
+                    start = booking.checkIn;
+                    end = booking.checkOut;
+                }
+            }
+            if (end != Integer.MIN_VALUE) {
+                merged.put(start, end);
+            }
+            occupied = merged;
+        }
+
+        boolean isFree(int in, int out, Integer ignoreReservationId) {
+            // The only interval that can overlap [in, out) is the last one starting before out
+            Map.Entry<Integer, Integer> floor = occupied.floorEntry(out - 1);
+            if (floor == null || floor.getValue() <= in) {
+                return true;
+            }
+            if (ignoreReservationId == null) {
+                return false;
+            }
+            // Rare path: an overlap exists, check whether it is only the reservation being edited
+            for (Booking booking : bookings) {
+                if (booking.id != ignoreReservationId && booking.checkIn < out && booking.checkOut > in) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.hotelmanagement;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps rooms.available in step with "is someone staying in this room today".
+// Only the rooms touched by a reservation change are recomputed, and only rows whose
+// flag actually differs are written; a daily sweep handles rooms that flip because
+// the date moved past a check-in or check-out. The sweep records its date in
+// availability_sweep, so one after the app was closed for days covers every day it missed.
+public class RoomAvailabilityUpdater {
+
+    private static final Logger LOG = Logger.getLogger(RoomAvailabilityUpdater.class.getName());
+
+    // Keeps IN (...) lists at a size MySQL plans well
+    private static final int CHUNK_SIZE = 500;
+    // Run the sweep a little after midnight so it is safely on the new date
+    private static final Duration SWEEP_DELAY_AFTER_MIDNIGHT = Duration.ofMinutes(1);
+
+    // "Free today" for the row in rooms aliased r; the ? is bound to today's date
+    private static final String FREE_TODAY = "(NOT EXISTS (SELECT 1 FROM reservations res " +
+            "WHERE res.room_number = r.number AND ? BETWEEN res.check_in AND res.check_out))";
+
+    private static ScheduledExecutorService scheduler;
+
+    // Recomputes the flag for the given rooms and returns how many rows changed
+    public static int recompute(Collection<Integer> roomNumbers) throws SQLException {
+        if (roomNumbers.isEmpty()) {
+            return 0;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        List<Integer> rooms = new ArrayList<>(roomNumbers);
+        FlightEvents.AvailabilityRecompute event = FlightEvents.beginAvailabilityRecompute();
+        int changed = Metrics.label("rooms.recomputeAvailability", () -> {
+            int updated = 0;
+            try (Connection conn = Database.getConnection()) {
+                for (int from = 0; from < rooms.size(); from += CHUNK_SIZE) {
+                    List<Integer> chunk = rooms.subList(from, Math.min(from + CHUNK_SIZE, rooms.size()));
+                    updated += updateChunk(conn, chunk, today);
+                    syncIndex(conn, chunk);
+                }
+            }
+            return updated;
+        });
+        FlightEvents.endAvailabilityRecompute(event, rooms.size(), changed);
+        return changed;
+    }
+
+    public static int recompute(int roomNumber) throws SQLException {
+        return recompute(Collections.singletonList(roomNumber));
+    }
+
+    // Rooms whose flag can flip at the start of a day are exactly those with a stay starting
+    // that day or one that ended the day before (check_out is inclusive in the availability
+    // rule). Every day since the last recorded sweep is covered, and today's is always redone;
+    // with no sweep on record every room is recomputed.
+    public static int sweepDateBoundary() throws SQLException {
+        LocalDate today = LocalDate.now();
+        List<Integer> candidates = new ArrayList<>();
+        LocalDate lastSwept = Metrics.label("rooms.sweepCandidates", () -> {
+            try (Connection conn = Database.getConnection()) {
+                Schema.requireAvailabilitySweep(conn);
+                LocalDate last = lastSwept(conn);
+                LocalDate from = last == null || last.isAfter(today.minusDays(1)) ? today.minusDays(1) : last;
+                String sql = last == null ? "SELECT number FROM rooms"
+                        : "SELECT DISTINCT room_number FROM reservations "
+                                + "WHERE check_in BETWEEN ? AND ? OR check_out BETWEEN ? AND ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    if (last != null) {
+                        pstmt.setDate(1, Date.valueOf(from.plusDays(1)));
+                        pstmt.setDate(2, Date.valueOf(today));
+                        pstmt.setDate(3, Date.valueOf(from));
+                        pstmt.setDate(4, Date.valueOf(today.minusDays(1)));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            candidates.add(rs.getInt(1));
+                        }
+                    }
+                }
+                return last;
+            }
+        });
+        int changed = recompute(candidates);
+        recordSweep(today);
+        LOG.info("Availability sweep for " + today + " (last " + (lastSwept == null ? "never" : lastSwept) + "): "
+                + candidates.size() + " candidate rooms, " + changed + " rows changed");
+        return changed;
+    }
+
+    private static LocalDate lastSwept(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT swept_on FROM availability_sweep WHERE id = 1");
+                ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getDate(1).toLocalDate() : null;
+        }
+    }
+
+    // Never moves the date back, e.g. for a desk whose clock runs behind
+    private static void recordSweep(LocalDate day) throws SQLException {
+        String sql = "INSERT INTO availability_sweep (id, swept_on) VALUES (1, ?) "
+                + "ON DUPLICATE KEY UPDATE swept_on = GREATEST(swept_on, VALUES(swept_on))";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(day));
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Runs one sweep now (the app may have been closed over midnight) and then daily after midnight
+    public static synchronized void startDailySweep() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "availability-sweep");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(RoomAvailabilityUpdater::runSweep);
+        scheduleNextSweep();
+    }
+
+    public static synchronized void stopDailySweep() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Re-planned every day rather than fixed-rate, so DST changes do not drift the schedule
+    private static synchronized void scheduleNextSweep() {
+        if (scheduler == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().plusDays(1).atStartOfDay().plus(SWEEP_DELAY_AFTER_MIDNIGHT);
+        scheduler.schedule(() -> {
+            runSweep();
+            scheduleNextSweep();
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // The index rolls even if the sweep failed, so the arrivals board still moves to the new day
+    private static void runSweep() {
+        try {
+            sweepDateBoundary();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Availability sweep failed", e);
+        }
+        try {
+            RoomAvailabilityIndex.roll();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Could not roll the availability index", e);
+        }
+    }
+
+    private static int updateChunk(Connection conn, List<Integer> chunk, Date today) throws SQLException {
+        String sql = "UPDATE rooms r SET available = " + FREE_TODAY +
+                " WHERE r.number IN (" + placeholders(chunk.size()) + ") AND r.available <> " + FREE_TODAY;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            pstmt.setDate(i++, today);
+            for (int number : chunk) {
+                pstmt.setInt(i++, number);
+            }
+            pstmt.setDate(i, today);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    // RoomAvailabilityIndex filters on the same flag, so hand it the new values
+    private static void syncIndex(Connection conn, List<Integer> chunk) throws SQLException {
+        String sql = "SELECT number, hotel_id, available FROM rooms WHERE number IN (" + placeholders(chunk.size()) + ")";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                pstmt.setInt(i + 1, chunk.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    RoomAvailabilityIndex.roomSaved(rs.getInt("number"), rs.getInt("hotel_id"),
+                            rs.getBoolean("available"));
+                }
+            }
+        }
+    }
+
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
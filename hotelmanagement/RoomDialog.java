@@ -7,9 +7,6 @@ import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 
 public class RoomDialog {
     private Stage stage;
@@ -45,7 +42,7 @@ public class RoomDialog {
 
         Label typeLabel = new Label("Room Type:");
         typeComboBox = new ComboBox<>();
-        typeComboBox.getItems().addAll("Single", "Double", "Suite", "Deluxe");
+        loadRoomTypes();
         typeComboBox.setValue("Single");
         typeComboBox.setPrefWidth(200);
 
@@ -92,39 +89,36 @@ public class RoomDialog {
         stage.setScene(scene);
     }
 
-    // NEW: Load hotels from database
+    // Hotels and room types come from the shared snapshot, so opening the dialog reads nothing
     private void loadHotels() {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT id, name FROM hotels ORDER BY name";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                hotelComboBox.getItems().add(rs.getInt("id") + " - " + rs.getString("name"));
-            }
+        try {
+            hotelComboBox.getItems().addAll(ReferenceData.getInstance().getHotelLabels());
         } catch (Exception e) {
             showError("Error loading hotels: " + e.getMessage());
         }
     }
 
+    private void loadRoomTypes() {
+        try {
+            typeComboBox.getItems().addAll(ReferenceData.getInstance().getRoomTypes());
+        } catch (Exception e) {
+            showError("Error loading room types: " + e.getMessage());
+        }
+    }
+
     private void loadRoomData(int roomNumber) {
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT r.*, h.name as hotel_name FROM rooms r " +
-                        "LEFT JOIN hotels h ON r.hotel_id = h.id " +
-                        "WHERE r.number = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, roomNumber);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                numberField.setText(String.valueOf(rs.getInt("number")));
-                typeComboBox.setValue(rs.getString("type"));
-                availableCheckBox.setSelected(rs.getBoolean("available"));
+        try {
+            Dashboard.Room room = RoomRepository.findByNumber(roomNumber);
+
+            if (room != null) {
+                numberField.setText(String.valueOf(room.getNumber()));
+                typeComboBox.setValue(room.getType());
+                availableCheckBox.setSelected(room.getAvailable());
                 
                 // Set hotel if exists
-                if (rs.getInt("hotel_id") > 0) {
-                    hotelComboBox.setValue(rs.getInt("hotel_id") + " - " + rs.getString("hotel_name"));
-                    existingHotelId = rs.getInt("hotel_id");
+                if (room.getHotelId() > 0) {
+                    hotelComboBox.setValue(room.getHotelId() + " - " + room.getHotelName());
+                    existingHotelId = room.getHotelId();
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,246 @@
+package com.hotelmanagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sold room nights as bitmaps over a window of nights starting at firstDay: bit n of a
+// room's bitmap is set when the room is sold for the night of firstDay + n. A room's bitmap
+// only stores the words from its first to its last sold night, and nothing at all when it
+// has no stay in the window. "Free for every night in [in, out)" is an AND over those words.
+// The same bits are also kept transposed, one bitmap of room slots per night, so the rooms
+// of a hotel sold on a night are a popcount of that night's words ANDed with the hotel's
+// room mask. Not thread-safe; RoomAvailabilityIndex guards it with its lock.
+final class RoomNightCalendar {
+
+    private final int firstDay;
+    private final int days;
+
+    private final Map<Integer, Integer> slotByRoom = new HashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private int slotCount = 0;
+    // Per slot: the room's first stored word (in words from firstDay) and the stored words
+    private int[] firstWords = new int[64];
+    private long[][] roomWords = new long[64][];
+    // Per night: one bit per room slot
+    private final long[][] nightWords;
+    private final Map<Integer, long[]> hotelMasks = new HashMap<>();
+    private final Map<Integer, Integer> hotelByRoom = new HashMap<>();
+
+    RoomNightCalendar(int firstDay, int days) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.nightWords = new long[days][1];
+    }
+
+    int getFirstDay() {
+        return firstDay;
+    }
+
+    int getDays() {
+        return days;
+    }
+
+    // Whether every night in [in, out) is inside the window
+    boolean covers(int in, int out) {
+        return in >= firstDay && out <= firstDay + days;
+    }
+
+    // =================== Updates ===================
+
+    void setHotel(int roomNumber, int hotelId) {
+        int slot = slot(roomNumber);
+        Integer previous = hotelByRoom.put(roomNumber, hotelId);
+        if (previous != null) {
+            long[] mask = hotelMasks.get(previous);
+            if (mask != null) {
+                mask[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+        long[] mask = hotelMasks.computeIfAbsent(hotelId, id -> new long[wordsForSlots()]);
+        if (mask.length < wordsForSlots()) {
+            mask = Arrays.copyOf(mask, wordsForSlots());
+            hotelMasks.put(hotelId, mask);
+        }
+        mask[slot >>> 6] |= 1L << slot;
+    }
+
+    void removeRoom(int roomNumber) {
+        Integer slot = slotByRoom.remove(roomNumber);
+        if (slot == null) {
+            return;
+        }
+        clearNights(slot);
+        Integer hotelId = hotelByRoom.remove(roomNumber);
+        if (hotelId != null) {
+            long[] mask = hotelMasks.get(hotelId);
+            if (mask != null) {
+                mask[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+        freeSlots.add(slot);
+    }
+
+    // Replaces the room's sold nights with the given disjoint [start, end) intervals in epoch days
+    void setSold(int roomNumber, Map<Integer, Integer> intervals) {
+        int slot = slot(roomNumber);
+        clearNights(slot);
+        long[] window = null;
+        int lowWord = Integer.MAX_VALUE;
+        int highWord = -1;
+        for (Map.Entry<Integer, Integer> interval : intervals.entrySet()) {
+            int from = Math.max(interval.getKey(), firstDay) - firstDay;
+            int to = Math.min(interval.getValue(), firstDay + days) - firstDay;
+            if (from >= to) {
+                continue;
+            }
+            if (window == null) {
+                window = new long[(days + 63) >>> 6];
+            }
+            for (int n = from; n < to; n++) {
+                window[n >>> 6] |= 1L << n;
+                nightWords[n][slot >>> 6] |= 1L << slot;
+            }
+            lowWord = Math.min(lowWord, from >>> 6);
+            highWord = Math.max(highWord, (to - 1) >>> 6);
+        }
+        if (window == null) {
+            roomWords[slot] = null;
+            return;
+        }
+        firstWords[slot] = lowWord;
+        roomWords[slot] = Arrays.copyOfRange(window, lowWord, highWord + 1);
+    }
+
+    // =================== Queries ===================
+
+    // Nights in [in, out) must be inside the window; see covers()
+    boolean isFree(int roomNumber, int in, int out) {
+        Integer slot = slotByRoom.get(roomNumber);
+        if (slot == null || roomWords[slot] == null || out <= in) {
+            return true;
+        }
+        long[] words = roomWords[slot];
+        int from = in - firstDay;
+        int to = out - firstDay - 1;
+        for (int w = from >>> 6; w <= to >>> 6; w++) {
+            int i = w - firstWords[slot];
+            if (i >= 0 && i < words.length && (words[i] & rangeMask(w, from, to)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sold nights of the room in [in, out), clipped to the window
+    int soldNights(int roomNumber, int in, int out) {
+        Integer slot = slotByRoom.get(roomNumber);
+        int from = Math.max(in, firstDay) - firstDay;
+        int to = Math.min(out, firstDay + days) - firstDay - 1;
+        if (slot == null || roomWords[slot] == null || to < from) {
+            return 0;
+        }
+        long[] words = roomWords[slot];
+        int sold = 0;
+        for (int w = from >>> 6; w <= to >>> 6; w++) {
+            int i = w - firstWords[slot];
+            if (i >= 0 && i < words.length) {
+                sold += Long.bitCount(words[i] & rangeMask(w, from, to));
+            }
+        }
+        return sold;
+    }
+
+    boolean isSold(int roomNumber, int day) {
+        Integer slot = slotByRoom.get(roomNumber);
+        int n = day - firstDay;
+        if (slot == null || roomWords[slot] == null || n < 0 || n >= days) {
+            return false;
+        }
+        int i = (n >>> 6) - firstWords[slot];
+        return i >= 0 && i < roomWords[slot].length && (roomWords[slot][i] & (1L << n)) != 0;
+    }
+
+    // Rooms of the hotel sold on the night of day, or of every hotel when hotelId is null
+    int soldRooms(Integer hotelId, int day) {
+        int n = day - firstDay;
+        if (n < 0 || n >= days) {
+            return 0;
+        }
+        if (hotelId != null) {
+            return soldRooms(hotelMasks.get(hotelId), nightWords[n]);
+        }
+        // Rooms booked without a row in the rooms table belong to no hotel and are not counted
+        int sold = 0;
+        for (long[] mask : hotelMasks.values()) {
+            sold += soldRooms(mask, nightWords[n]);
+        }
+        return sold;
+    }
+
+    private static int soldRooms(long[] mask, long[] night) {
+        int sold = 0;
+        if (mask != null) {
+            for (int w = 0; w < Math.min(mask.length, night.length); w++) {
+                sold += Long.bitCount(night[w] & mask[w]);
+            }
+        }
+        return sold;
+    }
+
+    // =================== Internals ===================
+
+    // Bits of word w that fall inside nights [from, to], both relative to firstDay
+    private static long rangeMask(int w, int from, int to) {
+        long mask = -1L;
+        if (w == from >>> 6) {
+            mask &= -1L << (from & 63);
+        }
+        if (w == to >>> 6) {
+            mask &= -1L >>> (63 - (to & 63));
+        }
+        return mask;
+    }
+
+    private void clearNights(int slot) {
+        long[] words = roomWords[slot];
+        if (words == null) {
+            return;
+        }
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int n = ((firstWords[slot] + i) << 6) + Long.numberOfTrailingZeros(word);
+                nightWords[n][slot >>> 6] &= ~(1L << slot);
+                word &= word - 1;
+            }
+        }
+        roomWords[slot] = null;
+    }
+
+    private int slot(int roomNumber) {
+        Integer slot = slotByRoom.get(roomNumber);
+        if (slot != null) {
+            return slot;
+        }
+        int assigned = freeSlots.isEmpty() ? slotCount++ : freeSlots.remove(freeSlots.size() - 1);
+        if (assigned >= firstWords.length) {
+            firstWords = Arrays.copyOf(firstWords, firstWords.length * 2);
+            roomWords = Arrays.copyOf(roomWords, roomWords.length * 2);
+        }
+        if (wordsForSlots() > nightWords[0].length) {
+            for (int n = 0; n < days; n++) {
+                nightWords[n] = Arrays.copyOf(nightWords[n], wordsForSlots() * 2);
+            }
+        }
+        roomWords[assigned] = null;
+        slotByRoom.put(roomNumber, assigned);
+        return assigned;
+    }
+
+    private int wordsForSlots() {
+        return (slotCount + 63) >>> 6;
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Room;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+// Rooms × nights occupancy grid for the Rooms tab. Rows are virtualised list cells that each
+// paint one canvas strip from RoomAvailabilityIndex.soldNights, and the footer paints the
+// sold-room count per night from its calendar, so nothing here queries the database.
+public class RoomOccupancyGrid {
+    private static final int NIGHTS = 90;
+    private static final double LABEL_WIDTH = 130;
+    private static final double CELL_WIDTH = 9;
+    private static final double ROW_HEIGHT = 18;
+    private static final double FOOTER_HEIGHT = 48;
+    private static final Color SOLD = Color.web("#E57373");
+    private static final Color FREE = Color.web("#C8E6C9");
+    private static final Color WEEK_LINE = Color.web("#9E9E9E");
+
+    private final AsyncLoader loader;
+    private final Supplier<Integer> hotelFilter;
+    private final ListView<Room> list;
+    private final Canvas header = new Canvas(LABEL_WIDTH + NIGHTS * CELL_WIDTH, 34);
+    private final Canvas footer = new Canvas(LABEL_WIDTH + NIGHTS * CELL_WIDTH, FOOTER_HEIGHT);
+    private final Label statusLabel = new Label();
+    private final BorderPane pane = new BorderPane();
+    private RoomAvailabilityIndex index;
+    private LocalDate first = LocalDate.now();
+
+    // hotelFilter gives the hotel the Rooms tab is filtered to, or null for all hotels
+    public RoomOccupancyGrid(ObservableList<Room> rooms, AsyncLoader loader, Supplier<Integer> hotelFilter) {
+        this.loader = loader;
+        this.hotelFilter = hotelFilter;
+
+        list = new ListView<>(rooms);
+        list.setFixedCellSize(ROW_HEIGHT + 2);
+        list.setCellFactory(view -> new RowCell());
+        list.setPlaceholder(new Label("No rooms to show"));
+
+        statusLabel.setPadding(new Insets(4, 0, 0, 0));
+        VBox bottom = new VBox(footer, statusLabel);
+        bottom.setPadding(new Insets(6, 10, 6, 10));
+        VBox top = new VBox(header);
+        top.setPadding(new Insets(6, 10, 0, 10));
+
+        pane.setTop(top);
+        pane.setCenter(list);
+        pane.setBottom(bottom);
+    }
+
+    public Node getNode() {
+        return pane;
+    }
+
+    // Loads the availability index if needed, then repaints every visible row and the footer
+    public void refresh() {
+        first = LocalDate.now();
+        statusLabel.setText("Loading availability...");
+        loader.submit("occupancyGrid", RoomAvailabilityIndex::getInstance, loaded -> {
+            index = loaded;
+            paintHeader();
+            paintFooter();
+            list.refresh();
+        }, error -> statusLabel.setText("Could not load availability: " + error.getMessage()));
+    }
+
+    private void paintHeader() {
+        GraphicsContext g = header.getGraphicsContext2D();
+        g.clearRect(0, 0, header.getWidth(), header.getHeight());
+        g.setFont(Font.font(10));
+        g.setFill(Color.BLACK);
+        g.fillText("Room", 4, 28);
+        for (int n = 0; n < NIGHTS; n++) {
+            LocalDate night = first.plusDays(n);
+            double x = LABEL_WIDTH + n * CELL_WIDTH;
+            if (n == 0 || night.getDayOfMonth() == 1) {
+                g.fillText(night.getMonth().toString().substring(0, 3) + " " + night.getYear(), x, 12);
+                g.strokeLine(x, 14, x, 34);
+            }
+            if (night.getDayOfWeek().getValue() == 1) {
+                g.fillText(String.valueOf(night.getDayOfMonth()), x, 28);
+            }
+        }
+    }
+
+    private void paintFooter() {
+        Integer hotelId = hotelFilter.get();
+        int[] sold = index.soldRoomsByNight(hotelId, first, NIGHTS);
+        int rooms = Math.max(1, index.roomCount(hotelId));
+        GraphicsContext g = footer.getGraphicsContext2D();
+        g.clearRect(0, 0, footer.getWidth(), footer.getHeight());
+        g.setFont(Font.font(10));
+        g.setFill(Color.BLACK);
+        g.fillText("Sold rooms", 4, FOOTER_HEIGHT / 2 + 4);
+        long total = 0;
+        int peak = 0;
+        for (int n = 0; n < NIGHTS; n++) {
+            double height = (FOOTER_HEIGHT - 2) * Math.min(1.0, (double) sold[n] / rooms);
+            g.setFill(SOLD);
+            g.fillRect(LABEL_WIDTH + n * CELL_WIDTH, FOOTER_HEIGHT - height, CELL_WIDTH - 1, height);
+            total += sold[n];
+            peak = Math.max(peak, sold[n]);
+        }
+        statusLabel.setText(String.format("%s: %,d rooms, %.1f%% of room nights sold over %d nights from %s, peak %,d",
+                hotelId == null ? "All hotels" : "Hotel " + hotelId, index.roomCount(hotelId),
+                100.0 * total / ((long) rooms * NIGHTS), NIGHTS, first, peak));
+    }
+
+    private final class RowCell extends ListCell<Room> {
+        private final Canvas canvas = new Canvas(LABEL_WIDTH + NIGHTS * CELL_WIDTH, ROW_HEIGHT);
+
+        RowCell() {
+            setPadding(new Insets(1, 0, 1, 0));
+        }
+
+        @Override
+        protected void updateItem(Room room, boolean empty) {
+            super.updateItem(room, empty);
+            setText(null);
+            if (empty || room == null) {
+                setGraphic(null);
+                return;
+            }
+            paint(room);
+            setGraphic(canvas);
+        }
+
+        private void paint(Room room) {
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            g.setFont(Font.font(11));
+            g.setFill(Color.BLACK);
+            g.fillText(room.getNumber() + "  " + room.getType(), 4, ROW_HEIGHT - 5);
+            if (index == null) {
+                return;
+            }
+            long[] sold = index.soldNights(room.getNumber(), first, NIGHTS);
+            for (int n = 0; n < NIGHTS; n++) {
+                boolean isSold = (sold[n >>> 6] & (1L << n)) != 0;
+                g.setFill(isSold ? SOLD : FREE);
+                g.fillRect(LABEL_WIDTH + n * CELL_WIDTH, 1, CELL_WIDTH - 1, ROW_HEIGHT - 2);
+            }
+            // A line before every Monday, matching the day numbers in the header
+            g.setStroke(WEEK_LINE);
+            for (int n = 0; n < NIGHTS; n++) {
+                if (first.plusDays(n).getDayOfWeek().getValue() == 1) {
+                    double x = LABEL_WIDTH + n * CELL_WIDTH - 0.5;
+                    g.strokeLine(x, 0, x, ROW_HEIGHT);
+                }
+            }
+        }
+    }
+}
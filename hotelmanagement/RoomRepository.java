@@ -0,0 +1,122 @@
+package com.hotelmanagement;
+
+import com.hotelmanagement.Dashboard.Room;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RoomRepository extends Repository {
+
+    private static final NamedQuery INSERT = new NamedQuery("rooms.insert",
+            "INSERT INTO rooms (number, type, available, hotel_id) VALUES (?, ?, ?, ?)");
+    private static final NamedQuery UPDATE = new NamedQuery("rooms.update",
+            "UPDATE rooms SET type = ?, available = ?, hotel_id = ? WHERE number = ?");
+    private static final NamedQuery DELETE = new NamedQuery("rooms.delete",
+            "DELETE FROM rooms WHERE number = ?");
+    private static final NamedQuery FIND_BY_NUMBER = new NamedQuery("rooms.byNumber",
+            "SELECT r.*, h.name as hotel_name FROM rooms r " +
+                    "LEFT JOIN hotels h ON r.hotel_id = h.id " +
+                    "WHERE r.number = ?");
+    // Row lock that serialises bookings of one room across every process using the database
+    private static final NamedQuery LOCK_FOR_BOOKING = new NamedQuery("rooms.lockForBooking",
+            "SELECT number FROM rooms WHERE number = ? FOR UPDATE");
+    private static final NamedQuery TYPES = new NamedQuery("rooms.types",
+            "SELECT DISTINCT type FROM rooms ORDER BY type");
+    private static final NamedQuery COUNT_BY_HOTEL = new NamedQuery("rooms.countByHotel",
+            "SELECT hotel_id, COUNT(*) FROM rooms WHERE hotel_id IS NOT NULL GROUP BY hotel_id");
+
+    static final SnapshotCache.Codec<Room> SNAPSHOT_CODEC = new SnapshotCache.Codec<>() {
+        @Override
+        public void write(SnapshotCache.Writer out, Room room) throws IOException {
+            out.writeInt(room.getNumber());
+            out.writeString(room.getType());
+            out.writeBoolean(room.getAvailable());
+            out.writeInt(room.getHotelId());
+            out.writeString(room.getHotelName());
+        }
+
+        @Override
+        public Room read(SnapshotCache.Reader in) {
+            return new Room(in.readInt(), in.readString(), in.readBoolean(), in.readInt(), in.readString());
+        }
+    };
+
+    private RoomRepository() {
+    }
+
+    public static TableSync<Room> newChangeTracker() {
+        return new TableSync<>("rooms", "number",
+                "SELECT rm.*, rm.updated_at AS changed_at FROM rooms rm",
+                "rm.updated_at >= ?", "ORDER BY rm.number", RoomRepository::map, Room::getNumber,
+                SNAPSHOT_CODEC);
+    }
+
+    // Every room type in use, alphabetically
+    public static List<String> findTypes() throws SQLException {
+        return queryList(TYPES, NO_PARAMS, rs -> rs.getString(1));
+    }
+
+    // Hotel id -> number of rooms, for hotels with at least one room
+    public static Map<Integer, Integer> countByHotel() throws SQLException {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int[] row : queryList(COUNT_BY_HOTEL, NO_PARAMS, rs -> new int[] { rs.getInt(1), rs.getInt(2) })) {
+            counts.put(row[0], row[1]);
+        }
+        return counts;
+    }
+
+    // Locks the room's row until the caller's transaction ends; false when there is no such room
+    public static boolean lockForBooking(Connection conn, int number) throws SQLException {
+        return queryFirst(conn, LOCK_FOR_BOOKING, pstmt -> pstmt.setInt(1, number), rs -> Boolean.TRUE) != null;
+    }
+
+    // Writes run on the caller's connection and transaction; desk edits go through WriteBehindQueue
+
+    public static void insert(Connection conn, int number, String type, boolean available, int hotelId)
+            throws SQLException {
+        update(conn, INSERT, pstmt -> {
+            pstmt.setInt(1, number);
+            pstmt.setString(2, type);
+            pstmt.setBoolean(3, available);
+            pstmt.setInt(4, hotelId);
+        });
+    }
+
+    // False when there is no such room
+    public static boolean update(Connection conn, int number, String type, boolean available, int hotelId)
+            throws SQLException {
+        return update(conn, UPDATE, pstmt -> {
+            pstmt.setString(1, type);
+            pstmt.setBoolean(2, available);
+            pstmt.setInt(3, hotelId);
+            pstmt.setInt(4, number);
+        }) > 0;
+    }
+
+    public static void delete(Connection conn, int number) throws SQLException {
+        update(conn, DELETE, pstmt -> pstmt.setInt(1, number));
+    }
+
+    // The room with its hotel name filled in
+    public static Room findByNumber(int number) throws SQLException {
+        return queryFirst(FIND_BY_NUMBER, pstmt -> pstmt.setInt(1, number), rs -> new Room(
+                rs.getInt("number"),
+                rs.getString("type"),
+                rs.getBoolean("available"),
+                rs.getInt("hotel_id"),
+                rs.getString("hotel_name")));
+    }
+
+    static Room map(ResultSet rs) throws SQLException {
+        return new Room(
+                rs.getInt("number"),
+                rs.getString("type"),
+                rs.getBoolean("available"),
+                rs.getInt("hotel_id"));
+    }
+}
@@ -0,0 +1,9 @@
+package com.hotelmanagement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Maps the current row of a ResultSet to a model object
+public interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,135 @@
+package com.hotelmanagement;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+// Checks that the database has the schema changes the application relies on. The app never
+// changes the schema itself: an admin applies the versioned scripts in migrations/ once, in
+// order, e.g. mysql -u admin -p hotel_management < migrations/V1__change_tracking.sql.
+// A missing column or table fails the load that needs it with a message naming its script;
+// a missing index only slows its queries down, so it is logged once.
+public class Schema {
+
+    private static final Logger LOG = Logger.getLogger(Schema.class.getName());
+
+    private static final String[] TRACKED_TABLES = { "hotels", "rooms", "customers", "reservations" };
+
+    private static volatile boolean changeTrackingReady = false;
+    private static volatile boolean reservationPagingReady = false;
+    private static volatile boolean customerNameReady = false;
+    private static volatile boolean reservationRoomReady = false;
+    private static volatile boolean writeJournalReady = false;
+    private static volatile boolean availabilitySweepReady = false;
+
+    // Every tracked table needs the indexed updated_at column that MySQL bumps on each write,
+    // which is what the incremental refresh uses as its high-water mark
+    public static void requireChangeTracking(Connection conn) throws SQLException {
+        if (changeTrackingReady) {
+            return;
+        }
+        for (String table : TRACKED_TABLES) {
+            if (!columnExists(conn, table, "updated_at")) {
+                throw missing("Table " + table + " has no updated_at column", "V1__change_tracking.sql");
+            }
+        }
+        changeTrackingReady = true;
+    }
+
+    // Backs the keyset paging of the Reservations tab, which seeks and orders on (check_in, id)
+    public static void checkReservationPagingIndex(Connection conn) throws SQLException {
+        if (reservationPagingReady) {
+            return;
+        }
+        checkIndex(conn, "reservations", "idx_reservations_check_in_id", "Reservations tab paging",
+                "V2__reservation_paging_index.sql");
+        reservationPagingReady = true;
+    }
+
+    // Backs the customer typeahead, a prefix search on name paged by (name, id)
+    public static void checkCustomerNameIndex(Connection conn) throws SQLException {
+        if (customerNameReady) {
+            return;
+        }
+        checkIndex(conn, "customers", "idx_customers_name_id", "customer search", "V3__customer_name_index.sql");
+        customerNameReady = true;
+    }
+
+    // Backs the booking overlap check, which looks up one room's stays by check_in
+    public static void checkReservationRoomIndex(Connection conn) throws SQLException {
+        if (reservationRoomReady) {
+            return;
+        }
+        checkIndex(conn, "reservations", "idx_reservations_room", "booking overlap check",
+                "V4__reservation_room_index.sql");
+        reservationRoomReady = true;
+    }
+
+    // Journal sequence numbers each desk's WriteBehindQueue has committed, written in the same
+    // transaction as the edits, plus the keys its journaled inserts were given
+    public static void requireWriteJournal(Connection conn) throws SQLException {
+        if (writeJournalReady) {
+            return;
+        }
+        if (!tableExists(conn, "write_journal")) {
+            throw missing("Table write_journal does not exist", "V5__write_journal.sql");
+        }
+        writeJournalReady = true;
+    }
+
+    // The last date RoomAvailabilityUpdater swept rooms.available for; one row, shared by all desks
+    public static void requireAvailabilitySweep(Connection conn) throws SQLException {
+        if (availabilitySweepReady) {
+            return;
+        }
+        if (!tableExists(conn, "availability_sweep")) {
+            throw missing("Table availability_sweep does not exist", "V6__availability_sweep.sql");
+        }
+        availabilitySweepReady = true;
+    }
+
+    static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, name, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        try (ResultSet rs = meta.getTables(conn.getCatalog(), null, name, new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+
+    static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String tableName = meta.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        String columnName = meta.storesUpperCaseIdentifiers() ? column.toUpperCase() : column;
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, tableName, columnName)) {
+            return rs.next();
+        }
+    }
+
+    private static void checkIndex(Connection conn, String table, String index, String usedBy, String script)
+            throws SQLException {
+        if (!indexExists(conn, table, index)) {
+            LOG.warning("Index " + index + " on " + table + " is missing, so the " + usedBy
+                    + " scans the table. Ask an administrator to apply migrations/" + script + " to the database.");
+        }
+    }
+
+    private static SQLException missing(String what, String script) {
+        return new SQLException(what + ". Ask an administrator to apply migrations/" + script
+                + " to the database.");
+    }
+}
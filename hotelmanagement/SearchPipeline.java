@@ -0,0 +1,75 @@
+package com.hotelmanagement;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Search-as-you-type for a tab's search field. Keystrokes only restart a short pause; once
+// typing stops the search runs on a background worker, and a newer keystroke cancels it.
+// Only the result for the text currently in the field is published.
+public class SearchPipeline<R> {
+
+    private static final Duration DEBOUNCE = Duration.millis(120);
+    private static final String KEY = "search";
+    // One worker shared by all tabs, separate from the table loaders so a slow
+    // query never holds up matching
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-worker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final TextField field;
+    private final Function<String, Callable<R>> prepare;
+    private final Consumer<R> publish;
+    private final AsyncLoader loader = new AsyncLoader(WORKER);
+    private final PauseTransition pause = new PauseTransition(DEBOUNCE);
+    private int version;
+
+    // prepare runs on the FX thread and returns the background work for a query (so it can
+    // snapshot what it needs); publish gets the result back on the FX thread. A result
+    // computed while watched changed is thrown away and the search runs again.
+    public SearchPipeline(TextField field, ObservableList<?> watched, Function<String, Callable<R>> prepare,
+            Consumer<R> publish) {
+        this.field = field;
+        this.prepare = prepare;
+        this.publish = publish;
+        watched.addListener((InvalidationListener) obs -> version++);
+        pause.setOnFinished(e -> run());
+        field.textProperty().addListener((obs, oldVal, newVal) -> {
+            loader.cancel(KEY);
+            pause.playFromStart();
+        });
+    }
+
+    // Debounce only, for searches that are already asynchronous (such as a database query)
+    public static void debounce(TextField field, Consumer<String> onQuery) {
+        PauseTransition pause = new PauseTransition(DEBOUNCE);
+        pause.setOnFinished(e -> onQuery.accept(field.getText()));
+        field.textProperty().addListener((obs, oldVal, newVal) -> pause.playFromStart());
+    }
+
+    private void run() {
+        int startedAt = version;
+        loader.submit(KEY, prepare.apply(field.getText()), result -> {
+            if (version != startedAt) {
+                run();
+                return;
+            }
+            publish.accept(result);
+        }, error -> {
+            if (!(error instanceof CancellationException)) {
+                error.printStackTrace();
+            }
+        });
+    }
+}
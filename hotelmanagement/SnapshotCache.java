@@ -0,0 +1,276 @@
+package com.hotelmanagement;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// On-disk copy of the rows a table showed last, so the next start renders before the
+// database answers and the desk can still read while it is unreachable. One file per save,
+// named <table>-<savedAt>.snap: a header (magic, format, database URL, high-water mark,
+// save time, row count) followed by the rows as written by the table's Codec. Files are
+// memory-mapped read-only on load and never rewritten in place; a save writes a new file
+// and then deletes the older ones, since a file that is still mapped cannot be replaced
+// on every platform. The rows include customer details, so the directory is owner-only
+// where the file system allows it.
+public final class SnapshotCache {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotCache.class.getName());
+
+    // -Dhotel.cache.dir moves the snapshots; -Dhotel.cache.disabled=true turns them off
+    private static final Path DIRECTORY = Paths.get(System.getProperty("hotel.cache.dir",
+            System.getProperty("user.home") + "/.hotelmanagement/snapshots"));
+    private static final boolean ENABLED = !Boolean.getBoolean("hotel.cache.disabled");
+    private static final int MAGIC = 0x484D5343; // "HMSC"
+    // Bump whenever a Codec changes what it writes
+    private static final int FORMAT = 1;
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotCache() {
+    }
+
+    // Writes and reads one row; read must consume exactly what write produced
+    public interface Codec<T> {
+        void write(Writer out, T row) throws IOException;
+
+        T read(Reader in);
+    }
+
+    public static final class Snapshot<T> {
+        private final List<T> rows;
+        private final long highWater;
+        private final long savedAt;
+
+        Snapshot(List<T> rows, long highWater, long savedAt) {
+            this.rows = rows;
+            this.highWater = highWater;
+            this.savedAt = savedAt;
+        }
+
+        public List<T> getRows() {
+            return rows;
+        }
+
+        public long getHighWater() {
+            return highWater;
+        }
+
+        public long getSavedAt() {
+            return savedAt;
+        }
+    }
+
+    // The newest readable snapshot of the table, or null when there is none for this database
+    public static <T> Snapshot<T> load(String table, Codec<T> codec) {
+        if (!ENABLED) {
+            return null;
+        }
+        try {
+            for (Path file : files(table)) {
+                try {
+                    Snapshot<T> snapshot = read(file, codec);
+                    if (snapshot != null) {
+                        return snapshot;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Cut short or from an older build; the next save replaces it
+                    LOG.log(Level.WARNING, "Skipping unreadable snapshot " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not list snapshots of " + table, e);
+        }
+        return null;
+    }
+
+    // Runs on a background thread. Synchronized so two saves of one table cannot interleave
+    // their cleanup.
+    public static synchronized <T> void save(String table, Codec<T> codec, List<T> rows, long highWater)
+            throws IOException {
+        if (!ENABLED) {
+            return;
+        }
+        createDirectory();
+        long savedAt = System.currentTimeMillis();
+        Path file = DIRECTORY.resolve(table + "-" + savedAt + SUFFIX);
+        Path temp = DIRECTORY.resolve(table + "-" + savedAt + SUFFIX + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp)) {
+            Writer out = new Writer(new DataOutputStream(new BufferedOutputStream(stream, 1 << 16)));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeString(Database.getUrl());
+            out.writeLong(highWater);
+            out.writeLong(savedAt);
+            out.writeInt(rows.size());
+            for (T row : rows) {
+                codec.write(out, row);
+            }
+            out.flush();
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path older : files(table)) {
+            if (!older.equals(file)) {
+                try {
+                    Files.deleteIfExists(older);
+                } catch (IOException e) {
+                    // Still mapped by this process on some platforms; removed by a later save
+                    LOG.log(Level.FINE, "Could not delete old snapshot " + older, e);
+                }
+            }
+        }
+    }
+
+    private static <T> Snapshot<T> read(Path file, Codec<T> codec) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        Reader in = new Reader(buffer);
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT || !Database.getUrl().equals(in.readString())) {
+            return null;
+        }
+        long highWater = in.readLong();
+        long savedAt = in.readLong();
+        int count = in.readInt();
+        List<T> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(codec.read(in));
+        }
+        return new Snapshot<>(rows, highWater, savedAt);
+    }
+
+    // The table's snapshot files, newest first
+    private static List<Path> files(String table) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(DIRECTORY)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(DIRECTORY, table + "-*" + SUFFIX)) {
+            for (Path file : stream) {
+                if (savedAt(file, table) >= 0) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort((a, b) -> Long.compare(savedAt(b, table), savedAt(a, table)));
+        return files;
+    }
+
+    private static long savedAt(Path file, String table) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(table.length() + 1, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private static void createDirectory() throws IOException {
+        if (Files.isDirectory(DIRECTORY)) {
+            return;
+        }
+        Files.createDirectories(DIRECTORY);
+        try {
+            Files.setPosixFilePermissions(DIRECTORY, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; the user's home directory is what protects it
+        }
+    }
+
+    // Big-endian fields; strings are a UTF-8 byte count (-1 for null) followed by the bytes
+    public static final class Writer {
+        private final DataOutputStream out;
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void writeInt(int value) throws IOException {
+            out.writeInt(value);
+        }
+
+        public void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        public void writeDouble(double value) throws IOException {
+            out.writeDouble(value);
+        }
+
+        public void writeBoolean(boolean value) throws IOException {
+            out.writeBoolean(value);
+        }
+
+        public void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    // Throws BufferUnderflowException when the file ends early, which load() treats as unreadable
+    public static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int readInt() {
+            return buffer.getInt();
+        }
+
+        public long readLong() {
+            return buffer.getLong();
+        }
+
+        public double readDouble() {
+            return buffer.getDouble();
+        }
+
+        public boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        public String readString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotelmanagement;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+// Time from process start to the first frame of a screen, logged once per screen, e.g.
+//   First frame of login after 640 ms
+// Process start rather than JVM start, so JVM boot and class loading (what the CDS archive
+// saves) are counted too. -Dhotel.startup.exitAfter=<screen> exits once that screen's first
+// frame is out, which is how StartupTraining and the startup benchmark end a run.
+public final class StartupTimer {
+
+    private static final Logger LOG = Logger.getLogger(StartupTimer.class.getName());
+
+    private static final long PROCESS_START = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(() -> ManagementFactory.getRuntimeMXBean().getStartTime());
+    private static final String EXIT_AFTER = System.getProperty("hotel.startup.exitAfter");
+
+    // Only touched from the FX thread
+    private static final Set<String> TIMED = new HashSet<>();
+    private static final Map<String, Runnable> THEN = new HashMap<>();
+
+    private StartupTimer() {
+    }
+
+    // Call on the FX thread once the scene is on a shown stage. The frame goes to the
+    // renderer right after the pulse's layout pass, which is when the time is taken.
+    public static void firstFrame(Scene scene, String screen) {
+        if (!TIMED.add(screen)) {
+            return;
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            long elapsed = System.currentTimeMillis() - PROCESS_START;
+            // Not removed while the scene walks its listeners
+            Platform.runLater(() -> {
+                scene.removePostLayoutPulseListener(listener[0]);
+                LOG.info("First frame of " + screen + " after " + elapsed + " ms");
+                Runnable then = THEN.remove(screen);
+                if (then != null) {
+                    then.run();
+                }
+                if (screen.equals(EXIT_AFTER)) {
+                    Platform.exit();
+                }
+            });
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+        Platform.requestNextPulse();
+    }
+
+    // Runs action on the FX thread once the screen's first frame has been timed
+    public static void afterFirstFrame(String screen, Runnable action) {
+        THEN.put(screen, action);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotelmanagement;
+
+import javafx.application.Application;
+import javafx.stage.Stage;
+
+// The start of a shift as one unattended run: the login page, then the Dashboard with its
+// first tab, then exit once the Dashboard's first frame is out. The appcds build profile
+// records the classes this run loads into the class-data-sharing archive, and the startup
+// benchmark times it. It skips the login form, so like ExportTool it is a tool for whoever
+// already has the jar and the database settings; nothing in the app launches it.
+//   java -Dhotel.startup.training=true -jar hotelmanagement-1.0-SNAPSHOT.jar
+public final class StartupTraining {
+
+    private StartupTraining() {
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("hotel.startup.exitAfter") == null) {
+            System.setProperty("hotel.startup.exitAfter", "dashboard");
+        }
+        Application.launch(Run.class, args);
+    }
+
+    // Shuts down like the app itself
+    public static final class Run extends Main {
+        @Override
+        public void start(Stage stage) {
+            super.start(stage);
+            StartupTimer.afterFirstFrame("login", () -> new Dashboard().start(stage));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotelmanagement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Dictionary encoding for low-cardinality columns such as hotel names and room types: each
+// distinct value is stored once and rows keep its int code. Codes are never reused or
+// removed, so a row's code stays valid for the life of the table; the number of distinct
+// values is bounded by the reference data, not by the rows. Lookups read a published array
+// without locking; adding a value takes the table's lock.
+public final class StringTable {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[16];
+    private int size = 0;
+
+    // Code for value, adding it if it is new; null is always -1
+    public int code(String value) {
+        if (value == null) {
+            return -1;
+        }
+        synchronized (this) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            codes.put(value, size);
+            // Publish only after the slot is filled
+            values = current;
+            return size++;
+        }
+    }
+
+    public String value(int code) {
+        return code < 0 ? null : values[code];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
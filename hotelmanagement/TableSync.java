@@ -0,0 +1,383 @@
+package com.hotelmanagement;
+
+import javafx.collections.ObservableList;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Change-tracking refresh for one table. The first fetch loads every row; later fetches
+// only read rows whose updated_at moved past the high-water mark, and the result is
+// patched into the existing lists instead of replacing them. With a snapshot codec the
+// rows can also be seeded from the SnapshotCache, in which case the snapshot's high-water
+// mark makes even the first database read incremental. Rows the desk added or changed that
+// are still in the WriteBehindQueue are left alone by delete detection, and a row shown under
+// a provisional id is replaced in place once the database returns it under its real key.
+public class TableSync<T> {
+
+    private static final Logger LOG = Logger.getLogger(TableSync.class.getName());
+
+    // Re-read a little before the mark so rows committed late with an older timestamp are not missed
+    private static final long OVERLAP_MILLIS = 2000;
+
+    private final String table;
+    private final String keyColumn;
+    private final String selectSql;
+    private final String changedSince;
+    private final String orderBy;
+    private final RowMapper<T> mapper;
+    private final Function<T, Object> keyOf;
+    private final SnapshotCache.Codec<T> codec;
+
+    private volatile Timestamp highWater;
+    private final Set<Object> knownKeys = ConcurrentHashMap.newKeySet();
+    private volatile boolean snapshotTried = false;
+    // What the last snapshot saved or loaded held, so an unchanged table is not saved again
+    private Timestamp snapshotHighWater;
+    private int snapshotRows = -1;
+    // When the rows shown were last read from the database, as epoch millis
+    private volatile long asOf;
+
+    // selectSql must expose a changed_at column; changedSince is a WHERE condition whose
+    // placeholders are all bound to the same timestamp
+    public TableSync(String table, String keyColumn, String selectSql, String changedSince, String orderBy,
+            RowMapper<T> mapper, Function<T, Object> keyOf) {
+        this(table, keyColumn, selectSql, changedSince, orderBy, mapper, keyOf, null);
+    }
+
+    // codec, when not null, lets the rows be saved to and seeded from the SnapshotCache
+    public TableSync(String table, String keyColumn, String selectSql, String changedSince, String orderBy,
+            RowMapper<T> mapper, Function<T, Object> keyOf, SnapshotCache.Codec<T> codec) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.selectSql = selectSql;
+        this.changedSince = changedSince;
+        this.orderBy = orderBy;
+        this.mapper = mapper;
+        this.keyOf = keyOf;
+        this.codec = codec;
+    }
+
+    public boolean isLoaded() {
+        return highWater != null;
+    }
+
+    public long getAsOf() {
+        return asOf;
+    }
+
+    // Whether loadSnapshot() is still worth calling before the first fetch
+    public boolean canLoadSnapshot() {
+        return codec != null && !snapshotTried && !isLoaded();
+    }
+
+    // Runs on a background thread. The saved rows as a full delta, or null when there are none;
+    // applying it leaves the next fetch() reading only what changed since the save.
+    public Delta<T> loadSnapshot() {
+        snapshotTried = true;
+        SnapshotCache.Snapshot<T> snapshot = SnapshotCache.load(table, codec);
+        if (snapshot == null) {
+            return null;
+        }
+        return new Delta<>(true, snapshot.getRows(), null, null, new Timestamp(snapshot.getHighWater()),
+                snapshot.getSavedAt(), true);
+    }
+
+    // Runs on the FX thread after apply(). Saves the rows the database has confirmed, leaving
+    // out rows still waiting in the WriteBehindQueue, and writes the file in the background.
+    // Every change moves the high-water mark and every delete the key count, so when neither
+    // moved since the last snapshot there is nothing new to save.
+    public void saveSnapshot(List<T> data) {
+        Timestamp mark = highWater;
+        if (codec == null || mark == null
+                || (mark.equals(snapshotHighWater) && knownKeys.size() == snapshotRows)) {
+            return;
+        }
+        snapshotHighWater = mark;
+        snapshotRows = knownKeys.size();
+        List<T> rows = new ArrayList<>(data.size());
+        for (T row : data) {
+            if (knownKeys.contains(keyOf.apply(row))) {
+                rows.add(row);
+            }
+        }
+        AsyncLoader.executor().execute(() -> {
+            try {
+                SnapshotCache.save(table, codec, rows, mark.getTime());
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not save a snapshot of " + table, e);
+            }
+        });
+    }
+
+    // Runs on a background thread
+    public Delta<T> fetch() throws SQLException {
+        Timestamp since = highWater;
+        long readAt = System.currentTimeMillis();
+        return Metrics.label(table + ".sync", () -> {
+            try (Connection conn = Database.getConnection()) {
+                Schema.requireChangeTracking(conn);
+
+                List<T> rows = new ArrayList<>();
+                Timestamp newHighWater = since;
+                String sql = since == null
+                        ? selectSql + " " + orderBy
+                        : selectSql + " WHERE " + changedSince + " " + orderBy;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    if (since != null) {
+                        Timestamp from = new Timestamp(since.getTime() - OVERLAP_MILLIS);
+                        int params = countPlaceholders(changedSince);
+                        for (int i = 1; i <= params; i++) {
+                            pstmt.setTimestamp(i, from);
+                        }
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            rows.add(mapper.map(rs));
+                            Timestamp changedAt = rs.getTimestamp("changed_at");
+                            if (changedAt != null && (newHighWater == null || changedAt.after(newHighWater))) {
+                                newHighWater = changedAt;
+                            }
+                        }
+                    }
+                }
+                if (newHighWater == null) {
+                    newHighWater = new Timestamp(0);
+                }
+
+                if (since == null) {
+                    return new Delta<>(true, rows, null, null, newHighWater, readAt, false);
+                }
+
+                // Deletes leave no updated_at behind. If the row count does not add up,
+                // read the live keys (index-only) to find which rows went away.
+                int newRows = 0;
+                for (T row : rows) {
+                    if (!knownKeys.contains(keyOf.apply(row))) {
+                        newRows++;
+                    }
+                }
+                Set<Object> liveKeys = null;
+                Set<Integer> pendingKeys = null;
+                // Read before the live keys, so an edit that commits during the read still counts as pending
+                Set<Integer> queued = WriteBehindQueue.pendingKeys(table);
+                if (count(conn) != knownKeys.size() + newRows) {
+                    liveKeys = liveKeys(conn);
+                    pendingKeys = queued;
+                }
+                return new Delta<>(false, rows, liveKeys, pendingKeys, newHighWater, readAt, false);
+            }
+        });
+    }
+
+    // Runs on the FX thread. Rows already in the lists are replaced at their position,
+    // new rows are appended, deleted rows are removed; nothing else is touched.
+    public void apply(Delta<T> delta, ObservableList<T> data, ObservableList<T> filteredData, Predicate<T> visible) {
+        highWater = delta.highWater;
+        asOf = delta.asOf;
+
+        if (delta.full) {
+            knownKeys.clear();
+            List<T> shown = new ArrayList<>();
+            for (T row : delta.rows) {
+                knownKeys.add(keyOf.apply(row));
+                if (visible.test(row)) {
+                    shown.add(row);
+                }
+            }
+            data.setAll(delta.rows);
+            filteredData.setAll(shown);
+            if (delta.fromSnapshot) {
+                snapshotHighWater = delta.highWater;
+                snapshotRows = knownKeys.size();
+            }
+            return;
+        }
+
+        if (delta.liveKeys != null) {
+            // Provisional rows are never in the database; the queue's callbacks swap or remove them
+            Set<Object> queued = queuedKeys(delta.pendingKeys);
+            Predicate<T> deleted = row -> {
+                Object key = keyOf.apply(row);
+                return !isProvisional(key) && !delta.liveKeys.contains(key) && !queued.contains(key);
+            };
+            data.removeIf(deleted);
+            filteredData.removeIf(deleted);
+            knownKeys.retainAll(delta.liveKeys);
+        }
+        if (delta.rows.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Integer> dataIndex = indexByKey(data);
+        Map<Object, Integer> filteredIndex = indexByKey(filteredData);
+        // Generated key -> provisional id, for inserts that committed before their row was swapped
+        Map<Object, Object> committed = new HashMap<>();
+        for (Object key : dataIndex.keySet()) {
+            if (isProvisional(key)) {
+                Integer generated = WriteBehindQueue.generatedKey((Integer) key);
+                if (generated != null) {
+                    committed.put(generated, key);
+                }
+            }
+        }
+        List<T> dataAdds = new ArrayList<>();
+        List<T> filteredAdds = new ArrayList<>();
+        Set<T> hidden = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (T row : delta.rows) {
+            Object key = keyOf.apply(row);
+            knownKeys.add(key);
+            if (!dataIndex.containsKey(key) && committed.containsKey(key)) {
+                // The provisional row is replaced by this one, and onCommitted then finds nothing to swap
+                Object provisional = committed.get(key);
+                dataIndex.put(key, dataIndex.remove(provisional));
+                Integer j = filteredIndex.remove(provisional);
+                if (j != null) {
+                    filteredIndex.put(key, j);
+                }
+            }
+
+            Integer i = dataIndex.get(key);
+            if (i != null) {
+                data.set(i, row);
+            } else {
+                dataAdds.add(row);
+            }
+
+            Integer j = filteredIndex.get(key);
+            boolean show = visible.test(row);
+            if (j != null) {
+                if (show) {
+                    filteredData.set(j, row);
+                } else {
+                    hidden.add(filteredData.get(j));
+                }
+            } else if (show) {
+                filteredAdds.add(row);
+            }
+        }
+
+        if (!hidden.isEmpty()) {
+            filteredData.removeIf(hidden::contains);
+        }
+        data.addAll(dataAdds);
+        filteredData.addAll(filteredAdds);
+    }
+
+    public Object keyOf(T row) {
+        return keyOf.apply(row);
+    }
+
+    // Rows with an edit queued, at the fetch or now, including the real keys of inserts that
+    // have committed since: the live keys may have been read before they did
+    private Set<Object> queuedKeys(Set<Integer> atFetch) {
+        Set<Object> keys = new HashSet<>(WriteBehindQueue.pendingKeys(table));
+        if (atFetch != null) {
+            keys.addAll(atFetch);
+        }
+        for (Object key : new ArrayList<>(keys)) {
+            if (isProvisional(key)) {
+                Integer generated = WriteBehindQueue.generatedKey((Integer) key);
+                if (generated != null) {
+                    keys.add(generated);
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Provisional ids are negative; see WriteBehindQueue.Mutation
+    private static boolean isProvisional(Object key) {
+        return key instanceof Integer && (Integer) key < 0;
+    }
+
+    private Map<Object, Integer> indexByKey(List<T> list) {
+        Map<Object, Integer> index = new HashMap<>(list.size() * 2);
+        for (int i = 0; i < list.size(); i++) {
+            index.put(keyOf.apply(list.get(i)), i);
+        }
+        return index;
+    }
+
+    private int count(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private Set<Object> liveKeys(Connection conn) throws SQLException {
+        Set<Object> keys = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT " + keyColumn + " FROM " + table)) {
+            while (rs.next()) {
+                keys.add(rs.getInt(1));
+            }
+        }
+        return keys;
+    }
+
+    private static int countPlaceholders(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static class Delta<T> {
+        private final boolean full;
+        private final List<T> rows;
+        private final Set<Object> liveKeys;
+        // Keys with an edit queued when the live keys were read
+        private final Set<Integer> pendingKeys;
+        private final Timestamp highWater;
+        private final long asOf;
+        private final boolean fromSnapshot;
+
+        Delta(boolean full, List<T> rows, Set<Object> liveKeys, Set<Integer> pendingKeys, Timestamp highWater,
+                long asOf, boolean fromSnapshot) {
+            this.full = full;
+            this.rows = rows;
+            this.liveKeys = liveKeys;
+            this.pendingKeys = pendingKeys;
+            this.highWater = highWater;
+            this.asOf = asOf;
+            this.fromSnapshot = fromSnapshot;
+        }
+
+        public boolean isFull() {
+            return full;
+        }
+
+        public List<T> getRows() {
+            return rows;
+        }
+
+        // Seeded from the SnapshotCache rather than read from the database
+        public boolean isFromSnapshot() {
+            return fromSnapshot;
+        }
+    }
+}
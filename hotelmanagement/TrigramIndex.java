@@ -0,0 +1,390 @@
+package com.hotelmanagement;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+// Case-insensitive substring search over a table's rows. Every row's searchable fields are
+// lowercased once and split into trigrams; a query is answered by intersecting the posting
+// lists of its trigrams and confirming the few candidates left with contains(). The index
+// follows the source list through a ListChangeListener, so it never has to be rebuilt.
+// Updates arrive on the FX thread and searches run on the search worker. A search works on a
+// read-only View of the index and takes the lock only to create one after an update; the
+// View shares the posting arrays, which an update copies before changing one in place. So an
+// update waits at most for a View to be created, never for a search to finish.
+public class TrigramIndex<T> {
+
+    // Joins a row's fields so a trigram never spans two of them
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int GRAM = 3;
+    // Beyond this many scattered removals one setAll is cheaper than ObservableList's
+    // per-row change bookkeeping, and the table redraws the same either way
+    private static final int MAX_INCREMENTAL_REMOVALS = 256;
+
+    // Table name, for Flight Recorder
+    private final String name;
+    private final Function<T, String[]> fields;
+
+    // Rows live in slots; freed slots are reused so the posting lists stay dense
+    private final List<T> rows = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<T, Integer> slotOf = new IdentityHashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // Dropped by every update; the next search creates a new one
+    private volatile View<T> view;
+
+    public TrigramIndex(String name, ObservableList<T> source, Function<T, String[]> fields) {
+        this.name = name;
+        this.fields = fields;
+        for (T row : source) {
+            add(row);
+        }
+        source.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    continue;
+                }
+                for (T row : change.getRemoved()) {
+                    remove(row);
+                }
+                for (T row : change.getAddedSubList()) {
+                    add(row);
+                }
+            }
+        });
+    }
+
+    // Rows whose fields contain the query in slot order, or null when the query is blank and
+    // every row matches. Gives up with a CancellationException once its thread is interrupted.
+    public List<T> search(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return null;
+        }
+        View<T> v = view();
+        String needle = query.toLowerCase();
+        List<T> matches = new ArrayList<>();
+
+        if (needle.length() < GRAM) {
+            // Too short to have a trigram; the lowercased texts still save the per-keystroke toLowerCase
+            for (int slot = 0; slot < v.texts.length; slot++) {
+                checkCancelled(slot);
+                String text = v.texts[slot];
+                if (text != null && text.contains(needle)) {
+                    matches.add(v.rows.get(slot));
+                }
+            }
+            return matches;
+        }
+
+        long[] grams = grams(needle);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = v.postings.get(grams[i]);
+            if (lists[i] == null) {
+                return matches;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        // Walk the shortest list and probe the others; the candidates still need contains(),
+        // since sharing every trigram does not mean the trigrams are adjacent
+        Postings shortest = lists[0];
+        for (int i = 0; i < shortest.size; i++) {
+            checkCancelled(i);
+            int slot = shortest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length && inAll; j++) {
+                inAll = lists[j].contains(slot);
+            }
+            if (inAll && v.texts[slot].contains(needle)) {
+                matches.add(v.rows.get(slot));
+            }
+        }
+        return matches;
+    }
+
+    // The current View, created under the lock if an update dropped it
+    private View<T> view() {
+        View<T> v = view;
+        if (v != null) {
+            return v;
+        }
+        synchronized (this) {
+            if (view == null) {
+                Map<Long, Postings> frozen = new HashMap<>(postings.size() * 2);
+                for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+                    frozen.put(entry.getKey(), entry.getValue().share());
+                }
+                view = new View<>(new ArrayList<>(rows), texts.toArray(new String[0]), frozen, slotOf.size());
+            }
+            return view;
+        }
+    }
+
+    // Works out, off the FX thread, how to turn the rows currently shown into the rows
+    // matching the query. visible is a snapshot of the shown list taken on the FX thread.
+    public Diff<T> diff(String query, List<T> visible) {
+        FlightEvents.FilterPass event = FlightEvents.beginFilterPass();
+        Diff<T> diff = compute(query, visible);
+        FlightEvents.endFilterPass(event, name, query, view().size, diff.matched);
+        return diff;
+    }
+
+    private Diff<T> compute(String query, List<T> visible) {
+        List<T> matches = search(query);
+        if (matches == null) {
+            matches = allRows();
+        }
+        Set<T> matchSet = Collections.newSetFromMap(new IdentityHashMap<>(matches.size() * 2));
+        matchSet.addAll(matches);
+
+        Set<T> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<T> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < visible.size(); i++) {
+            checkCancelled(i);
+            T row = visible.get(i);
+            if (matchSet.contains(row)) {
+                shown.add(row);
+            } else {
+                stale.add(row);
+            }
+        }
+        List<T> adds = new ArrayList<>();
+        if (shown.size() < matches.size()) {
+            for (T row : matches) {
+                if (!shown.contains(row)) {
+                    adds.add(row);
+                }
+            }
+        }
+
+        if (stale.size() > MAX_INCREMENTAL_REMOVALS) {
+            List<T> next = new ArrayList<>(shown.size() + adds.size());
+            for (T row : visible) {
+                if (shown.contains(row)) {
+                    next.add(row);
+                }
+            }
+            next.addAll(adds);
+            return new Diff<>(next, null, null, matches.size());
+        }
+        return new Diff<>(null, stale, adds, matches.size());
+    }
+
+    private List<T> allRows() {
+        View<T> v = view();
+        List<T> all = new ArrayList<>(v.size);
+        for (T row : v.rows) {
+            if (row != null) {
+                all.add(row);
+            }
+        }
+        return all;
+    }
+
+    private synchronized void add(T row) {
+        if (slotOf.containsKey(row)) {
+            return;
+        }
+        int slot;
+        String text = textOf(row);
+        if (freeSlots.isEmpty()) {
+            slot = rows.size();
+            rows.add(row);
+            texts.add(text);
+        } else {
+            slot = freeSlots.remove(freeSlots.size() - 1);
+            rows.set(slot, row);
+            texts.set(slot, text);
+        }
+        slotOf.put(row, slot);
+        view = null;
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private synchronized void remove(T row) {
+        Integer slot = slotOf.remove(row);
+        if (slot == null) {
+            return;
+        }
+        view = null;
+        for (long gram : grams(texts.get(slot))) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        rows.set(slot, null);
+        texts.set(slot, null);
+        freeSlots.add(slot);
+    }
+
+    private String textOf(T row) {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields.apply(row)) {
+            if (field != null) {
+                sb.append(field.toLowerCase()).append(FIELD_SEPARATOR);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Distinct trigrams of the text, three 16-bit chars packed into a long
+    private static long[] grams(String text) {
+        int count = Math.max(0, text.length() - GRAM + 1);
+        long[] grams = new long[count];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            char a = text.charAt(i);
+            char b = text.charAt(i + 1);
+            char c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams[n++] = ((long) a << 32) | ((long) b << 16) | c;
+        }
+        grams = Arrays.copyOf(grams, n);
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static void checkCancelled(int step) {
+        if ((step & 4095) == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("search superseded");
+        }
+    }
+
+    // Applied on the FX thread: either a few removals plus appends, or one setAll when the
+    // result changed too much for per-row updates to pay off
+    public static class Diff<T> {
+        private final List<T> replacement;
+        private final Set<T> stale;
+        private final List<T> adds;
+        private final int matched;
+
+        Diff(List<T> replacement, Set<T> stale, List<T> adds, int matched) {
+            this.replacement = replacement;
+            this.stale = stale;
+            this.adds = adds;
+            this.matched = matched;
+        }
+
+        public void applyTo(ObservableList<T> visible) {
+            if (replacement != null) {
+                visible.setAll(replacement);
+                return;
+            }
+            if (!stale.isEmpty()) {
+                visible.removeAll(stale);
+            }
+            if (!adds.isEmpty()) {
+                visible.addAll(adds);
+            }
+        }
+    }
+
+    // What one search reads; never changed once created
+    private static final class View<T> {
+        private final List<T> rows;
+        private final String[] texts;
+        private final Map<Long, Postings> postings;
+        private final int size;
+
+        View(List<T> rows, String[] texts, Map<Long, Postings> postings, int size) {
+            this.rows = rows;
+            this.texts = texts;
+            this.postings = postings;
+            this.size = size;
+        }
+    }
+
+    // Sorted slot numbers for one trigram
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+        // ids is also read by a View; copied before it is changed below size
+        private boolean shared;
+
+        Postings() {
+        }
+
+        private Postings(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        // A read-only copy for a View, sharing the array until this list next changes it
+        Postings share() {
+            shared = true;
+            return new Postings(ids, size);
+        }
+
+        private void unshare() {
+            if (shared) {
+                ids = ids.clone();
+                shared = false;
+            }
+        }
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            unshare();
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        // Writes past every View's size, so it can stay in a shared array
+        private void append(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            unshare();
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,841 @@
+package com.hotelmanagement;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Desk edits (hotels, rooms, customers, reservation deletes and arrivals) are shown in the
+// tables straight away and written to the database behind the desk by one writer thread.
+// submit() only queues the edit; a journal thread appends everything queued since its last
+// write to a local journal and forces it to disk with one fsync, a few milliseconds later, so
+// an edit the desk has seen survives a crash and is replayed on the next start. Neither
+// thread does file I/O while holding the queue's lock, so the FX thread never waits on the
+// disk. The writer
+// commits whatever has queued up since its last commit as one transaction, and records the
+// journal sequence it reached in the write_journal table inside that same transaction, so a
+// replay skips exactly what already committed. If a batch fails for any reason other than the
+// connection, its edits are retried one per transaction and only the ones that still fail are
+// handed to their onFailed callback, which rolls the table back. A lost connection leaves the
+// queue as it is and the writer retries, after checking write_journal for what the failed
+// attempt committed: a commit whose acknowledgement was lost must not be applied twice.
+public final class WriteBehindQueue {
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindQueue.class.getName());
+
+    // -Dhotel.journal.dir moves the journal, e.g. to keep two desks on one machine apart
+    private static final Path DIRECTORY = Paths.get(System.getProperty("hotel.journal.dir",
+            System.getProperty("user.home") + "/.hotelmanagement"));
+    private static final String JOURNAL_FILE = "write-journal.log";
+    // Edits arriving this soon after the first one share its commit
+    private static final long LINGER_MILLIS = Long.getLong("hotel.writes.lingerMillis", 20);
+    private static final int MAX_BATCH = 500;
+    private static final long RETRY_MILLIS = 5_000;
+    private static final long SHUTDOWN_WAIT_MILLIS = 5_000;
+
+    private static final Object LOCK = new Object();
+    // Submitted edits not yet committed or rejected, in journal order
+    private static final ArrayDeque<Mutation> pending = new ArrayDeque<>();
+    // Submitted edits the journal thread has not yet written
+    private static final ArrayDeque<Mutation> unjournaled = new ArrayDeque<>();
+    // Provisional id of a committed insert -> the key the database gave it
+    private static final Map<Integer, Integer> generatedIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger PROVISIONAL_IDS = new AtomicInteger(-1);
+
+    private static FileChannel journal;
+    private static String desk;
+    private static long nextSeq = 1;
+    private static Thread writer;
+    private static Thread journalWriter;
+    // Set once the queue has emptied, for the journal thread to cut the file back to its header
+    private static boolean compact = false;
+    private static volatile boolean running = false;
+    private static volatile boolean retrying = false;
+    private static volatile IntConsumer pendingListener;
+
+    private WriteBehindQueue() {
+    }
+
+    // Opens the journal, queues whatever a previous run left in it and starts the writer
+    public static void start() throws IOException {
+        synchronized (LOCK) {
+            if (writer != null) {
+                return;
+            }
+            Files.createDirectories(DIRECTORY);
+            Path file = DIRECTORY.resolve(JOURNAL_FILE);
+            boolean clean = !Files.exists(file) || readJournal(file);
+            if (desk == null) {
+                desk = UUID.randomUUID().toString();
+                clean = false;
+            }
+            if (clean) {
+                journal = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } else {
+                rewriteJournal(nextSeq, new ArrayList<>(pending));
+            }
+            running = true;
+            writer = new Thread(WriteBehindQueue::run, "write-behind");
+            writer.setDaemon(true);
+            writer.start();
+            journalWriter = new Thread(WriteBehindQueue::writeJournal, "write-journal");
+            journalWriter.setDaemon(true);
+            journalWriter.start();
+        }
+    }
+
+    // Gives the writer a few seconds to drain the queue; anything left stays in the journal
+    public static void stop() {
+        Thread current;
+        Thread currentJournal;
+        synchronized (LOCK) {
+            long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MILLIS;
+            while (!pending.isEmpty() && !retrying && System.currentTimeMillis() < deadline) {
+                try {
+                    LOCK.wait(Math.max(1, deadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            running = false;
+            current = writer;
+            writer = null;
+            currentJournal = journalWriter;
+            journalWriter = null;
+            LOCK.notifyAll();
+        }
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // The journal thread writes what is still queued before it exits
+        if (currentJournal != null) {
+            try {
+                currentJournal.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!currentJournal.isAlive()) {
+                closeJournal();
+            }
+        }
+    }
+
+    // Queues the edit for the journal and the writer. Returns the edit's provisional id (see Mutation).
+    // onCommitted gets the generated key for inserts, 0 otherwise; both callbacks run on the FX thread.
+    public static int submit(Mutation mutation, IntConsumer onCommitted, Consumer<SQLException> onFailed)
+            throws IOException {
+        synchronized (LOCK) {
+            if (!running) {
+                throw new IOException("The write journal is not open");
+            }
+            mutation.seq = nextSeq++;
+            mutation.onCommitted = onCommitted;
+            mutation.onFailed = onFailed;
+            pending.addLast(mutation);
+            unjournaled.addLast(mutation);
+            LOCK.notifyAll();
+        }
+        pendingChanged();
+        return mutation.provisionalId;
+    }
+
+    // Edits journaled but not yet committed or rejected
+    public static int pendingCount() {
+        synchronized (LOCK) {
+            return pending.size();
+        }
+    }
+
+    // Keys of the table's rows with an edit still queued: the provisional id of an insert into a
+    // table with generated keys, the row's own key otherwise
+    public static Set<Integer> pendingKeys(String table) {
+        Set<Integer> keys = new HashSet<>();
+        synchronized (LOCK) {
+            for (Mutation mutation : pending) {
+                if (mutation.kind.table.equals(table)) {
+                    keys.add(mutation.provisionalId != 0 ? mutation.provisionalId : Integer.parseInt(mutation.args[0]));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // The key the database gave a committed insert, or null while it is still queued
+    public static Integer generatedKey(int provisionalId) {
+        return generatedIds.get(provisionalId);
+    }
+
+    // True while the database cannot be reached and the writer is waiting to retry
+    public static boolean isRetrying() {
+        return retrying;
+    }
+
+    // Called on the FX thread whenever the pending count or the retrying state changes
+    public static void setPendingListener(IntConsumer listener) {
+        pendingListener = listener;
+    }
+
+    // =================== Writer ===================
+
+    private static void run() {
+        boolean recovered = false;
+        boolean startup = true;
+        while (running) {
+            try {
+                if (!recovered) {
+                    recover(startup);
+                    recovered = true;
+                    startup = false;
+                }
+                List<Mutation> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                setRetrying(false);
+            } catch (InterruptedException e) {
+                return;
+            } catch (SQLException e) {
+                LOG.log(Level.WARNING, "Could not write queued edits; retrying in " + RETRY_MILLIS + " ms", e);
+                // The failed batch may have committed anyway
+                recovered = false;
+                setRetrying(true);
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException stop) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Completes queued edits the database already has, with the keys recorded for their
+    // inserts: at startup those replayed from the journal, after a failure those the failed
+    // attempt committed before its acknowledgement was lost
+    private static void recover(boolean startup) throws SQLException {
+        long applied = 0;
+        Map<Long, Integer> keys = new HashMap<>();
+        try (Connection conn = Database.getConnection()) {
+            Schema.requireWriteJournal(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT seq, generated_id FROM write_journal WHERE desk = ?")) {
+                pstmt.setString(1, desk);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        applied = Math.max(applied, rs.getLong(1));
+                        int key = rs.getInt(2);
+                        if (!rs.wasNull()) {
+                            keys.put(rs.getLong(1), key);
+                        }
+                    }
+                }
+            }
+        }
+        int replayed = 0;
+        List<Mutation> done = new ArrayList<>();
+        synchronized (LOCK) {
+            for (Mutation mutation : pending) {
+                Integer key = keys.get(mutation.seq);
+                if (key != null && mutation.provisionalId != 0) {
+                    generatedIds.put(mutation.provisionalId, key);
+                    mutation.generatedId = key;
+                }
+                if (mutation.seq <= applied) {
+                    done.add(mutation);
+                } else if (mutation.replayed) {
+                    replayed++;
+                }
+            }
+        }
+        if (!done.isEmpty()) {
+            LOG.info(done.size() + " queued edits were already committed; not applying them again");
+            completed(done, null);
+        }
+        synchronized (LOCK) {
+            if (pending.isEmpty()) {
+                compact = true;
+            }
+            LOCK.notifyAll();
+        }
+        if (startup && replayed > 0) {
+            LOG.info("Replaying " + replayed + " journaled edits");
+        }
+        pendingChanged();
+    }
+
+    private static List<Mutation> nextBatch() throws InterruptedException {
+        synchronized (LOCK) {
+            while (running && pending.isEmpty()) {
+                LOCK.wait();
+            }
+        }
+        if (LINGER_MILLIS > 0) {
+            Thread.sleep(LINGER_MILLIS);
+        }
+        List<Mutation> batch = new ArrayList<>();
+        synchronized (LOCK) {
+            for (Mutation mutation : pending) {
+                if (batch.size() == MAX_BATCH) {
+                    break;
+                }
+                batch.add(mutation);
+            }
+        }
+        return batch;
+    }
+
+    // One transaction for the whole batch; if it fails for a reason other than the
+    // connection, one transaction per edit so only the edits at fault are rejected
+    private static void flush(List<Mutation> batch) throws SQLException {
+        Metrics.label("writes.flush", () -> {
+            try (Connection conn = Database.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    SQLException error = commit(conn, batch);
+                    if (error != null && isTransient(error)) {
+                        throw error;
+                    }
+                    if (error != null) {
+                        for (Mutation mutation : batch) {
+                            SQLException own = commit(conn, List.of(mutation));
+                            if (own != null && isTransient(own)) {
+                                throw own;
+                            }
+                            if (own != null) {
+                                reject(conn, mutation, own);
+                            }
+                        }
+                    }
+                    prune(conn, batch.get(batch.size() - 1).seq);
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+            return null;
+        });
+    }
+
+    // Null once committed; otherwise rolls back and returns the error
+    private static SQLException commit(Connection conn, List<Mutation> batch) throws SQLException {
+        Map<Integer, Integer> staged = new HashMap<>();
+        try {
+            for (Mutation mutation : batch) {
+                int key = mutation.apply(conn, staged);
+                if (mutation.provisionalId != 0) {
+                    staged.put(mutation.provisionalId, key);
+                }
+                mutation.generatedId = key;
+            }
+            record(conn, batch, staged);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            return e;
+        } catch (RuntimeException e) {
+            // A journal line that no longer parses
+            conn.rollback();
+            return new SQLException("Malformed edit: " + e.getMessage(), e);
+        }
+        generatedIds.putAll(staged);
+        completed(batch, null);
+        return null;
+    }
+
+    // Marks the edit as consumed so a replay does not try it again, then rolls back its row
+    private static void reject(Connection conn, Mutation mutation, SQLException error) throws SQLException {
+        LOG.log(Level.WARNING, "Rejected " + mutation.kind + " #" + mutation.seq, error);
+        record(conn, List.of(mutation), Map.of());
+        conn.commit();
+        completed(List.of(mutation), error);
+    }
+
+    // The batch's last sequence, and the key of every insert in it
+    private static void record(Connection conn, List<Mutation> batch, Map<Integer, Integer> staged)
+            throws SQLException {
+        Mutation last = batch.get(batch.size() - 1);
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO write_journal (desk, seq, generated_id) VALUES (?, ?, ?)")) {
+            for (Mutation mutation : batch) {
+                Integer key = mutation.provisionalId == 0 ? null : staged.get(mutation.provisionalId);
+                if (key == null && mutation != last) {
+                    continue;
+                }
+                pstmt.setString(1, desk);
+                pstmt.setLong(2, mutation.seq);
+                if (key == null) {
+                    pstmt.setNull(3, Types.INTEGER);
+                } else {
+                    pstmt.setInt(3, key);
+                }
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Once the queue is empty the journal is cut back to its header and the older rows go. The
+    // row for lastSeq stays, so a journal the compaction has not reached yet still replays nothing.
+    private static void prune(Connection conn, long lastSeq) throws SQLException {
+        synchronized (LOCK) {
+            if (!pending.isEmpty()) {
+                return;
+            }
+            compact = true;
+            LOCK.notifyAll();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "DELETE FROM write_journal WHERE desk = ? AND seq < ?")) {
+            pstmt.setString(1, desk);
+            pstmt.setLong(2, lastSeq);
+            pstmt.executeUpdate();
+        }
+        conn.commit();
+    }
+
+    private static void completed(List<Mutation> done, SQLException error) {
+        synchronized (LOCK) {
+            for (Mutation mutation : done) {
+                pending.remove(mutation);
+            }
+            LOCK.notifyAll();
+        }
+        for (Mutation mutation : done) {
+            if (error == null && mutation.onCommitted != null) {
+                int key = mutation.generatedId;
+                Platform.runLater(() -> mutation.onCommitted.accept(key));
+            } else if (error != null && mutation.onFailed != null) {
+                Platform.runLater(() -> mutation.onFailed.accept(error));
+            }
+        }
+        pendingChanged();
+    }
+
+    // Connection loss, timeouts and deadlocks are worth retrying; constraint violations are not
+    private static boolean isTransient(SQLException e) {
+        if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("08") || state.equals("40001"));
+    }
+
+    private static void setRetrying(boolean value) {
+        if (retrying != value) {
+            retrying = value;
+            pendingChanged();
+        }
+    }
+
+    private static void pendingChanged() {
+        IntConsumer listener = pendingListener;
+        if (listener != null) {
+            Platform.runLater(() -> listener.accept(pendingCount()));
+        }
+    }
+
+    // =================== Journal ===================
+
+    // Appends what submit() queued, with one fsync for everything queued since the last write,
+    // and compacts the file once the writer has emptied the queue. After start() this is the
+    // only thread that touches the file, so it works on it without holding LOCK.
+    private static void writeJournal() {
+        while (true) {
+            List<Mutation> batch;
+            synchronized (LOCK) {
+                while (running && unjournaled.isEmpty() && !compact) {
+                    try {
+                        LOCK.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running && unjournaled.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(unjournaled);
+                unjournaled.clear();
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    appendJournal(batch);
+                } catch (IOException e) {
+                    LOG.log(Level.WARNING, "Could not journal " + batch.size() + " edits; retrying in "
+                            + RETRY_MILLIS + " ms", e);
+                    synchronized (LOCK) {
+                        for (int i = batch.size() - 1; i >= 0; i--) {
+                            unjournaled.addFirst(batch.get(i));
+                        }
+                        if (!running) {
+                            return;
+                        }
+                        try {
+                            LOCK.wait(RETRY_MILLIS);
+                        } catch (InterruptedException stop) {
+                            return;
+                        }
+                    }
+                    continue;
+                }
+            }
+            long seq;
+            synchronized (LOCK) {
+                // Edits queued since the request keep the file as it is until the queue empties again
+                boolean ready = compact && pending.isEmpty() && unjournaled.isEmpty();
+                compact = false;
+                if (!ready) {
+                    continue;
+                }
+                seq = nextSeq;
+            }
+            try {
+                rewriteJournal(seq, List.of());
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not compact the write journal", e);
+            }
+        }
+    }
+
+    private static void appendJournal(List<Mutation> batch) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Mutation mutation : batch) {
+            text.append(mutation.toLine());
+        }
+        long size = journal.size();
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                journal.write(bytes);
+            }
+            journal.force(false);
+        } catch (IOException e) {
+            // Do not leave half a line for the retry to be appended to
+            journal.truncate(size);
+            throw e;
+        }
+    }
+
+    // Line format: "#desk <id> <next seq>" header, then "<seq> <kind> <provisional id> <args...>"
+    // separated by tabs. Returns false when the file needs rewriting: it ends in a torn line
+    // from a crash mid-write, or has lines that no longer parse.
+    private static boolean readJournal(Path file) throws IOException {
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        boolean clean = true;
+        int start = 0;
+        int lowestProvisional = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                LOG.warning("Ignoring a torn last line in " + file);
+                clean = false;
+                break;
+            }
+            String line = text.substring(start, end);
+            start = end + 1;
+            try {
+                String[] fields = line.split("\t", -1);
+                if (fields[0].equals("#desk")) {
+                    desk = fields[1];
+                    nextSeq = Math.max(nextSeq, Long.parseLong(fields[2]));
+                    continue;
+                }
+                Mutation mutation = Mutation.fromFields(fields);
+                nextSeq = Math.max(nextSeq, mutation.seq + 1);
+                lowestProvisional = Math.min(lowestProvisional, mutation.provisionalId);
+                pending.addLast(mutation);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Skipping an unreadable line in " + file + ": " + line, e);
+                clean = false;
+            }
+        }
+        PROVISIONAL_IDS.set(Math.min(PROVISIONAL_IDS.get(), lowestProvisional - 1));
+        return clean;
+    }
+
+    // Writes the header and the given edits to a new file and swaps it in atomically
+    private static void rewriteJournal(long seq, List<Mutation> mutations) throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append("#desk\t").append(desk).append('\t').append(seq).append('\n');
+        for (Mutation mutation : mutations) {
+            text.append(mutation.toLine());
+        }
+        Path file = DIRECTORY.resolve(JOURNAL_FILE);
+        Path temp = DIRECTORY.resolve(JOURNAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        closeJournal();
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        journal = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not close the write journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "\\N";
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String unescape(String field) {
+        if (field.equals("\\N")) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\' || i + 1 == field.length()) {
+                out.append(c);
+                continue;
+            }
+            char next = field.charAt(++i);
+            out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+        }
+        return out.toString();
+    }
+
+    // =================== Edits ===================
+
+    public enum Kind {
+        HOTEL_INSERT("hotels"), HOTEL_UPDATE("hotels"), HOTEL_DELETE("hotels"),
+        ROOM_INSERT("rooms"), ROOM_UPDATE("rooms"), ROOM_DELETE("rooms"),
+        CUSTOMER_INSERT("customers"), CUSTOMER_UPDATE("customers"), CUSTOMER_DELETE("customers"),
+        RESERVATION_DELETE("reservations"), RESERVATION_ARRIVED("reservations");
+
+        private final String table;
+
+        Kind(String table) {
+            this.table = table;
+        }
+    }
+
+    // One journaled edit. Inserts into tables with generated keys get a negative provisional id
+    // that the desk's row carries until the insert commits; later edits may reference it and
+    // the writer substitutes the real key when it applies them.
+    public static final class Mutation {
+        private final Kind kind;
+        private final int provisionalId;
+        private final String[] args;
+        private final boolean replayed;
+        private long seq;
+        private int generatedId;
+        private IntConsumer onCommitted;
+        private Consumer<SQLException> onFailed;
+
+        private Mutation(Kind kind, int provisionalId, boolean replayed, String... args) {
+            this.kind = kind;
+            this.provisionalId = provisionalId;
+            this.replayed = replayed;
+            this.args = args;
+        }
+
+        private static Mutation of(Kind kind, String... args) {
+            return new Mutation(kind, 0, false, args);
+        }
+
+        private static Mutation insert(Kind kind, String... args) {
+            return new Mutation(kind, PROVISIONAL_IDS.getAndDecrement(), false, args);
+        }
+
+        public static Mutation insertHotel(String name, String description, String address, double rating) {
+            return insert(Kind.HOTEL_INSERT, name, description, address, String.valueOf(rating));
+        }
+
+        public static Mutation updateHotel(int id, String name, String description, String address, double rating) {
+            return of(Kind.HOTEL_UPDATE, String.valueOf(id), name, description, address, String.valueOf(rating));
+        }
+
+        public static Mutation deleteHotel(int id) {
+            return of(Kind.HOTEL_DELETE, String.valueOf(id));
+        }
+
+        public static Mutation insertRoom(int number, String type, boolean available, int hotelId) {
+            return of(Kind.ROOM_INSERT, String.valueOf(number), type, String.valueOf(available),
+                    String.valueOf(hotelId));
+        }
+
+        public static Mutation updateRoom(int number, String type, boolean available, int hotelId) {
+            return of(Kind.ROOM_UPDATE, String.valueOf(number), type, String.valueOf(available),
+                    String.valueOf(hotelId));
+        }
+
+        public static Mutation deleteRoom(int number) {
+            return of(Kind.ROOM_DELETE, String.valueOf(number));
+        }
+
+        public static Mutation insertCustomer(String name, String email, String phone, String address,
+                String dateOfBirth) {
+            return insert(Kind.CUSTOMER_INSERT, name, email, phone, address, dateOfBirth);
+        }
+
+        public static Mutation updateCustomer(int id, String name, String email, String phone, String address,
+                String dateOfBirth) {
+            return of(Kind.CUSTOMER_UPDATE, String.valueOf(id), name, email, phone, address, dateOfBirth);
+        }
+
+        public static Mutation deleteCustomer(int id) {
+            return of(Kind.CUSTOMER_DELETE, String.valueOf(id));
+        }
+
+        public static Mutation deleteReservation(int id) {
+            return of(Kind.RESERVATION_DELETE, String.valueOf(id));
+        }
+
+        public static Mutation markArrived(int id) {
+            return of(Kind.RESERVATION_ARRIVED, String.valueOf(id));
+        }
+
+        public int getProvisionalId() {
+            return provisionalId;
+        }
+
+        // Runs the edit on the writer's transaction; returns the generated key of an insert, else 0
+        int apply(Connection conn, Map<Integer, Integer> staged) throws SQLException {
+            String[] a = args;
+            switch (kind) {
+                case HOTEL_INSERT:
+                    return HotelRepository.insert(conn, a[0], a[1], a[2], Double.parseDouble(a[3]));
+                case HOTEL_UPDATE:
+                    exists(HotelRepository.update(conn, id(a[0], staged), a[1], a[2], a[3],
+                            Double.parseDouble(a[4])), "Hotel");
+                    return 0;
+                case HOTEL_DELETE:
+                    HotelRepository.delete(conn, id(a[0], staged));
+                    return 0;
+                case ROOM_INSERT:
+                    RoomRepository.insert(conn, Integer.parseInt(a[0]), a[1], Boolean.parseBoolean(a[2]),
+                            id(a[3], staged));
+                    return 0;
+                case ROOM_UPDATE:
+                    exists(RoomRepository.update(conn, Integer.parseInt(a[0]), a[1], Boolean.parseBoolean(a[2]),
+                            id(a[3], staged)), "Room");
+                    return 0;
+                case ROOM_DELETE:
+                    RoomRepository.delete(conn, Integer.parseInt(a[0]));
+                    return 0;
+                case CUSTOMER_INSERT:
+                    return CustomerRepository.insert(conn, a[0], a[1], a[2], a[3], a[4]);
+                case CUSTOMER_UPDATE:
+                    exists(CustomerRepository.update(conn, id(a[0], staged), a[1], a[2], a[3], a[4], a[5]),
+                            "Customer");
+                    return 0;
+                case CUSTOMER_DELETE:
+                    CustomerRepository.delete(conn, id(a[0], staged));
+                    return 0;
+                case RESERVATION_DELETE:
+                    ReservationRepository.delete(conn, Integer.parseInt(a[0]));
+                    return 0;
+                case RESERVATION_ARRIVED:
+                    exists(ReservationRepository.markArrived(conn, Integer.parseInt(a[0])), "Reservation");
+                    return 0;
+                default:
+                    throw new IllegalStateException("Unknown edit " + kind);
+            }
+        }
+
+        // A provisional id is swapped for the key its insert got, earlier in this batch or before
+        private static int id(String field, Map<Integer, Integer> staged) throws SQLException {
+            int id = Integer.parseInt(field);
+            if (id >= 0) {
+                return id;
+            }
+            Integer key = staged.containsKey(id) ? staged.get(id) : generatedIds.get(id);
+            if (key == null) {
+                throw new SQLException("It depends on an earlier change that was not saved");
+            }
+            return key;
+        }
+
+        private static void exists(boolean updated, String what) throws SQLException {
+            if (!updated) {
+                throw new SQLException(what + " no longer exists");
+            }
+        }
+
+        String toLine() {
+            StringBuilder line = new StringBuilder();
+            line.append(seq).append('\t').append(kind).append('\t').append(provisionalId);
+            for (String arg : args) {
+                line.append('\t').append(escape(arg));
+            }
+            return line.append('\n').toString();
+        }
+
+        static Mutation fromFields(String[] fields) {
+            String[] args = new String[fields.length - 3];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = unescape(fields[i + 3]);
+            }
+            Mutation mutation = new Mutation(Kind.valueOf(fields[1]), Integer.parseInt(fields[2]), true, args);
+            mutation.seq = Long.parseLong(fields[0]);
+            return mutation;
+        }
+    }
+}
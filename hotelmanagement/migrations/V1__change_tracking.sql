@@ -0,0 +1,20 @@
+-- Change tracking for the incremental table refresh and the availability index sync.
+-- Every tracked table gets an updated_at column that MySQL bumps on each write, indexed
+-- because every refresh seeks on it. Each ALTER rebuilds its table, which takes a while on
+-- a large reservations table, so apply this once, out of hours, before deploying the app.
+
+ALTER TABLE hotels
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_hotels_updated_at (updated_at);
+
+ALTER TABLE rooms
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_rooms_updated_at (updated_at);
+
+ALTER TABLE customers
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_customers_updated_at (updated_at);
+
+ALTER TABLE reservations
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_reservations_updated_at (updated_at);
@@ -0,0 +1,5 @@
+-- Backs the keyset paging of the Reservations tab, which seeks and orders on (check_in, id).
+-- Descending because the tab reads newest first; MySQL walks it backwards for the other
+-- direction. Building it reads the whole reservations table, so apply this out of hours.
+
+CREATE INDEX idx_reservations_check_in_id ON reservations (check_in DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Backs the customer typeahead in the reservation dialog, a prefix search on name paged by
+-- (name, id). Building it reads the whole customers table, so apply this out of hours.
+
+CREATE INDEX idx_customers_name_id ON customers (name, id);
@@ -0,0 +1,4 @@
+-- Backs the booking overlap check, which locks and reads one room's stays by check_in.
+-- Building it reads the whole reservations table, so apply this out of hours.
+
+CREATE INDEX idx_reservations_room ON reservations (room_number, check_in);
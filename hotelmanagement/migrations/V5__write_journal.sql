@@ -0,0 +1,10 @@
+-- Journal sequence numbers each desk's write-behind queue has committed, written in the same
+-- transaction as the edits, plus the keys its journaled inserts were given. A replay after a
+-- crash reads it to skip edits the database already has. Apply this before deploying the app.
+
+CREATE TABLE write_journal (
+    desk VARCHAR(64) NOT NULL,
+    seq BIGINT NOT NULL,
+    generated_id INT NULL,
+    PRIMARY KEY (desk, seq)
+);
@@ -0,0 +1,8 @@
+-- The last date the availability sweep updated rooms.available for: one row, shared by all
+-- desks, so a sweep after the app was closed for days covers every day it missed. Apply this
+-- before deploying the app.
+
+CREATE TABLE availability_sweep (
+    id INT NOT NULL PRIMARY KEY,
+    swept_on DATE NOT NULL
+);